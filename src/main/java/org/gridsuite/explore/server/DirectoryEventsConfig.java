@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import org.gridsuite.explore.server.services.DirectoryListingCache;
+import org.gridsuite.explore.server.services.DirectoryTreeReplica;
+import org.gridsuite.explore.server.services.ElementNameCache;
+import org.gridsuite.explore.server.services.ElementSearchCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+
+import java.util.function.Consumer;
+
+/**
+ * Every instance consumes all the directory and element update events (anonymous queues, no consumer group) to drop the
+ * entries of its local caches: the directory tree replica, when it is enabled, the element names, the element
+ * searches and the paged listings.
+ */
+@Configuration
+public class DirectoryEventsConfig {
+
+    @Bean
+    public Consumer<Message<String>> consumeDirectoryUpdate(DirectoryTreeReplica directoryTreeReplica, ElementNameCache elementNameCache,
+                                                            ElementSearchCache elementSearchCache, DirectoryListingCache directoryListingCache) {
+        return message -> {
+            if (directoryTreeReplica.isEnabled()) {
+                directoryTreeReplica.onDirectoryUpdate(message);
+            }
+            elementNameCache.onDirectoryUpdate(message);
+            elementSearchCache.onDirectoryUpdate(message);
+            directoryListingCache.onDirectoryUpdate(message);
+        };
+    }
+
+    @Bean
+    public Consumer<Message<String>> consumeElementUpdate(ElementNameCache elementNameCache) {
+        return elementNameCache::onElementUpdate;
+    }
+}
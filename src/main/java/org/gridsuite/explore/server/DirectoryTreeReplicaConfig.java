@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import org.gridsuite.explore.server.services.DirectoryService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Keeps the directory tree replica fresh when it is enabled: the directory update events are consumed by every instance
+ * (see {@link DirectoryEventsConfig}) and the listings are periodically compared with the directory server.
+ */
+@Configuration
+@ConditionalOnProperty(value = "explore.directory-replica.enabled", havingValue = "true")
+public class DirectoryTreeReplicaConfig {
+
+    private final DirectoryService directoryService;
+
+    public DirectoryTreeReplicaConfig(DirectoryService directoryService) {
+        this.directoryService = directoryService;
+    }
+
+    @Scheduled(initialDelayString = "${explore.directory-replica.checksum-interval:PT5M}",
+               fixedDelayString = "${explore.directory-replica.checksum-interval:PT5M}")
+    public void verifyDirectoryTreeReplica() {
+        directoryService.verifyDirectoryTreeReplica();
+    }
+}
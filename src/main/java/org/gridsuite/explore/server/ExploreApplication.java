@@ -8,6 +8,7 @@ package org.gridsuite.explore.server;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 
 /**
@@ -16,6 +17,7 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 @SuppressWarnings("checkstyle:HideUtilityClassConstructor")
 @SpringBootApplication
 @EnableMethodSecurity  // Enables @PreAuthorize
+@EnableScheduling
 public class ExploreApplication {
     public static void main(String[] args) {
         SpringApplication.run(ExploreApplication.class, args);
@@ -6,30 +6,51 @@
  */
 package org.gridsuite.explore.server;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.gridsuite.explore.server.dto.CaseImportReport;
 import org.gridsuite.explore.server.dto.CaseInfo;
+import org.gridsuite.explore.server.dto.CaseUploadStatus;
+import org.gridsuite.explore.server.dto.DirectoryElementsPage;
+import org.gridsuite.explore.server.dto.DirectoryView;
 import org.gridsuite.explore.server.dto.ElementAttributes;
+import org.gridsuite.explore.server.dto.ElementDuplication;
+import org.gridsuite.explore.server.dto.ElementDuplicationReport;
+import org.gridsuite.explore.server.dto.ElementNameQuery;
 import org.gridsuite.explore.server.dto.PermissionDTO;
 import org.gridsuite.explore.server.dto.PermissionType;
+import org.gridsuite.explore.server.error.ExploreException;
+import org.gridsuite.explore.server.services.CaseUploadService;
+import org.gridsuite.explore.server.services.DirectoryCopyService;
 import org.gridsuite.explore.server.services.DirectoryService;
 import org.gridsuite.explore.server.services.ExploreService;
 import org.gridsuite.explore.server.utils.ContingencyListType;
+import org.gridsuite.explore.server.utils.MultipartStream;
 import org.gridsuite.explore.server.utils.ParametersType;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.support.MissingServletRequestPartException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import static org.gridsuite.explore.server.error.ExploreBusinessErrorCode.EXPLORE_UPLOAD_TOO_LARGE;
+
 /**
  * @author Etienne Homer <etienne.homer at rte-france.com>
  */
@@ -45,13 +66,23 @@ public class ExploreController {
 
     private static final String QUERY_PARAM_TYPE = "type";
     private static final String QUERY_PARAM_USER_ID = "userId";
+    private static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+    private static final String CASE_FILE_PART = "caseFile";
+    private static final String HEADER_CONTENT_DIGEST = "Content-Digest";
 
     private final ExploreService exploreService;
     private final DirectoryService directoryService;
+    private final CaseUploadService caseUploadService;
+    private final DirectoryCopyService directoryCopyService;
+    private final MultipartProperties multipartProperties;
 
-    public ExploreController(ExploreService exploreService, DirectoryService directoryService) {
+    public ExploreController(ExploreService exploreService, DirectoryService directoryService, CaseUploadService caseUploadService,
+                             DirectoryCopyService directoryCopyService, MultipartProperties multipartProperties) {
         this.exploreService = exploreService;
         this.directoryService = directoryService;
+        this.caseUploadService = caseUploadService;
+        this.directoryCopyService = directoryCopyService;
+        this.multipartProperties = multipartProperties;
     }
 
     @PostMapping(value = "/explore/studies/{studyName}/cases/{caseUuid}")
@@ -66,7 +97,7 @@ public class ExploreController {
                                                             @RequestParam(QUERY_PARAM_PARENT_DIRECTORY_ID) UUID parentDirectoryUuid,
                                                             @RequestHeader(QUERY_PARAM_USER_ID) String userId,
                                                             @RequestBody(required = false) Map<String, Object> importParams) {
-        exploreService.assertCanCreateCase(userId);
+        // the quota is checked by the service, concurrently with the case name lookup
         CaseInfo caseInfo = new CaseInfo(caseUuid, caseFormat);
         exploreService.createStudy(studyName, caseInfo, description, userId, parentDirectoryUuid, importParams, duplicateCase);
         return ResponseEntity.ok().build();
@@ -87,17 +118,127 @@ public class ExploreController {
     @PostMapping(value = "/explore/cases/{caseName}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "create a case")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Case creation request delegated to case server")})
-    @PreAuthorize("@authorizationService.isAuthorized(#userId, #parentDirectoryUuid, null, T(org.gridsuite.explore.server.dto.PermissionType).WRITE)")
+    @PreAuthorize("@authorizationService.isAuthorizedForCaseCreation(#userId, #parentDirectoryUuid)")
     public ResponseEntity<Void> createCase(@PathVariable("caseName") String caseName,
-                                           @RequestPart("caseFile") MultipartFile caseFile,
+                                           @RequestPart(CASE_FILE_PART) MultipartFile caseFile,
                                            @RequestParam("description") String description,
                                            @RequestParam(QUERY_PARAM_PARENT_DIRECTORY_ID) UUID parentDirectoryUuid,
                                            @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
-        exploreService.assertCanCreateCase(userId);
+        if (!UploadAdmissionConfig.isAdmitted(userId, parentDirectoryUuid)) {
+            exploreService.assertCanCreateCase(userId);
+        }
         exploreService.createCase(caseName, caseFile, description, userId, parentDirectoryUuid);
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping(value = "/explore/cases/{caseName}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, headers = StreamingUploadConfig.HEADER_STREAMING_UPLOAD + "=true")
+    @Operation(summary = "create a case, the case file is forwarded to the case server while it is uploaded")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Case creation request delegated to case server")})
+    @PreAuthorize("@authorizationService.isAuthorized(#userId, #parentDirectoryUuid, null, T(org.gridsuite.explore.server.dto.PermissionType).WRITE)")
+    public ResponseEntity<Void> createCaseStreaming(@PathVariable("caseName") String caseName,
+                                                    @RequestParam("description") String description,
+                                                    @RequestParam(QUERY_PARAM_PARENT_DIRECTORY_ID) UUID parentDirectoryUuid,
+                                                    @RequestHeader(QUERY_PARAM_USER_ID) String userId,
+                                                    HttpServletRequest request) throws IOException, MissingServletRequestPartException {
+        exploreService.assertCanCreateCase(userId);
+        // the body is not parsed by the servlet container, the multipart limits are applied while it is read
+        long maxRequestSize = multipartProperties.getMaxRequestSize().toBytes();
+        long maxFileSize = multipartProperties.getMaxFileSize().toBytes();
+        if (maxRequestSize >= 0 && request.getContentLengthLong() > maxRequestSize) {
+            throw ExploreException.of(EXPLORE_UPLOAD_TOO_LARGE, "Request larger than %d bytes", maxRequestSize);
+        }
+        String boundary = MultipartStream.getBoundary(request.getContentType());
+        if (boundary == null) {
+            throw new MissingServletRequestPartException(CASE_FILE_PART);
+        }
+        MultipartStream multipartStream = new MultipartStream(request.getInputStream(), boundary, maxRequestSize, maxFileSize);
+        try {
+            MultipartStream.Part caseFile = multipartStream.findPart(CASE_FILE_PART);
+            if (caseFile == null || caseFile.getFilename() == null) {
+                throw new MissingServletRequestPartException(CASE_FILE_PART);
+            }
+            exploreService.createCase(caseName, caseFile.getFilename(), caseFile.getContentType(), caseFile.content(), description, userId, parentDirectoryUuid);
+        } catch (IOException | RuntimeException e) {
+            if (multipartStream.isSizeExceeded()) {
+                throw ExploreException.of(EXPLORE_UPLOAD_TOO_LARGE, "Case file larger than %d bytes or request larger than %d bytes", maxFileSize, maxRequestSize);
+            }
+            throw e;
+        }
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping(value = "/explore/case-archives", consumes = "application/zip", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "create a case for each file of a zip archive")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The import result of each file of the archive")})
+    @PreAuthorize("@authorizationService.isAuthorized(#userId, #parentDirectoryUuid, null, T(org.gridsuite.explore.server.dto.PermissionType).WRITE)")
+    public ResponseEntity<List<CaseImportReport>> createCasesFromArchive(@RequestBody InputStreamResource archive,
+                                                                         @RequestParam("description") String description,
+                                                                         @RequestParam(QUERY_PARAM_PARENT_DIRECTORY_ID) UUID parentDirectoryUuid,
+                                                                         @RequestHeader(QUERY_PARAM_USER_ID) String userId) throws IOException {
+        exploreService.assertCanCreateCase(userId);
+        return ResponseEntity.ok().body(exploreService.createCasesFromArchive(archive.getInputStream(), description, userId, parentDirectoryUuid));
+    }
+
+    @PostMapping(value = "/explore/case-uploads")
+    @Operation(summary = "start a resumable case upload, the case file is then sent by chunks")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The upload was created")})
+    @PreAuthorize("@authorizationService.isAuthorized(#userId, #parentDirectoryUuid, null, T(org.gridsuite.explore.server.dto.PermissionType).WRITE)")
+    public ResponseEntity<CaseUploadStatus> createCaseUpload(@RequestParam("caseName") String caseName,
+                                                             @RequestParam("description") String description,
+                                                             @RequestParam(QUERY_PARAM_PARENT_DIRECTORY_ID) UUID parentDirectoryUuid,
+                                                             @RequestParam("fileName") String fileName,
+                                                             @RequestParam("fileSize") long fileSize,
+                                                             @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
+        exploreService.assertCanCreateCase(userId);
+        CaseUploadService.CaseUpload caseUpload = new CaseUploadService.CaseUpload(caseName, description, parentDirectoryUuid, fileName);
+        return ResponseEntity.ok().body(caseUploadService.createUpload(caseUpload, fileSize, userId));
+    }
+
+    @GetMapping(value = "/explore/case-uploads/{uploadId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "get the chunks still missing to complete a case upload")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The upload state"),
+        @ApiResponse(responseCode = "404", description = "The upload was not found")})
+    public ResponseEntity<CaseUploadStatus> getCaseUpload(@PathVariable("uploadId") UUID uploadId,
+                                                          @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
+        return ResponseEntity.ok().body(caseUploadService.getUpload(uploadId, userId));
+    }
+
+    @PutMapping(value = "/explore/case-uploads/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "send a chunk of a case upload, with its sha-256 digest in the Content-Digest header")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The chunk was received"),
+        @ApiResponse(responseCode = "400", description = "The chunk does not match its digest or size"),
+        @ApiResponse(responseCode = "409", description = "The upload is being committed")})
+    @PreAuthorize("@authorizationService.isAuthorizedForCaseUpload(#userId, #uploadId)")
+    public ResponseEntity<CaseUploadStatus> putCaseUploadChunk(@PathVariable("uploadId") UUID uploadId,
+                                                               @PathVariable("index") int index,
+                                                               @RequestHeader(HEADER_CONTENT_DIGEST) String contentDigest,
+                                                               @RequestBody InputStreamResource chunk,
+                                                               @RequestHeader(QUERY_PARAM_USER_ID) String userId) throws IOException {
+        return ResponseEntity.ok().body(caseUploadService.writeChunk(uploadId, index, chunk.getInputStream(), contentDigest, userId));
+    }
+
+    @PostMapping(value = "/explore/case-uploads/{uploadId}/commit")
+    @Operation(summary = "create the case from a complete upload")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Case creation request delegated to case server"),
+        @ApiResponse(responseCode = "403", description = "The parent directory of the upload can no longer be written"),
+        @ApiResponse(responseCode = "409", description = "Chunks are missing or being written")})
+    @PreAuthorize("@authorizationService.isAuthorizedForCaseUpload(#userId, #uploadId)")
+    public ResponseEntity<Void> commitCaseUpload(@PathVariable("uploadId") UUID uploadId,
+                                                 @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
+        exploreService.assertCanCreateCase(userId);
+        exploreService.createCaseFromUpload(uploadId, userId);
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping(value = "/explore/case-uploads/{uploadId}")
+    @Operation(summary = "abort a case upload")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The upload was deleted")})
+    public ResponseEntity<Void> deleteCaseUpload(@PathVariable("uploadId") UUID uploadId,
+                                                 @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
+        caseUploadService.deleteUpload(uploadId, userId);
+        return ResponseEntity.ok().build();
+    }
+
     @PostMapping(value = "/explore/cases/{caseName}/persist", params = {"caseUuid", "description", QUERY_PARAM_PARENT_DIRECTORY_ID})
     @Operation(summary = "persist an existing case")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Case persist request delegated to case server")})
@@ -143,7 +284,7 @@ public class ExploreController {
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Identifier contingency list has been created")})
     @PreAuthorize("@authorizationService.isAuthorized(#userId, #parentDirectoryUuid, null, T(org.gridsuite.explore.server.dto.PermissionType).WRITE)")
     public ResponseEntity<Void> createIdentifierContingencyList(@PathVariable("listName") String listName,
-                                                          @RequestBody(required = false) String content,
+                                                          @RequestBody(required = false) InputStreamResource content,
                                                           @RequestParam("description") String description,
                                                           @RequestParam(QUERY_PARAM_PARENT_DIRECTORY_ID) UUID parentDirectoryUuid,
                                                           @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
@@ -156,7 +297,7 @@ public class ExploreController {
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Filter based contingency list has been created")})
     @PreAuthorize("@authorizationService.isAuthorized(#userId, #parentDirectoryUuid, null, T(org.gridsuite.explore.server.dto.PermissionType).WRITE)")
     public ResponseEntity<Void> createFilterBasedContingencyList(@PathVariable("listName") String listName,
-                                                                @RequestBody(required = false) String content,
+                                                                @RequestBody(required = false) InputStreamResource content,
                                                                 @RequestParam("description") String description,
                                                                 @RequestParam(QUERY_PARAM_PARENT_DIRECTORY_ID) UUID parentDirectoryUuid,
                                                                 @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
@@ -168,7 +309,7 @@ public class ExploreController {
     @Operation(summary = "create a filter")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Filter creation request delegated to filter server")})
     @PreAuthorize("@authorizationService.isAuthorized(#userId, #parentDirectoryUuid, null, T(org.gridsuite.explore.server.dto.PermissionType).WRITE)")
-    public ResponseEntity<Void> createFilter(@RequestBody String filter,
+    public ResponseEntity<Void> createFilter(@RequestBody InputStreamResource filter,
                                              @RequestParam("name") String filterName,
                                              @RequestParam("description") String description,
                                              @RequestParam(QUERY_PARAM_PARENT_DIRECTORY_ID) UUID parentDirectoryUuid,
@@ -248,7 +389,7 @@ public class ExploreController {
     @Operation(summary = "Modify a filter")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The filter has been successfully modified")})
     @PreAuthorize("@authorizationService.isAuthorized(#userId, #id, null, T(org.gridsuite.explore.server.dto.PermissionType).WRITE)")
-    public ResponseEntity<Void> changeFilter(@PathVariable UUID id, @RequestBody String filter, @RequestHeader(QUERY_PARAM_USER_ID) String userId,
+    public ResponseEntity<Void> changeFilter(@PathVariable UUID id, @RequestBody InputStreamResource filter, @RequestHeader(QUERY_PARAM_USER_ID) String userId,
                                              @RequestParam("name") String name, @RequestParam("description") String description) {
         exploreService.updateFilter(id, filter, userId, name, description);
         return ResponseEntity.ok().build();
@@ -263,7 +404,7 @@ public class ExploreController {
             @RequestParam(name = "name") String name,
             @RequestParam(name = QUERY_PARAM_DESCRIPTION) String description,
             @RequestParam(name = "contingencyListType") ContingencyListType contingencyListType,
-            @RequestBody String content,
+            @RequestBody InputStreamResource content,
             @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
 
         exploreService.updateContingencyList(id, content, userId, name, description, contingencyListType);
@@ -274,7 +415,7 @@ public class ExploreController {
     @Operation(summary = "create parameters")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "parameters creation request delegated to corresponding server")})
     @PreAuthorize("@authorizationService.isAuthorized(#userId, #parentDirectoryUuid, null, T(org.gridsuite.explore.server.dto.PermissionType).WRITE)")
-    public ResponseEntity<Void> createParameters(@RequestBody String parameters,
+    public ResponseEntity<Void> createParameters(@RequestBody InputStreamResource parameters,
                                              @RequestParam("name") String parametersName,
                                              @RequestParam(name = QUERY_PARAM_TYPE, defaultValue = "") ParametersType parametersType,
                                              @RequestParam(QUERY_PARAM_DESCRIPTION) String description,
@@ -288,7 +429,7 @@ public class ExploreController {
     @Operation(summary = "create diagram config")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "diagram config creation request delegated to corresponding server")})
     @PreAuthorize("@authorizationService.isAuthorized(#userId, #parentDirectoryUuid, null, T(org.gridsuite.explore.server.dto.PermissionType).WRITE)")
-    public ResponseEntity<Void> createDiagramConfig(@RequestBody String diagramConfig,
+    public ResponseEntity<Void> createDiagramConfig(@RequestBody InputStreamResource diagramConfig,
                                                     @RequestParam("name") String diagramConfigName,
                                                     @RequestParam(QUERY_PARAM_DESCRIPTION) String description,
                                                     @RequestParam(QUERY_PARAM_PARENT_DIRECTORY_ID) UUID parentDirectoryUuid,
@@ -313,7 +454,7 @@ public class ExploreController {
     @ApiResponses(value = {@ApiResponse(responseCode = "204", description = "Diagram config has been successfully modified")})
     @PreAuthorize("@authorizationService.isAuthorized(#userId, #id, null, T(org.gridsuite.explore.server.dto.PermissionType).WRITE)")
     public ResponseEntity<Void> updateDiagramConfig(@PathVariable UUID id,
-                                                    @RequestBody String diagramConfig,
+                                                    @RequestBody InputStreamResource diagramConfig,
                                                     @RequestHeader(QUERY_PARAM_USER_ID) String userId,
                                                     @RequestParam(QUERY_PARAM_NAME) String name,
                                                     @RequestParam(QUERY_PARAM_DESCRIPTION) String description) {
@@ -326,7 +467,7 @@ public class ExploreController {
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "parameters have been successfully modified")})
     @PreAuthorize("@authorizationService.isAuthorized(#userId, #id, null, T(org.gridsuite.explore.server.dto.PermissionType).WRITE)")
     public ResponseEntity<Void> updateParameters(@PathVariable UUID id,
-                                             @RequestBody String parameters,
+                                             @RequestBody InputStreamResource parameters,
                                              @RequestParam(name = QUERY_PARAM_TYPE, defaultValue = "") ParametersType parametersType,
                                              @RequestHeader(QUERY_PARAM_USER_ID) String userId,
                                              @RequestParam(QUERY_PARAM_NAME) String name,
@@ -351,7 +492,7 @@ public class ExploreController {
     @Operation(summary = "Create a spreadsheet configuration")
     @ApiResponses(value = {@ApiResponse(responseCode = "201", description = "Spreadsheet config created")})
     @PreAuthorize("@authorizationService.isAuthorized(#userId, #parentDirectoryUuid, null, T(org.gridsuite.explore.server.dto.PermissionType).WRITE)")
-    public ResponseEntity<Void> createSpreadsheetConfig(@RequestBody String spreadsheetConfigDto,
+    public ResponseEntity<Void> createSpreadsheetConfig(@RequestBody InputStreamResource spreadsheetConfigDto,
                                                         @RequestParam("name") String configName,
                                                         @RequestParam(QUERY_PARAM_DESCRIPTION) String description,
                                                         @RequestParam(QUERY_PARAM_PARENT_DIRECTORY_ID) UUID parentDirectoryUuid,
@@ -364,7 +505,7 @@ public class ExploreController {
     @Operation(summary = "Create a spreadsheet configuration collection")
     @ApiResponses(value = {@ApiResponse(responseCode = "201", description = "Spreadsheet config collection created")})
     @PreAuthorize("@authorizationService.isAuthorized(#userId, #parentDirectoryUuid, null, T(org.gridsuite.explore.server.dto.PermissionType).WRITE)")
-    public ResponseEntity<Void> createSpreadsheetConfigCollection(@RequestBody String spreadsheetConfigCollectionDto,
+    public ResponseEntity<Void> createSpreadsheetConfigCollection(@RequestBody InputStreamResource spreadsheetConfigCollectionDto,
                                                                   @RequestParam("name") String collectionName,
                                                                   @RequestParam(QUERY_PARAM_DESCRIPTION) String description,
                                                                   @RequestParam(QUERY_PARAM_PARENT_DIRECTORY_ID) UUID parentDirectoryUuid,
@@ -391,7 +532,7 @@ public class ExploreController {
     @ApiResponses(value = {@ApiResponse(responseCode = "204", description = "Spreadsheet config has been successfully modified")})
     @PreAuthorize("@authorizationService.isAuthorized(#userId, #id, null, T(org.gridsuite.explore.server.dto.PermissionType).WRITE)")
     public ResponseEntity<Void> updateSpreadsheetConfig(@PathVariable UUID id,
-                                                        @RequestBody String spreadsheetConfigDto,
+                                                        @RequestBody InputStreamResource spreadsheetConfigDto,
                                                         @RequestHeader(QUERY_PARAM_USER_ID) String userId,
                                                         @RequestParam(QUERY_PARAM_NAME) String name,
                                                         @RequestParam(QUERY_PARAM_DESCRIPTION) String description) {
@@ -404,7 +545,7 @@ public class ExploreController {
     @ApiResponses(value = {@ApiResponse(responseCode = "204", description = "Spreadsheet config collection has been successfully modified")})
     @PreAuthorize("@authorizationService.isAuthorized(#userId, #id, null, T(org.gridsuite.explore.server.dto.PermissionType).WRITE)")
     public ResponseEntity<Void> updateSpreadsheetConfigCollection(@PathVariable UUID id,
-                                                        @RequestBody String spreadsheetConfigCollectionDto,
+                                                        @RequestBody InputStreamResource spreadsheetConfigCollectionDto,
                                                         @RequestHeader(QUERY_PARAM_USER_ID) String userId,
                                                         @RequestParam(QUERY_PARAM_NAME) String name,
                                                         @RequestParam(QUERY_PARAM_DESCRIPTION) String description) {
@@ -521,6 +662,16 @@ public class ExploreController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping(value = "/explore/elements/duplicate", params = "targetDirectoryUuid", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Duplicate elements of any type in a directory")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The duplication result of each element, in the order of the request")})
+    @PreAuthorize("@authorizationService.isAuthorizedForDuplications(#userId, #elements.![elementUuid()], #targetDirectoryUuid)")
+    public ResponseEntity<List<ElementDuplicationReport>> duplicateElements(@RequestParam UUID targetDirectoryUuid,
+                                                                            @RequestBody List<ElementDuplication> elements,
+                                                                            @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(exploreService.duplicateElements(elements, targetDirectoryUuid, userId));
+    }
+
     @PutMapping(value = "/explore/elements/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Modify an element")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The element has been modified successfully")})
@@ -555,18 +706,18 @@ public class ExploreController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "The users identities"),
     })
-    public ResponseEntity<String> getUsersIdentities(@RequestParam("ids") List<UUID> ids,
-                                                     @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
-        String usersIdentities = exploreService.getUsersIdentities(ids, userId);
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(usersIdentities);
+    public ResponseEntity<JsonNode> getUsersIdentities(@RequestParam("ids") List<UUID> ids,
+                                                       @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(exploreService.getUsersIdentities(ids, userId));
     }
 
     @GetMapping(value = "/explore/directories/root-directories", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get root directories")
     @ApiResponses(@ApiResponse(responseCode = "200", description = "The root directories"))
-    public ResponseEntity<String> getRootDirectories(@RequestParam(value = "elementTypes", required = false, defaultValue = "") List<String> types,
-                                                     @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
-        return ResponseEntity.ok().body(directoryService.getRootDirectories(types, userId));
+    public void getRootDirectories(@RequestParam(value = "elementTypes", required = false, defaultValue = "") List<String> types,
+                                   @RequestHeader(QUERY_PARAM_USER_ID) String userId,
+                                   HttpServletResponse response) throws IOException {
+        directoryService.streamRootDirectories(types, userId, response);
     }
 
     @RequestMapping(value = "explore/directories/root-directories", method = RequestMethod.HEAD)
@@ -591,11 +742,39 @@ public class ExploreController {
     @GetMapping(value = "/explore/directories/{directoryUuid}/elements", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get directory elements")
     @ApiResponses(@ApiResponse(responseCode = "200", description = "List directory's elements"))
-    public ResponseEntity<String> getDirectoryElements(@PathVariable("directoryUuid") UUID directoryUuid,
-                                                       @RequestParam(value = "elementTypes", required = false, defaultValue = "") List<String> types,
-                                                       @RequestParam(value = "recursive", required = false, defaultValue = "false") Boolean recursive,
-                                                       @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(directoryService.getDirectoryElements(directoryUuid, types, recursive, userId));
+    public void getDirectoryElements(@PathVariable("directoryUuid") UUID directoryUuid,
+                                     @RequestParam(value = "elementTypes", required = false, defaultValue = "") List<String> types,
+                                     @RequestParam(value = "recursive", required = false, defaultValue = "false") Boolean recursive,
+                                     @RequestHeader(QUERY_PARAM_USER_ID) String userId,
+                                     HttpServletResponse response) throws IOException {
+        directoryService.streamDirectoryElements(directoryUuid, types, recursive, userId, response);
+    }
+
+    @GetMapping(value = "/explore/directories/{directoryUuid}/elements", params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get a page of directory elements ordered by element uuid, the next page cursor is returned in the " + HEADER_NEXT_CURSOR + " header")
+    @ApiResponses(@ApiResponse(responseCode = "200", description = "A page of the directory's elements"))
+    public ResponseEntity<List<JsonNode>> getDirectoryElementsPage(@PathVariable("directoryUuid") UUID directoryUuid,
+                                                                   @RequestParam(value = "elementTypes", required = false, defaultValue = "") List<String> types,
+                                                                   @RequestParam(value = "recursive", required = false, defaultValue = "false") Boolean recursive,
+                                                                   @Parameter(description = "Cursor returned with the previous page") @RequestParam(value = "cursor", required = false) String cursor,
+                                                                   @Parameter(description = "Maximum number of elements in the page") @RequestParam(value = "limit") int limit,
+                                                                   @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
+        DirectoryElementsPage page = directoryService.getDirectoryElementsPage(directoryUuid, types, recursive, cursor, limit, userId);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (page.nextCursor() != null) {
+            response.header(HEADER_NEXT_CURSOR, page.nextCursor());
+        }
+        return response.body(page.elements());
+    }
+
+    @GetMapping(value = "/explore/directories/{directoryUuid}/view", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get directory elements with their metadata and the identities of their users")
+    @ApiResponses(@ApiResponse(responseCode = "200", description = "The directory's elements, their metadata and users identities"))
+    public ResponseEntity<DirectoryView> getDirectoryView(@PathVariable("directoryUuid") UUID directoryUuid,
+                                                          @RequestParam(value = "elementTypes", required = false, defaultValue = "") List<String> types,
+                                                          @RequestParam(value = "equipmentTypes", required = false) List<String> equipmentTypes,
+                                                          @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(exploreService.getDirectoryView(directoryUuid, types, equipmentTypes, userId));
     }
 
     @PostMapping(value = "/explore/directories/{directoryUuid}/directories", consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -609,14 +788,26 @@ public class ExploreController {
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(directoryService.createElement(elementAttributes, directoryUuid, userId));
     }
 
+    @PostMapping(value = "/explore/directories/{directoryUuid}/copy", params = "targetDirectoryUuid", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Copy a directory with all its content into another directory")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The uuid of the copy, the progress is sent to the user while it is made"),
+        @ApiResponse(responseCode = "403", description = "The directory cannot be read or the target directory cannot be written")})
+    @PreAuthorize("@authorizationService.isAuthorizedForDuplication(#userId, #directoryUuid, #targetDirectoryUuid)")
+    public ResponseEntity<UUID> copyDirectory(@PathVariable("directoryUuid") UUID directoryUuid,
+                                              @RequestParam UUID targetDirectoryUuid,
+                                              @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(directoryCopyService.copyDirectory(directoryUuid, targetDirectoryUuid, userId));
+    }
+
     @GetMapping(value = "/explore/directories/elements/{elementUuid}/path", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get path of element")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "List info of an element and its parents in order to get its path"),
         @ApiResponse(responseCode = "403", description = "Access forbidden for the element"),
         @ApiResponse(responseCode = "404", description = "The searched element was not found")})
-    public ResponseEntity<String> getPath(@PathVariable("elementUuid") UUID elementUuid,
-                                          @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(directoryService.getPath(elementUuid, userId));
+    public void getPath(@PathVariable("elementUuid") UUID elementUuid,
+                        @RequestHeader(QUERY_PARAM_USER_ID) String userId,
+                        HttpServletResponse response) throws IOException {
+        directoryService.streamPath(elementUuid, userId, response);
     }
 
     @RequestMapping(method = RequestMethod.HEAD, value = "/explore/directories/{directoryUuid}/elements/{elementName}/types/{type}")
@@ -633,22 +824,41 @@ public class ExploreController {
     @GetMapping(value = "/explore/directories/{directoryUuid}/{elementName}/newNameCandidate")
     @Operation(summary = "Get a free name in directory based on the one given and it's type")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "If the element exists or not")})
-    public ResponseEntity<String> elementNameCandidate(@PathVariable("directoryUuid") UUID directoryUuid,
-                                                       @PathVariable("elementName") String elementName,
-                                                       @RequestParam("type") String type,
+    public void elementNameCandidate(@PathVariable("directoryUuid") UUID directoryUuid,
+                                     @PathVariable("elementName") String elementName,
+                                     @RequestParam("type") String type,
+                                     @RequestHeader(QUERY_PARAM_USER_ID) String userId,
+                                     HttpServletResponse response) {
+        directoryService.streamNameCandidate(directoryUuid, elementName, type, userId, response);
+    }
+
+    @PostMapping(value = "/explore/directories/elements/existence", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Check if elements with these names and types already exist in the given directories")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Whether each element exists, in the order of the request")})
+    public ResponseEntity<List<Boolean>> elementsExist(@RequestBody List<ElementNameQuery> queries,
                                                        @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(directoryService.getNameCandidate(directoryUuid, elementName, type, userId));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(exploreService.elementsExist(queries, userId));
+    }
+
+    @PostMapping(value = "/explore/directories/elements/name-candidates", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get free names in directories based on the ones given and their types")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "A free name for each element, in the order of the request")})
+    public ResponseEntity<List<String>> elementsNameCandidates(@RequestBody List<ElementNameQuery> queries,
+                                                               @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(exploreService.getNameCandidates(queries, userId));
     }
 
     @GetMapping(value = "/explore/directories/elements/indexation-infos", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Search elements in elasticsearch")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "List of elements found")})
-    public ResponseEntity<String> searchElements(
+    public ResponseEntity<StreamingResponseBody> searchElements(
             @Parameter(description = "User input") @RequestParam(value = "userInput") String userInput,
             @Parameter(description = "Current directory UUID") @RequestParam(value = "directoryUuid", required = false, defaultValue = "") String directoryUuid,
-            @RequestHeader(QUERY_PARAM_USER_ID) String userId) {
+            @RequestHeader(QUERY_PARAM_USER_ID) String userId,
+            HttpServletRequest request) {
+        // the search is asynchronous so that it is aborted when the client disconnects, see DirectoryService.searchElements
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
-                .body(directoryService.searchElements(userInput, directoryUuid, userId));
+            .body(outputStream -> directoryService.searchElements(userInput, directoryUuid, userId, request, outputStream));
     }
 
     @GetMapping(value = "/explore/elements/{elementUuid}")
@@ -9,12 +9,19 @@ package org.gridsuite.explore.server;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.jackson.JsonComponentModule;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.AbstractClientHttpRequestFactoryWrapper;
+import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.converter.HttpMessageConverter;
@@ -24,8 +31,16 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.Collections;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * @author Etienne Homer <etienne.homer at rte-france.com>
@@ -34,22 +49,74 @@ import java.util.Collections;
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder) {
+    public DownstreamRestTemplateCustomizer downstreamRestTemplateCustomizer(@Value("${explore.rest-client.compression.enabled:true}") boolean compressionEnabled,
+                                                                             @Value("${explore.rest-client.compression.request-min-size:-1}") int requestCompressionMinSize) {
+        return new DownstreamRestTemplateCustomizer(mappingJackson2HttpMessageConverter(), compressionEnabled, requestCompressionMinSize);
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder, DownstreamRestTemplateCustomizer downstreamRestTemplateCustomizer) {
         final RestTemplate restTemplate = restTemplateBuilder.build();
+        downstreamRestTemplateCustomizer.customize(restTemplate);
+        return restTemplate;
+    }
 
-        //find and replace Jackson message converter with our own
-        for (int i = 0; i < restTemplate.getMessageConverters().size(); i++) {
-            final HttpMessageConverter<?> httpMessageConverter = restTemplate.getMessageConverters().get(i);
-            if (httpMessageConverter instanceof MappingJackson2HttpMessageConverter) {
-                restTemplate.getMessageConverters().set(i, mappingJackson2HttpMessageConverter());
+    /**
+     * The settings shared by every RestTemplate calling the downstream services: our Jackson message converter, the
+     * roles header forwarding and the gzip negotiation.
+     * Not a Spring Boot RestTemplateCustomizer on purpose, it would then be applied by every RestTemplateBuilder.
+     */
+    public static class DownstreamRestTemplateCustomizer {
+
+        private final MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+        private final boolean compressionEnabled;
+
+        private final int requestCompressionMinSize;
+
+        public DownstreamRestTemplateCustomizer(MappingJackson2HttpMessageConverter jacksonMessageConverter, boolean compressionEnabled,
+                                                int requestCompressionMinSize) {
+            this.jacksonMessageConverter = jacksonMessageConverter;
+            this.compressionEnabled = compressionEnabled;
+            this.requestCompressionMinSize = requestCompressionMinSize;
+        }
+
+        public void customize(RestTemplate restTemplate) {
+            replaceJacksonMessageConverter(restTemplate);
+            if (compressionEnabled) {
+                restTemplate.setInterceptors(List.of(new RoleHeaderForwardingInterceptor(), new GzipCompressionInterceptor(requestCompressionMinSize)));
+            } else {
+                restTemplate.setInterceptors(List.of(new RoleHeaderForwardingInterceptor()));
             }
+        }
 
-            restTemplate.setInterceptors(
-                    Collections.singletonList(new RoleHeaderForwardingInterceptor())
-            );
+        /**
+         * Same settings without any interceptor, since interceptors buffer the whole request body before sending it:
+         * the headers are set by request initializers, which run before the body is written, and the gzip responses
+         * are decoded by the request factory. Request bodies are never compressed.
+         */
+        public void customizeStreaming(RestTemplate restTemplate) {
+            replaceJacksonMessageConverter(restTemplate);
+            restTemplate.setInterceptors(List.of());
+            if (compressionEnabled) {
+                restTemplate.setClientHttpRequestInitializers(List.of(
+                    request -> RoleHeaderForwardingInterceptor.forwardRolesHeader(request.getHeaders()),
+                    GzipCompressionInterceptor::acceptGzip));
+                restTemplate.setRequestFactory(new GzipDecodingClientHttpRequestFactory(restTemplate.getRequestFactory()));
+            } else {
+                restTemplate.setClientHttpRequestInitializers(List.of(request -> RoleHeaderForwardingInterceptor.forwardRolesHeader(request.getHeaders())));
+            }
         }
 
-        return restTemplate;
+        //find and replace Jackson message converter with our own
+        private void replaceJacksonMessageConverter(RestTemplate restTemplate) {
+            for (int i = 0; i < restTemplate.getMessageConverters().size(); i++) {
+                final HttpMessageConverter<?> httpMessageConverter = restTemplate.getMessageConverters().get(i);
+                if (httpMessageConverter instanceof MappingJackson2HttpMessageConverter) {
+                    restTemplate.getMessageConverters().set(i, jacksonMessageConverter);
+                }
+            }
+        }
     }
 
     /**
@@ -62,25 +129,221 @@ public class RestTemplateConfig {
      */
     public static class RoleHeaderForwardingInterceptor implements ClientHttpRequestInterceptor {
 
-        private static final String ROLES_HEADER = "roles";
+        public static final String ROLES_HEADER = "roles";
+
+        // roles header of the request which submitted the task running on this thread, see TaskExecutionConfig
+        private static final ThreadLocal<String> TASK_ROLES_HEADER = new ThreadLocal<>();
 
         @Override
         public ClientHttpResponse intercept(HttpRequest request, byte[] body,
                                             ClientHttpRequestExecution execution) throws IOException {
+            forwardRolesHeader(request.getHeaders());
+            return execution.execute(request, body);
+        }
+
+        /**
+         * Copies the roles header of the current incoming request, if any, to the given outgoing headers.
+         * Also used by callers that bypass the interceptors of the shared RestTemplate.
+         */
+        public static void forwardRolesHeader(HttpHeaders headers) {
+            // If we have a current request, copy its roles header to the outgoing request
+            String roles = getRolesHeader();
+            if (roles != null) {
+                headers.set(ROLES_HEADER, roles);
+            }
+        }
+
+        /**
+         * The roles header of the current incoming request, or of the request which submitted the current task, or null.
+         * To be read on the request thread by the callers that make their calls later on another thread, and set explicitly
+         * on their outgoing requests.
+         */
+        public static String getRolesHeader() {
             ServletRequestAttributes attributes =
                     (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+            if (attributes == null) {
+                return TASK_ROLES_HEADER.get();
+            }
+            HttpServletRequest currentRequest = attributes.getRequest();
+            String roles = currentRequest.getHeader(ROLES_HEADER);
+            return roles != null && !roles.isEmpty() ? roles : null;
+        }
 
-            // If we have a current request, copy its roles header to the outgoing request
-            if (attributes != null) {
-                HttpServletRequest currentRequest = attributes.getRequest();
-                String roles = currentRequest.getHeader(ROLES_HEADER);
+        /**
+         * Runs the task with the given roles header forwarded by its outgoing calls, the request itself is not kept
+         */
+        public static Runnable withRolesHeader(String roles, Runnable task) {
+            return () -> {
+                TASK_ROLES_HEADER.set(roles);
+                try {
+                    task.run();
+                } finally {
+                    TASK_ROLES_HEADER.remove();
+                }
+            };
+        }
+    }
+
+    /**
+     * Negotiates gzip with the downstream services: every outgoing call advertises {@code Accept-Encoding: gzip}
+     * and gzip responses are transparently decoded, so directory listings and metadata travel compressed.
+     * Request bodies are compressed only above {@code requestMinSize} bytes (disabled when negative), because the
+     * receiving service must be able to decode a {@code Content-Encoding: gzip} request body.
+     */
+    public static class GzipCompressionInterceptor implements ClientHttpRequestInterceptor {
+
+        private static final String GZIP = "gzip";
+
+        private final int requestMinSize;
+
+        public GzipCompressionInterceptor(int requestMinSize) {
+            this.requestMinSize = requestMinSize;
+        }
+
+        @Override
+        public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                            ClientHttpRequestExecution execution) throws IOException {
+            HttpHeaders headers = request.getHeaders();
+            acceptGzip(request);
+
+            byte[] requestBody = body;
+            if (requestMinSize >= 0 && body.length > 0 && body.length >= requestMinSize && !headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                requestBody = gzip(body);
+                headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+                headers.setContentLength(requestBody.length);
+            }
+
+            return decodeGzip(execution.execute(request, requestBody));
+        }
+
+        private static void acceptGzip(HttpRequest request) {
+            if (!request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+                request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+            }
+        }
+
+        private static ClientHttpResponse decodeGzip(ClientHttpResponse response) {
+            String contentEncoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+            return GZIP.equalsIgnoreCase(contentEncoding) ? new GzipDecodingClientHttpResponse(response) : response;
+        }
+
+        private static byte[] gzip(byte[] body) throws IOException {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+                gzipOutputStream.write(body);
+            }
+            return compressed.toByteArray();
+        }
+    }
+
+    /**
+     * Decodes the gzip responses of the requests it creates, without buffering their body as an interceptor would
+     */
+    private static final class GzipDecodingClientHttpRequestFactory extends AbstractClientHttpRequestFactoryWrapper {
+
+        private GzipDecodingClientHttpRequestFactory(ClientHttpRequestFactory requestFactory) {
+            super(requestFactory);
+        }
+
+        @Override
+        protected ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod, ClientHttpRequestFactory requestFactory) throws IOException {
+            return new GzipDecodingClientHttpRequest(requestFactory.createRequest(uri, httpMethod));
+        }
+    }
+
+    private static final class GzipDecodingClientHttpRequest implements ClientHttpRequest {
+
+        private final ClientHttpRequest delegate;
+
+        private GzipDecodingClientHttpRequest(ClientHttpRequest delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            return GzipCompressionInterceptor.decodeGzip(delegate.execute());
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return delegate.getMethod();
+        }
 
-                if (roles != null && !roles.isEmpty()) {
-                    request.getHeaders().set(ROLES_HEADER, roles);
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return delegate.getAttributes();
+        }
+    }
+
+    /**
+     * Exposes the decoded body of a gzip encoded response, and hides the encoding related headers so that
+     * callers (and the streaming proxy) only ever see identity encoded content.
+     */
+    private static final class GzipDecodingClientHttpResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+
+        private final HttpHeaders headers;
+
+        private InputStream body;
+
+        private GzipDecodingClientHttpResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+            this.headers = new HttpHeaders();
+            this.headers.addAll(delegate.getHeaders());
+            this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+            this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                // HEAD requests and 204/304 responses may announce gzip without sending any byte
+                PushbackInputStream rawBody = new PushbackInputStream(delegate.getBody(), 1);
+                int firstByte = rawBody.read();
+                if (firstByte == -1) {
+                    body = InputStream.nullInputStream();
+                } else {
+                    rawBody.unread(firstByte);
+                    body = new GZIPInputStream(rawBody);
                 }
             }
+            return body;
+        }
 
-            return execution.execute(request, body);
+        @Override
+        public void close() {
+            delegate.close();
         }
     }
 
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Multipart requests sent with the {@value #HEADER_STREAMING_UPLOAD} header are not parsed by the servlet container:
+ * the controller reads their body itself, as it is received (see {@link org.gridsuite.explore.server.utils.MultipartStream}).
+ * For these requests the parameters are only taken from the query string, because the container would otherwise parse the
+ * whole multipart body to look for form fields.
+ */
+@Configuration
+public class StreamingUploadConfig {
+
+    public static final String HEADER_STREAMING_UPLOAD = "X-Streaming-Upload";
+
+    public static boolean isStreamingUpload(HttpServletRequest request) {
+        return Boolean.parseBoolean(request.getHeader(HEADER_STREAMING_UPLOAD))
+            && request.getContentType() != null
+            && request.getContentType().toLowerCase().startsWith("multipart/");
+    }
+
+    /**
+     * @return the parameters of the query string, decoded, without looking at the body
+     */
+    public static Map<String, String[]> getQueryParameters(HttpServletRequest request) {
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        if (request.getQueryString() != null) {
+            MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+            UriComponentsBuilder.newInstance().query(request.getQueryString()).build().getQueryParams()
+                .forEach((name, values) -> values.forEach(value -> queryParams.add(decode(name), value != null ? decode(value) : "")));
+            queryParams.forEach((name, values) -> parameters.put(name, values.toArray(String[]::new)));
+        }
+        return parameters;
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    @Bean
+    public MultipartResolver multipartResolver(MultipartProperties multipartProperties) {
+        StandardServletMultipartResolver multipartResolver = new StandardServletMultipartResolver() {
+            @Override
+            public boolean isMultipart(@NonNull HttpServletRequest request) {
+                return !isStreamingUpload(request) && super.isMultipart(request);
+            }
+        };
+        multipartResolver.setResolveLazily(multipartProperties.isResolveLazily());
+        multipartResolver.setStrictServletCompliance(multipartProperties.isStrictServletCompliance());
+        return multipartResolver;
+    }
+
+    @Bean
+    public OncePerRequestFilter streamingUploadFilter() {
+        return new StreamingUploadFilter();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    private static class StreamingUploadFilter extends OncePerRequestFilter {
+        @Override
+        protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+            return !isStreamingUpload(request);
+        }
+
+        @Override
+        protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+            filterChain.doFilter(new QueryParametersRequest(request), response);
+        }
+    }
+
+    private static class QueryParametersRequest extends HttpServletRequestWrapper {
+
+        private final Map<String, String[]> parameters;
+
+        QueryParametersRequest(HttpServletRequest request) {
+            super(request);
+            parameters = getQueryParameters(request);
+        }
+
+        @Override
+        public String getParameter(String name) {
+            String[] values = parameters.get(name);
+            return values != null ? values[0] : null;
+        }
+
+        @Override
+        public Map<String, String[]> getParameterMap() {
+            return Collections.unmodifiableMap(parameters);
+        }
+
+        @Override
+        public Enumeration<String> getParameterNames() {
+            return Collections.enumeration(parameters.keySet());
+        }
+
+        @Override
+        public String[] getParameterValues(String name) {
+            return parameters.get(name);
+        }
+    }
+}
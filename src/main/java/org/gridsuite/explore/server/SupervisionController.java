@@ -29,4 +29,12 @@ public class SupervisionController {
         supervisionService.deleteElements(elementsUuid, userId);
         return ResponseEntity.ok().build();
     }
+
+    @DeleteMapping(value = "/explore/user-admin-cache")
+    @Operation(summary = "Evict the cached quotas of a user, or all the cached quotas and alert threshold")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "the cache was evicted")})
+    public ResponseEntity<Void> evictUserAdminCache(@RequestParam(value = "sub", required = false) String sub) {
+        supervisionService.evictUserAdminCache(sub);
+        return ResponseEntity.ok().build();
+    }
 }
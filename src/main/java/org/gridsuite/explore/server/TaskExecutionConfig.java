@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import org.gridsuite.explore.server.RestTemplateConfig.RoleHeaderForwardingInterceptor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * The remote call executor runs the remote calls a request makes concurrently, and the asynchronous requests. It is bounded:
+ * when its queue is full the task is run by the submitting thread, which slows the busiest requests down instead of
+ * queueing without limit. Its tasks only keep the roles header of the request which submitted them, never the request
+ * itself which may be recycled before they run.
+ */
+@Configuration
+public class TaskExecutionConfig implements WebMvcConfigurer {
+
+    public static final String REMOTE_CALL_EXECUTOR = "remoteCallExecutor";
+
+    private final ThreadPoolTaskExecutor remoteCallExecutor;
+
+    public TaskExecutionConfig(@Qualifier(REMOTE_CALL_EXECUTOR) ThreadPoolTaskExecutor remoteCallExecutor) {
+        this.remoteCallExecutor = remoteCallExecutor;
+    }
+
+    @Bean(name = REMOTE_CALL_EXECUTOR)
+    public static ThreadPoolTaskExecutor remoteCallExecutor(@Value("${explore.remote-call-executor.pool-size:32}") int poolSize,
+                                                            @Value("${explore.remote-call-executor.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("remote-call-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(task -> RoleHeaderForwardingInterceptor.withRolesHeader(RoleHeaderForwardingInterceptor.getRolesHeader(), task));
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(@NonNull AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(remoteCallExecutor);
+    }
+}
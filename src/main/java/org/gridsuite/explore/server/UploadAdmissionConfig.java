@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.gridsuite.explore.server.dto.PermissionType;
+import org.gridsuite.explore.server.services.AuthorizationService;
+import org.gridsuite.explore.server.services.ExploreService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Case creations are admitted before their body is read: the write permission on the parent directory and the cases
+ * quota of the user are checked as soon as the request headers are received, and a rejected request is answered without
+ * consuming its body. Tomcat only sends the {@code 100 Continue} interim response when the body is first read, so a
+ * client sending {@code Expect: 100-continue} does not upload anything when its request is rejected.
+ * An admitted request is marked as such and the controller does not check it again, so that the remote calls and the cases
+ * alert threshold message are made once. Requests which cannot be admitted here (missing or invalid parameters) are left
+ * to the controller checks.
+ */
+@Configuration
+public class UploadAdmissionConfig {
+
+    private static final Pattern CREATE_CASE_PATH = Pattern.compile("^/v1/explore/cases/[^/]+$");
+
+    private static final String ADMITTED_CASE_CREATION_ATTRIBUTE = UploadAdmissionConfig.class.getName() + ".admittedCaseCreation";
+
+    private record AdmittedCaseCreation(String userId, UUID parentDirectoryUuid) { }
+
+    /**
+     * Whether the current request is a case creation of this user in this directory already admitted by the filter
+     */
+    public static boolean isAdmitted(String userId, UUID parentDirectoryUuid) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return requestAttributes != null
+            && new AdmittedCaseCreation(userId, parentDirectoryUuid).equals(requestAttributes.getAttribute(ADMITTED_CASE_CREATION_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> continueOnReadCustomizer() {
+        return factory -> factory.addConnectorCustomizers(connector -> connector.setProperty("continueResponseTiming", "onRead"));
+    }
+
+    @Bean
+    public OncePerRequestFilter uploadAdmissionFilter(AuthorizationService authorizationService,
+                                                      ExploreService exploreService,
+                                                      @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver) {
+        return new UploadAdmissionFilter(authorizationService, exploreService, handlerExceptionResolver);
+    }
+
+    private static class UploadAdmissionFilter extends OncePerRequestFilter {
+
+        private final AuthorizationService authorizationService;
+
+        private final ExploreService exploreService;
+
+        private final HandlerExceptionResolver handlerExceptionResolver;
+
+        UploadAdmissionFilter(AuthorizationService authorizationService, ExploreService exploreService, HandlerExceptionResolver handlerExceptionResolver) {
+            this.authorizationService = authorizationService;
+            this.exploreService = exploreService;
+            this.handlerExceptionResolver = handlerExceptionResolver;
+        }
+
+        @Override
+        protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+            // streaming uploads are checked by the controller before their body is read
+            return !HttpMethod.POST.matches(request.getMethod())
+                || request.getContentType() == null
+                || !request.getContentType().toLowerCase().startsWith("multipart/")
+                || StreamingUploadConfig.isStreamingUpload(request)
+                || !CREATE_CASE_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length())).matches();
+        }
+
+        @Override
+        protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+            String userId = request.getHeader("userId");
+            // request.getParameter would parse the multipart body
+            UUID parentDirectoryUuid = getParentDirectoryUuid(request);
+            if (userId != null && parentDirectoryUuid != null) {
+                try {
+                    authorizationService.isAuthorized(userId, List.of(parentDirectoryUuid), null, PermissionType.WRITE);
+                    exploreService.assertCanCreateCase(userId);
+                } catch (RuntimeException e) {
+                    // same error response as the controller
+                    if (handlerExceptionResolver.resolveException(request, response, null, e) == null) {
+                        throw e;
+                    }
+                    return;
+                }
+                request.setAttribute(ADMITTED_CASE_CREATION_ATTRIBUTE, new AdmittedCaseCreation(userId, parentDirectoryUuid));
+            }
+            filterChain.doFilter(request, response);
+        }
+
+        private static UUID getParentDirectoryUuid(HttpServletRequest request) {
+            String[] parentDirectoryUuid = StreamingUploadConfig.getQueryParameters(request).get("parentDirectoryUuid");
+            try {
+                return parentDirectoryUuid != null ? UUID.fromString(parentDirectoryUuid[0]) : null;
+            } catch (IllegalArgumentException e) {
+                // rejected by the controller
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.UUID;
+
+/**
+ * Result of the import of one file of a case archive: the created case, or the reason why it was not created.
+ */
+public record CaseImportReport(String fileName, String caseName, UUID caseUuid, String error) {
+
+    public static CaseImportReport imported(String fileName, String caseName, UUID caseUuid) {
+        return new CaseImportReport(fileName, caseName, caseUuid, null);
+    }
+
+    public static CaseImportReport failed(String fileName, String caseName, String error) {
+        return new CaseImportReport(fileName, caseName, null, error);
+    }
+
+    @JsonIgnore
+    public boolean isImported() {
+        return caseUuid != null;
+    }
+}
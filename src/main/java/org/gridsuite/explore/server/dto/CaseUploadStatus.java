@@ -0,0 +1,16 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * State of a chunked case upload: chunk {@code i} covers the bytes from {@code i * chunkSize} of the file,
+ * the missing chunks are the ones to send (again) before committing the upload.
+ */
+public record CaseUploadStatus(UUID uploadId, long fileSize, int chunkSize, int chunkCount, List<Integer> missingChunks) { }
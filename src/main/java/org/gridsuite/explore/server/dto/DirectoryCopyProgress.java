@@ -0,0 +1,14 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.dto;
+
+import java.util.UUID;
+
+/**
+ * Progress of the copy of a directory, sent to the user while the elements of the directory are duplicated.
+ */
+public record DirectoryCopyProgress(UUID sourceDirectoryUuid, UUID directoryUuid, int copiedCount, int totalCount) { }
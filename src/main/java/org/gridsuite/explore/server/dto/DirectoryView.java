@@ -0,0 +1,18 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * What is displayed when a directory is opened: its elements as listed by the directory server, their metadata and the
+ * identities of their owners and last modifiers (in the format of user-identity-server).
+ */
+public record DirectoryView(List<JsonNode> elements, List<ElementAttributes> metadata, JsonNode usersIdentities) {
+}
@@ -0,0 +1,16 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.dto;
+
+import org.gridsuite.explore.server.utils.ContingencyListType;
+
+import java.util.UUID;
+
+/**
+ * An element to duplicate, with its directory type. The kind of a contingency list is needed to duplicate it.
+ */
+public record ElementDuplication(UUID elementUuid, String type, ContingencyListType contingencyListType) { }
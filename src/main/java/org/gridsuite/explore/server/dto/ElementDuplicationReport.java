@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.UUID;
+
+/**
+ * Result of the duplication of one element: the created element, or the reason why it was not created.
+ */
+public record ElementDuplicationReport(UUID elementUuid, String type, UUID newElementUuid, String error) {
+
+    public static ElementDuplicationReport duplicated(ElementDuplication element, UUID newElementUuid) {
+        return new ElementDuplicationReport(element.elementUuid(), element.type(), newElementUuid, null);
+    }
+
+    public static ElementDuplicationReport failed(ElementDuplication element, String error) {
+        return new ElementDuplicationReport(element.elementUuid(), element.type(), null, error);
+    }
+
+    @JsonIgnore
+    public boolean isDuplicated() {
+        return newElementUuid != null;
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.dto;
+
+import java.util.UUID;
+
+/**
+ * An element name of a given type in a directory, to check whether it is taken or to get a free name from it.
+ */
+public record ElementNameQuery(UUID directoryUuid, String elementName, String type) { }
@@ -14,7 +14,12 @@ import com.powsybl.ws.commons.error.BusinessErrorCode;
  * Business error codes emitted by the explore service.
  */
 public enum ExploreBusinessErrorCode implements BusinessErrorCode {
-    EXPLORE_MAX_ELEMENTS_EXCEEDED("explore.maxElementsExceeded");
+    EXPLORE_MAX_ELEMENTS_EXCEEDED("explore.maxElementsExceeded"),
+    EXPLORE_UPLOAD_NOT_FOUND("explore.uploadNotFound"),
+    EXPLORE_UPLOAD_INVALID_CHUNK("explore.uploadInvalidChunk"),
+    EXPLORE_UPLOAD_INCOMPLETE("explore.uploadIncomplete"),
+    EXPLORE_UPLOAD_TOO_LARGE("explore.uploadTooLarge"),
+    EXPLORE_MAX_UPLOADS_EXCEEDED("explore.maxUploadsExceeded");
 
     private final String code;
 
@@ -38,6 +38,11 @@ public class ExploreExceptionHandler
     protected HttpStatus mapStatus(ExploreBusinessErrorCode errorCode) {
         return switch (errorCode) {
             case EXPLORE_MAX_ELEMENTS_EXCEEDED -> HttpStatus.FORBIDDEN;
+            case EXPLORE_UPLOAD_NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case EXPLORE_UPLOAD_INVALID_CHUNK -> HttpStatus.BAD_REQUEST;
+            case EXPLORE_UPLOAD_INCOMPLETE -> HttpStatus.CONFLICT;
+            case EXPLORE_UPLOAD_TOO_LARGE -> HttpStatus.PAYLOAD_TOO_LARGE;
+            case EXPLORE_MAX_UPLOADS_EXCEEDED -> HttpStatus.FORBIDDEN;
         };
     }
 
@@ -6,6 +6,7 @@
  */
 package org.gridsuite.explore.server.services;
 
+import org.gridsuite.explore.server.UploadAdmissionConfig;
 import org.gridsuite.explore.server.dto.PermissionType;
 import org.springframework.stereotype.Service;
 
@@ -20,8 +21,11 @@ public class AuthorizationService {
 
     private final DirectoryService directoryService;
 
-    public AuthorizationService(DirectoryService directoryService) {
+    private final CaseUploadService caseUploadService;
+
+    public AuthorizationService(DirectoryService directoryService, CaseUploadService caseUploadService) {
         this.directoryService = directoryService;
+        this.caseUploadService = caseUploadService;
     }
 
     //This method should only be called inside of @PreAuthorize to centralize permission checks
@@ -29,12 +33,31 @@ public class AuthorizationService {
         directoryService.checkPermission(elementUuids, targetDirectoryUuid, userId, permissionType);
     }
 
+    //Case creations admitted before their body was read are not checked again, see UploadAdmissionConfig
+    public void isAuthorizedForCaseCreation(String userId, UUID parentDirectoryUuid) {
+        if (!UploadAdmissionConfig.isAdmitted(userId, parentDirectoryUuid)) {
+            isAuthorized(userId, List.of(parentDirectoryUuid), null, PermissionType.WRITE);
+        }
+    }
+
     //This method should only be called inside of @PreAuthorize to centralize permission checks
     public void isAuthorizedForDuplication(String userId, UUID elementToDuplicate, UUID targetDirectoryUuid) {
         directoryService.checkPermission(List.of(elementToDuplicate), null, userId, PermissionType.READ);
         directoryService.checkPermission(List.of(targetDirectoryUuid != null ? targetDirectoryUuid : elementToDuplicate), null, userId, PermissionType.WRITE);
     }
 
+    //The read permission is checked once for all the elements to duplicate
+    public void isAuthorizedForDuplications(String userId, List<UUID> elementsToDuplicate, UUID targetDirectoryUuid) {
+        directoryService.checkPermission(elementsToDuplicate, null, userId, PermissionType.READ);
+        directoryService.checkPermission(List.of(targetDirectoryUuid), null, userId, PermissionType.WRITE);
+    }
+
+    //The write permission on the directory of an upload may have been revoked since the upload was created
+    public void isAuthorizedForCaseUpload(String userId, UUID uploadId) {
+        UUID parentDirectoryUuid = caseUploadService.getCaseUpload(uploadId, userId).parentDirectoryUuid();
+        directoryService.checkPermission(List.of(parentDirectoryUuid), null, userId, PermissionType.WRITE);
+    }
+
     public void isRecursivelyAuthorized(String userId, List<UUID> elementUuids, UUID targetDirectoryUuid) {
         directoryService.checkPermission(elementUuids, targetDirectoryUuid, userId, PermissionType.WRITE, true);
     }
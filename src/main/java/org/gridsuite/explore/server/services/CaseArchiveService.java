@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.services;
+
+import jakarta.annotation.PreDestroy;
+import org.gridsuite.explore.server.RestTemplateConfig.RoleHeaderForwardingInterceptor;
+import org.gridsuite.explore.server.dto.CaseImportReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Imports the case files of a zip archive on the case server. The archive is read as it is received: each file is
+ * extracted to a local spool file, then imported by a pool of {@code max-concurrency} threads while the next files are
+ * extracted. At most {@code max-concurrency} extracted files wait on disk, the extraction waits for an import to end
+ * when they are all taken.
+ */
+@Service
+public class CaseArchiveService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CaseArchiveService.class);
+
+    private final CaseDeduplicationService caseDeduplicationService;
+
+    private final CaseService caseService;
+
+    private final Path spoolDirectory;
+
+    private final long maxEntrySize;
+
+    private final int maxConcurrency;
+
+    private final ExecutorService importers;
+
+    public CaseArchiveService(CaseDeduplicationService caseDeduplicationService,
+                              CaseService caseService,
+                              @Value("${explore.case-archive.spool-directory:${java.io.tmpdir}/explore-server/case-archives}") Path spoolDirectory,
+                              @Value("${explore.case-archive.max-entry-size:2GB}") DataSize maxEntrySize,
+                              @Value("${explore.case-archive.max-concurrency:4}") int maxConcurrency) throws IOException {
+        this.caseDeduplicationService = caseDeduplicationService;
+        this.caseService = caseService;
+        this.spoolDirectory = spoolDirectory;
+        this.maxEntrySize = maxEntrySize.toBytes();
+        this.maxConcurrency = maxConcurrency;
+        this.importers = Executors.newFixedThreadPool(maxConcurrency, daemonThreadFactory("case-archive-importer"));
+        Files.createDirectories(spoolDirectory);
+    }
+
+    /**
+     * Imports the files of the archive, in the order of the archive, the files after the first {@code maxCases} ones are
+     * not imported. Directories and hidden files are ignored. The cases imported before the archive turns out to be
+     * unreadable are deleted.
+     */
+    public List<CaseImportReport> importCases(InputStream archive, @Nullable Integer maxCases, String userId) {
+        List<CompletableFuture<CaseImportReport>> reports = new ArrayList<>();
+        int importedCount = 0;
+        Semaphore spoolSlots = new Semaphore(maxConcurrency);
+        // the roles header of the request is forwarded by the importers, which do not keep the request itself
+        String roles = RoleHeaderForwardingInterceptor.getRolesHeader();
+        Executor importersWithRoles = task -> importers.execute(RoleHeaderForwardingInterceptor.withRolesHeader(roles, task));
+        try (ZipInputStream zipInputStream = new ZipInputStream(archive)) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                String fileName = StringUtils.getFilename(entry.getName());
+                if (entry.isDirectory() || !StringUtils.hasText(fileName) || fileName.startsWith(".") || entry.getName().startsWith("__MACOSX/")) {
+                    continue;
+                }
+                String caseName = StringUtils.stripFilenameExtension(fileName);
+                if (maxCases != null && importedCount >= maxCases) {
+                    reports.add(CompletableFuture.completedFuture(CaseImportReport.failed(fileName, caseName, "max allowed cases reached")));
+                    continue;
+                }
+                spoolSlots.acquire();
+                Path spoolFile;
+                try {
+                    spoolFile = spool(zipInputStream);
+                } catch (IOException | RuntimeException e) {
+                    spoolSlots.release();
+                    throw e;
+                }
+                if (spoolFile == null) {
+                    spoolSlots.release();
+                    reports.add(CompletableFuture.completedFuture(CaseImportReport.failed(fileName, caseName, "file larger than " + DataSize.ofBytes(maxEntrySize))));
+                    continue;
+                }
+                importedCount++;
+                reports.add(CompletableFuture.supplyAsync(() -> importCase(fileName, caseName, spoolFile), importersWithRoles)
+                    .whenComplete((report, e) -> spoolSlots.release()));
+            }
+        } catch (IOException e) {
+            deleteImportedCases(reports, userId);
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deleteImportedCases(reports, userId);
+            throw new IllegalStateException(e);
+        }
+        return reports.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * @return the spool file with the content of the current entry, or null if it is larger than the max entry size
+     */
+    @Nullable
+    private Path spool(ZipInputStream zipInputStream) throws IOException {
+        Path spoolFile = Files.createTempFile(spoolDirectory, "case-", ".archive-entry");
+        try (OutputStream out = Files.newOutputStream(spoolFile)) {
+            byte[] buffer = new byte[64 * 1024];
+            long size = 0;
+            int read;
+            while ((read = zipInputStream.read(buffer)) >= 0) {
+                size += read;
+                // the declared size of an entry cannot be trusted
+                if (size > maxEntrySize) {
+                    out.close();
+                    Files.deleteIfExists(spoolFile);
+                    zipInputStream.closeEntry();
+                    return null;
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spoolFile);
+            throw e;
+        }
+        return spoolFile;
+    }
+
+    private CaseImportReport importCase(String fileName, String caseName, Path spoolFile) {
+        try {
+            UUID caseUuid = caseDeduplicationService.importCase(fileName, new FileSystemResource(spoolFile));
+            return CaseImportReport.imported(fileName, caseName, caseUuid);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not import case file {} of an archive", fileName, e);
+            return CaseImportReport.failed(fileName, caseName, e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(spoolFile);
+            } catch (IOException e) {
+                LOGGER.warn("Could not delete the spool file {}", spoolFile, e);
+            }
+        }
+    }
+
+    private void deleteImportedCases(List<CompletableFuture<CaseImportReport>> reports, String userId) {
+        reports.stream().map(CompletableFuture::join).filter(CaseImportReport::isImported).forEach(report -> {
+            try {
+                caseService.delete(report.caseUuid(), userId);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not delete case {} imported from an unreadable archive", report.caseUuid(), e);
+            }
+        });
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void close() {
+        importers.shutdown();
+    }
+}
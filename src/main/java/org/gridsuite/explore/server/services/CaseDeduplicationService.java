@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Imports case files on the case server, skipping the upload of files which were already imported: the SHA-256 of each
+ * imported file is indexed with the created case, and a file with the same name and content is imported by duplicating
+ * that case on the case server, as long as it still exists.
+ * The file is hashed before being sent when it is available locally (multipart file resolved by the container, chunked
+ * upload). A streamed file can only be hashed while it is forwarded, so it is always imported, then indexed.
+ * The index is kept in memory by each instance, the least recently used entries are dropped above {@code max-entries}.
+ */
+@Service
+public class CaseDeduplicationService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CaseDeduplicationService.class);
+
+    private final CaseService caseService;
+
+    private final boolean enabled;
+
+    private final Map<String, UUID> casesByContent;
+
+    private final Counter hits;
+
+    public CaseDeduplicationService(CaseService caseService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${explore.case-deduplication.enabled:true}") boolean enabled,
+                                    @Value("${explore.case-deduplication.max-entries:10000}") int maxEntries) {
+        this.caseService = caseService;
+        this.enabled = enabled;
+        this.casesByContent = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UUID> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.hits = meterRegistry.counter("explore.case.deduplication.hits");
+        meterRegistry.gaugeMapSize("explore.case.deduplication.size", Collections.emptyList(), casesByContent);
+    }
+
+    public UUID importCase(MultipartFile caseFile) {
+        return importCase(caseFile.getOriginalFilename(), caseFile, () -> caseService.importCase(caseFile));
+    }
+
+    /**
+     * Imports a case file which can be read several times, like a spooled upload
+     */
+    public UUID importCase(String filename, InputStreamSource caseFile) {
+        return importCase(filename, caseFile, () -> {
+            try (InputStream content = caseFile.getInputStream()) {
+                return caseService.importCase(filename, null, content);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Imports a case file read from the given stream, its content is hashed while it is forwarded
+     */
+    public UUID importCase(String filename, @Nullable MediaType contentType, InputStream caseFile) {
+        if (!enabled) {
+            return caseService.importCase(filename, contentType, caseFile);
+        }
+        DigestInputStream digestInputStream = new DigestInputStream(caseFile, sha256());
+        UUID caseUuid = caseService.importCase(filename, contentType, digestInputStream);
+        if (caseUuid != null) {
+            casesByContent.put(getKey(filename, digestInputStream.getMessageDigest()), caseUuid);
+        }
+        return caseUuid;
+    }
+
+    private UUID importCase(@Nullable String filename, InputStreamSource caseFile, Supplier<UUID> importer) {
+        if (!enabled) {
+            return importer.get();
+        }
+        String key = getKey(filename, digest(caseFile));
+        UUID caseUuid = casesByContent.get(key);
+        if (caseUuid != null) {
+            UUID duplicatedCaseUuid = duplicate(key, caseUuid);
+            if (duplicatedCaseUuid != null) {
+                return duplicatedCaseUuid;
+            }
+        }
+        caseUuid = importer.get();
+        if (caseUuid != null) {
+            casesByContent.put(key, caseUuid);
+        }
+        return caseUuid;
+    }
+
+    @Nullable
+    private UUID duplicate(String key, UUID caseUuid) {
+        try {
+            UUID duplicatedCaseUuid = caseService.duplicateCase(caseUuid);
+            hits.increment();
+            return duplicatedCaseUuid;
+        } catch (HttpClientErrorException.NotFound e) {
+            // the case was deleted since it was imported
+            casesByContent.remove(key, caseUuid);
+        } catch (HttpStatusCodeException e) {
+            LOGGER.warn("Could not duplicate case {} with the same content, importing the file instead", caseUuid, e);
+        }
+        return null;
+    }
+
+    private static MessageDigest digest(InputStreamSource caseFile) {
+        MessageDigest digest = sha256();
+        try (InputStream content = caseFile.getInputStream()) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = content.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return digest;
+    }
+
+    // the file name is part of the key because the case server detects the format of a case from it
+    private static String getKey(@Nullable String filename, MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest()) + ":" + filename;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -10,6 +10,7 @@ package org.gridsuite.explore.server.services;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -17,6 +18,7 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -29,12 +31,15 @@ public class CaseService implements IDirectoryElementsService {
 
     private static final String DELIMITER = "/";
     private final RestTemplate restTemplate;
+    private final RequestBodyForwarder requestBodyForwarder;
     private String caseServerBaseUri;
 
     public CaseService(@Value("${powsybl.services.case-server.base-uri:http://case-server/}") String studyServerBaseUri,
-                       RestTemplate restTemplate) {
+                       RestTemplate restTemplate,
+                       RequestBodyForwarder requestBodyForwarder) {
         this.caseServerBaseUri = studyServerBaseUri;
         this.restTemplate = restTemplate;
+        this.requestBodyForwarder = requestBodyForwarder;
     }
 
     public void setBaseUri(String actionsServerBaseUri) {
@@ -57,6 +62,14 @@ public class CaseService implements IDirectoryElementsService {
         return caseUuid;
     }
 
+    /**
+     * Imports a case file read from the given stream, which is forwarded to the case server while it is read
+     */
+    UUID importCase(String filename, @Nullable MediaType contentType, InputStream caseFile) {
+        return requestBodyForwarder.forwardMultipartFile(caseServerBaseUri + "/" + CASE_SERVER_API_VERSION + "/cases", "file",
+            filename, contentType, caseFile, UUID.class);
+    }
+
     void persistCase(UUID caseUuid) {
         String path = UriComponentsBuilder.fromPath(DELIMITER + CASE_SERVER_API_VERSION + "/cases/" + caseUuid + "/disableExpiration")
             .buildAndExpand()
@@ -0,0 +1,311 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.services;
+
+import org.gridsuite.explore.server.dto.CaseUploadStatus;
+import org.gridsuite.explore.server.error.ExploreException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.gridsuite.explore.server.error.ExploreBusinessErrorCode.*;
+
+/**
+ * Resumable case uploads: the file is sent as numbered chunks, in any order and possibly concurrently, each one with
+ * its SHA-256 digest. Chunks are written at their position in a local spool file, which is imported once all of them
+ * are received. Upload sessions are kept in memory by the instance which created them, so requests of an upload must be
+ * routed to the same instance; sessions without activity for {@code session-ttl} are dropped with their spool file.
+ * Files are limited to {@code max-file-size}, the multipart limit by default, and a user has at most
+ * {@code max-sessions-per-user} uploads in progress.
+ * Writes of the same chunk are serialized, and no chunk can be written nor the upload deleted while it is being committed.
+ */
+@Service
+public class CaseUploadService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CaseUploadService.class);
+
+    private static final String SPOOL_FILE_SUFFIX = ".upload";
+
+    // RFC 9530 Content-Digest header, only sha-256 is supported
+    private static final Pattern SHA_256_DIGEST = Pattern.compile("sha-256=:([A-Za-z0-9+/=]+):");
+
+    /**
+     * What is needed to import an uploaded case and register it in the directory
+     */
+    public record CaseUpload(String caseName, String description, UUID parentDirectoryUuid, String fileName) { }
+
+    private static final class UploadSession {
+        private final UUID uploadId;
+        private final String userId;
+        private final CaseUpload caseUpload;
+        private final long fileSize;
+        private final int chunkSize;
+        private final int chunkCount;
+        private final Path spoolFile;
+        private final Set<Integer> receivedChunks = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean committing = new AtomicBoolean();
+        private final AtomicInteger chunkWrites = new AtomicInteger();
+        private final Map<Integer, ReentrantLock> chunkLocks = new ConcurrentHashMap<>();
+        private volatile Instant lastActivity = Instant.now();
+
+        private UploadSession(UUID uploadId, String userId, CaseUpload caseUpload, long fileSize, int chunkSize, Path spoolFile) {
+            this.uploadId = uploadId;
+            this.userId = userId;
+            this.caseUpload = caseUpload;
+            this.fileSize = fileSize;
+            this.chunkSize = chunkSize;
+            this.chunkCount = (int) ((fileSize + chunkSize - 1) / chunkSize);
+            this.spoolFile = spoolFile;
+        }
+
+        private long getChunkLength(int index) {
+            return index == chunkCount - 1 ? fileSize - (long) index * chunkSize : chunkSize;
+        }
+
+        private CaseUploadStatus getStatus() {
+            List<Integer> missingChunks = IntStream.range(0, chunkCount).filter(index -> !receivedChunks.contains(index)).boxed().toList();
+            return new CaseUploadStatus(uploadId, fileSize, chunkSize, chunkCount, missingChunks);
+        }
+    }
+
+    private final Map<UUID, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    private final Path spoolDirectory;
+
+    private final int chunkSize;
+
+    private final Duration sessionTtl;
+
+    private final long maxFileSize;
+
+    private final int maxSessionsPerUser;
+
+    public CaseUploadService(@Value("${explore.case-upload.spool-directory:${java.io.tmpdir}/explore-server/case-uploads}") Path spoolDirectory,
+                             @Value("${explore.case-upload.chunk-size:8MB}") DataSize chunkSize,
+                             @Value("${explore.case-upload.session-ttl:PT1H}") Duration sessionTtl,
+                             @Value("${explore.case-upload.max-file-size:${spring.servlet.multipart.max-file-size:1MB}}") DataSize maxFileSize,
+                             @Value("${explore.case-upload.max-sessions-per-user:10}") int maxSessionsPerUser) throws IOException {
+        this.spoolDirectory = spoolDirectory;
+        this.chunkSize = (int) chunkSize.toBytes();
+        this.sessionTtl = sessionTtl;
+        this.maxFileSize = maxFileSize.toBytes();
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        Files.createDirectories(spoolDirectory);
+        // sessions do not survive a restart
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(spoolDirectory, "*" + SPOOL_FILE_SUFFIX)) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        }
+    }
+
+    public CaseUploadStatus createUpload(CaseUpload caseUpload, long fileSize, String userId) {
+        if (fileSize <= 0 || fileSize > (long) Integer.MAX_VALUE * chunkSize) {
+            throw new ExploreException(EXPLORE_UPLOAD_INVALID_CHUNK, "Invalid file size " + fileSize);
+        }
+        if (maxFileSize >= 0 && fileSize > maxFileSize) {
+            throw ExploreException.of(EXPLORE_UPLOAD_TOO_LARGE, "Case file larger than %d bytes", maxFileSize);
+        }
+        UUID uploadId = UUID.randomUUID();
+        Path spoolFile = spoolDirectory.resolve(uploadId + SPOOL_FILE_SUFFIX);
+        UploadSession session = new UploadSession(uploadId, userId, caseUpload, fileSize, chunkSize, spoolFile);
+        // sessions are only counted and added here, concurrent creations of the same user must not both pass the check
+        synchronized (sessions) {
+            if (sessions.values().stream().filter(openSession -> openSession.userId.equals(userId)).count() >= maxSessionsPerUser) {
+                throw ExploreException.of(EXPLORE_MAX_UPLOADS_EXCEEDED, "User %s already has %d uploads in progress", userId, maxSessionsPerUser);
+            }
+            try {
+                Files.createFile(spoolFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            sessions.put(uploadId, session);
+        }
+        return session.getStatus();
+    }
+
+    public CaseUploadStatus getUpload(UUID uploadId, String userId) {
+        return getSession(uploadId, userId).getStatus();
+    }
+
+    public CaseUpload getCaseUpload(UUID uploadId, String userId) {
+        return getSession(uploadId, userId).caseUpload;
+    }
+
+    /**
+     * Writes a chunk at its position in the spool file, it is only counted as received if its length and digest are right
+     */
+    public CaseUploadStatus writeChunk(UUID uploadId, int index, InputStream content, String contentDigest, String userId) {
+        UploadSession session = getSession(uploadId, userId);
+        if (index < 0 || index >= session.chunkCount) {
+            throw new ExploreException(EXPLORE_UPLOAD_INVALID_CHUNK, "Chunk " + index + " out of range", Map.of("chunkCount", session.chunkCount));
+        }
+        Matcher digestMatcher = SHA_256_DIGEST.matcher(contentDigest);
+        if (!digestMatcher.find()) {
+            throw new ExploreException(EXPLORE_UPLOAD_INVALID_CHUNK, "Missing sha-256 chunk digest");
+        }
+        byte[] expectedDigest = Base64.getDecoder().decode(digestMatcher.group(1));
+
+        session.chunkWrites.incrementAndGet();
+        try {
+            // the commit counts the chunk writes after having been marked as committing: one of them always sees the other
+            if (session.committing.get()) {
+                throw new ExploreException(EXPLORE_UPLOAD_INCOMPLETE, "Upload " + uploadId + " is being committed");
+            }
+            ReentrantLock chunkLock = session.chunkLocks.computeIfAbsent(index, i -> new ReentrantLock());
+            chunkLock.lock();
+            try {
+                writeChunkToSpoolFile(session, index, content, expectedDigest);
+            } finally {
+                chunkLock.unlock();
+            }
+        } finally {
+            session.chunkWrites.decrementAndGet();
+        }
+        return session.getStatus();
+    }
+
+    private static void writeChunkToSpoolFile(UploadSession session, int index, InputStream content, byte[] expectedDigest) {
+        session.receivedChunks.remove(index);
+        MessageDigest digest = sha256();
+        long expectedLength = session.getChunkLength(index);
+        long length = 0;
+        try (FileChannel channel = FileChannel.open(session.spoolFile, StandardOpenOption.WRITE)) {
+            long position = (long) index * session.chunkSize;
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = content.read(buffer)) >= 0) {
+                length += read;
+                if (length > expectedLength) {
+                    // never written over the next chunk
+                    break;
+                }
+                digest.update(buffer, 0, read);
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                while (byteBuffer.hasRemaining()) {
+                    position += channel.write(byteBuffer, position);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        session.lastActivity = Instant.now();
+        if (length != expectedLength) {
+            throw new ExploreException(EXPLORE_UPLOAD_INVALID_CHUNK, "Chunk " + index + " has " + length + " bytes instead of " + expectedLength);
+        }
+        if (!MessageDigest.isEqual(expectedDigest, digest.digest())) {
+            throw new ExploreException(EXPLORE_UPLOAD_INVALID_CHUNK, "Chunk " + index + " digest mismatch");
+        }
+        session.receivedChunks.add(index);
+    }
+
+    /**
+     * Gives the complete uploaded file, which can be read several times, to the importer then drops the upload, which is kept if the import fails so that
+     * the commit can be retried
+     */
+    public void commit(UUID uploadId, String userId, BiConsumer<CaseUpload, InputStreamSource> importer) {
+        UploadSession session = getSession(uploadId, userId);
+        if (!session.committing.compareAndSet(false, true)) {
+            throw new ExploreException(EXPLORE_UPLOAD_INCOMPLETE, "Upload " + uploadId + " is already being committed");
+        }
+        if (session.chunkWrites.get() > 0) {
+            session.committing.set(false);
+            throw new ExploreException(EXPLORE_UPLOAD_INCOMPLETE, "Chunks of upload " + uploadId + " are being written");
+        }
+        if (session.receivedChunks.size() != session.chunkCount) {
+            session.committing.set(false);
+            throw new ExploreException(EXPLORE_UPLOAD_INCOMPLETE, "Upload " + uploadId + " is incomplete",
+                Map.of("missingChunks", session.getStatus().missingChunks()));
+        }
+        try {
+            importer.accept(session.caseUpload, new FileSystemResource(session.spoolFile));
+        } catch (RuntimeException e) {
+            session.committing.set(false);
+            session.lastActivity = Instant.now();
+            throw e;
+        }
+        delete(session);
+    }
+
+    public void deleteUpload(UUID uploadId, String userId) {
+        UploadSession session = getSession(uploadId, userId);
+        // marked as committing for good: no commit can start while the spool file is deleted
+        if (!session.committing.compareAndSet(false, true)) {
+            throw new ExploreException(EXPLORE_UPLOAD_INCOMPLETE, "Upload " + uploadId + " is being committed");
+        }
+        delete(session);
+    }
+
+    @Scheduled(fixedDelayString = "${explore.case-upload.cleanup-interval:PT5M}")
+    public void deleteExpiredUploads() {
+        Instant expiration = Instant.now().minus(sessionTtl);
+        sessions.values().stream()
+            .filter(session -> session.lastActivity.isBefore(expiration) && session.committing.compareAndSet(false, true))
+            .forEach(session -> {
+                LOGGER.info("Deleting abandoned case upload {} of user {}", session.uploadId, session.userId);
+                delete(session);
+            });
+    }
+
+    private UploadSession getSession(UUID uploadId, String userId) {
+        UploadSession session = sessions.get(uploadId);
+        // uploads of other users are not disclosed
+        if (session == null || !session.userId.equals(userId)) {
+            throw new ExploreException(EXPLORE_UPLOAD_NOT_FOUND, "Upload " + uploadId + " not found");
+        }
+        return session;
+    }
+
+    private void delete(UploadSession session) {
+        sessions.remove(session.uploadId);
+        try {
+            Files.deleteIfExists(session.spoolFile);
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete the spool file of case upload {}", session.uploadId, e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
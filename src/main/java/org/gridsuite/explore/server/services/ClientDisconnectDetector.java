@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.services;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Detects the clients which disconnect while the body of an asynchronous request is computed, without writing to the
+ * response: the container reports the disconnection (or the timeout) of the request to its async listeners. The computing
+ * thread is then interrupted, which aborts its pending remote call (the JDK HTTP client of the RestTemplate cancels the
+ * exchange of an interrupted thread).
+ * Nothing is written until the computation ends, so a failing computation still sets the status of the response.
+ */
+@Component
+public class ClientDisconnectDetector {
+
+    /**
+     * Runs the computation on the calling thread while listening to the end of the asynchronous request, if the request
+     * is not asynchronous the computation is only run
+     *
+     * @throws IOException when the client disconnected, once the interrupted computation has ended
+     */
+    public <T> T callWhileConnected(HttpServletRequest request, Supplier<T> computation) throws IOException {
+        if (!request.isAsyncStarted()) {
+            return computation.get();
+        }
+        ConnectionListener listener = new ConnectionListener(Thread.currentThread());
+        request.getAsyncContext().addListener(listener);
+        T result = null;
+        RuntimeException failure = null;
+        try {
+            result = computation.get();
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        IOException disconnection = listener.stop();
+        if (disconnection != null) {
+            if (failure != null) {
+                disconnection.addSuppressed(failure);
+            }
+            throw disconnection;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return result;
+    }
+
+    private static final class ConnectionListener implements AsyncListener {
+
+        private final Thread computingThread;
+
+        private boolean stopped;
+
+        private IOException disconnection;
+
+        private ConnectionListener(Thread computingThread) {
+            this.computingThread = computingThread;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            Throwable error = event.getThrowable();
+            disconnect(error instanceof IOException ioException ? ioException : new IOException("Client disconnected", error));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            disconnect(new IOException("Request timed out"));
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // the computation has ended before
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // not dispatched again while computing
+        }
+
+        private synchronized void disconnect(IOException e) {
+            if (stopped || disconnection != null) {
+                return;
+            }
+            disconnection = e;
+            computingThread.interrupt();
+        }
+
+        // called by the computing thread, which is not interrupted after it returns
+        private synchronized IOException stop() {
+            stopped = true;
+            if (disconnection != null) {
+                // the interruption was only meant for the computation
+                Thread.interrupted();
+            }
+            return disconnection;
+        }
+    }
+}
@@ -7,10 +7,10 @@
 package org.gridsuite.explore.server.services;
 
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -30,10 +30,12 @@ public class ContingencyListService implements IDirectoryElementsService {
     private static final String HEADER_USER_ID = "userId";
     private String actionsServerBaseUri;
     private final RestTemplate restTemplate;
+    private final RequestBodyForwarder requestBodyForwarder;
 
-    public ContingencyListService(RestTemplate restTemplate, RemoteServicesProperties remoteServicesProperties) {
+    public ContingencyListService(RestTemplate restTemplate, RequestBodyForwarder requestBodyForwarder, RemoteServicesProperties remoteServicesProperties) {
         this.actionsServerBaseUri = remoteServicesProperties.getServiceUri("actions-server");
         this.restTemplate = restTemplate;
+        this.requestBodyForwarder = requestBodyForwarder;
     }
 
     public void setActionsServerBaseUri(String actionsServerBaseUri) {
@@ -50,24 +52,18 @@ public class ContingencyListService implements IDirectoryElementsService {
         restTemplate.exchange(actionsServerBaseUri + path, HttpMethod.DELETE, new HttpEntity<>(headers), Void.class);
     }
 
-    public void insertIdentifierContingencyList(UUID id, String content) {
+    public void insertIdentifierContingencyList(UUID id, Resource content) {
         String path = UriComponentsBuilder.fromPath(DELIMITER + ACTIONS_API_VERSION + "/identifier-contingency-lists?id={id}")
                 .buildAndExpand(id)
                 .toUriString();
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<String> httpEntity = new HttpEntity<>(content, headers);
-        restTemplate.exchange(actionsServerBaseUri + path, HttpMethod.POST, httpEntity, Void.class);
+        requestBodyForwarder.forwardJson(actionsServerBaseUri + path, HttpMethod.POST, content, Void.class);
     }
 
-    public void insertFilterBasedContingencyList(UUID id, String content) {
+    public void insertFilterBasedContingencyList(UUID id, Resource content) {
         String path = UriComponentsBuilder.fromPath(DELIMITER + ACTIONS_API_VERSION + "/filters-contingency-lists?id={id}")
             .buildAndExpand(id)
             .toUriString();
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<String> httpEntity = new HttpEntity<>(content, headers);
-        restTemplate.exchange(actionsServerBaseUri + path, HttpMethod.POST, httpEntity, Void.class);
+        requestBodyForwarder.forwardJson(actionsServerBaseUri + path, HttpMethod.POST, content, Void.class);
     }
 
     public UUID duplicateIdentifierContingencyList(UUID identifierContingencyListsId) {
@@ -96,21 +92,14 @@ public class ContingencyListService implements IDirectoryElementsService {
                 }).getBody();
     }
 
-    public void updateContingencyList(UUID id, String content, String userId, String element) {
+    public void updateContingencyList(UUID id, Resource content, String userId, String element) {
 
         String path = UriComponentsBuilder.fromPath(DELIMITER + ACTIONS_API_VERSION + element)
                 .buildAndExpand(id)
                 .toUriString();
-        restTemplate.exchange(actionsServerBaseUri + path, HttpMethod.PUT, getHttpEntityWithUserHeader(userId, content), Void.class);
-
-    }
-
-    private HttpEntity<String> getHttpEntityWithUserHeader(String userId, String content) {
-
         HttpHeaders headers = new HttpHeaders();
         headers.set(HEADER_USER_ID, userId);
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        requestBodyForwarder.forwardJson(actionsServerBaseUri + path, HttpMethod.PUT, content, headers, Void.class);
 
-        return new HttpEntity<>(content, headers);
     }
 }
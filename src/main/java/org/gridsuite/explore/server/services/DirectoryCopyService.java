@@ -0,0 +1,278 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.services;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.lang3.EnumUtils;
+import org.gridsuite.explore.server.RestTemplateConfig.RoleHeaderForwardingInterceptor;
+import org.gridsuite.explore.server.dto.DirectoryCopyProgress;
+import org.gridsuite.explore.server.dto.ElementAttributes;
+import org.gridsuite.explore.server.dto.ElementDuplication;
+import org.gridsuite.explore.server.error.ExploreException;
+import org.gridsuite.explore.server.utils.ContingencyListType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.gridsuite.explore.server.error.ExploreBusinessErrorCode.EXPLORE_MAX_ELEMENTS_EXCEEDED;
+import static org.gridsuite.explore.server.services.ExploreService.CASE;
+import static org.gridsuite.explore.server.services.ExploreService.CONTINGENCY_LIST;
+import static org.gridsuite.explore.server.services.ExploreService.DIRECTORY;
+import static org.gridsuite.explore.server.services.ExploreService.STUDY;
+
+/**
+ * Copies a directory with all its content into another directory. The source tree is listed first, each directory
+ * once, then the copies of the directories are created and the other elements are duplicated concurrently. Each server
+ * has its own pool of {@code max-concurrency-per-service} threads, shared by all the copies: a copy never duplicates
+ * more elements at a time on a server, nor takes the threads of the other requests. The progress of the copy is sent
+ * to the user when the elements to duplicate are known, then at most every {@code progress-interval}.
+ * The whole copy is deleted as soon as one element cannot be duplicated.
+ * The studies and cases of a copy are reserved in the cases quota of the user until the copy ends, so that concurrent
+ * copies cannot exceed it together. The reservations are local to this instance.
+ */
+@Service
+public class DirectoryCopyService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectoryCopyService.class);
+
+    static final String DIRECTORY_COPY_PROGRESS = "directoryCopyProgress";
+
+    private record SourceDirectory(ElementAttributes directory, List<SourceDirectory> subdirectories, List<ElementAttributes> elements) { }
+
+    private record Duplication(ElementDuplication element, UUID targetDirectoryUuid) { }
+
+    private final DirectoryService directoryService;
+
+    private final ExploreService exploreService;
+
+    private final UserAdminService userAdminService;
+
+    private final NotificationService notificationService;
+
+    private final int maxConcurrencyPerService;
+
+    private final Duration progressInterval;
+
+    private final Map<IDirectoryElementsService, ExecutorService> duplicationExecutors = new ConcurrentHashMap<>();
+
+    // studies and cases being copied, per user
+    private final Map<String, Long> reservedCases = new ConcurrentHashMap<>();
+
+    public DirectoryCopyService(DirectoryService directoryService,
+                                ExploreService exploreService,
+                                UserAdminService userAdminService,
+                                NotificationService notificationService,
+                                @Value("${explore.directory-copy.max-concurrency-per-service:4}") int maxConcurrencyPerService,
+                                @Value("${explore.directory-copy.progress-interval:PT1S}") Duration progressInterval) {
+        this.directoryService = directoryService;
+        this.exploreService = exploreService;
+        this.userAdminService = userAdminService;
+        this.notificationService = notificationService;
+        this.maxConcurrencyPerService = maxConcurrencyPerService;
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * The copy is given a free name in the target directory. The cases quota of the user must allow all the studies
+     * and cases of the source tree, nothing is copied otherwise.
+     *
+     * @return the uuid of the copy
+     */
+    public UUID copyDirectory(UUID sourceDirectoryUuid, UUID targetDirectoryUuid, String userId) {
+        ElementAttributes sourceDirectory = directoryService.getElementInfos(sourceDirectoryUuid);
+        if (!DIRECTORY.equals(sourceDirectory.getType())) {
+            throw new IllegalArgumentException("Element " + sourceDirectoryUuid + " is not a directory");
+        }
+        SourceDirectory sourceTree = listTree(sourceDirectory, userId);
+        List<ElementAttributes> elements = new ArrayList<>();
+        collectElements(sourceTree, elements);
+        long casesCount = reserveCases(elements, userId);
+        try {
+            resolveContingencyListTypes(elements);
+            return copyTree(sourceTree, targetDirectoryUuid, userId);
+        } finally {
+            releaseCases(userId, casesCount);
+        }
+    }
+
+    private UUID copyTree(SourceDirectory sourceTree, UUID targetDirectoryUuid, String userId) {
+        UUID copyUuid = createDirectory(sourceTree.directory(), targetDirectoryUuid, userId, true);
+        try {
+            List<Duplication> duplications = new ArrayList<>();
+            createSubdirectories(sourceTree, copyUuid, userId, duplications);
+            duplicateElements(duplications, sourceTree.directory().getElementUuid(), copyUuid, userId);
+        } catch (RuntimeException copyException) {
+            try {
+                exploreService.deleteElement(copyUuid, userId);
+            } catch (RuntimeException rollbackException) {
+                copyException.addSuppressed(rollbackException);
+            }
+            throw copyException;
+        }
+        return copyUuid;
+    }
+
+    private SourceDirectory listTree(ElementAttributes directory, String userId) {
+        List<SourceDirectory> subdirectories = new ArrayList<>();
+        List<ElementAttributes> elements = new ArrayList<>();
+        List<ElementAttributes> children = directoryService.getDirectoryElementsList(directory.getElementUuid(), List.of(), userId).stream()
+            .map(directoryService::toElementAttributes)
+            .toList();
+        for (ElementAttributes element : children) {
+            if (DIRECTORY.equals(element.getType())) {
+                subdirectories.add(listTree(element, userId));
+            } else {
+                // an element of unknown type stops the copy before anything is created
+                directoryService.getGenericService(element.getType());
+                elements.add(element);
+            }
+        }
+        return new SourceDirectory(directory, subdirectories, elements);
+    }
+
+    private static void collectElements(SourceDirectory directory, List<ElementAttributes> elements) {
+        elements.addAll(directory.elements());
+        directory.subdirectories().forEach(subdirectory -> collectElements(subdirectory, elements));
+    }
+
+    /**
+     * The cases are reserved before the count of the user is fetched: the cases of a concurrent copy are then either
+     * still reserved or already counted, possibly both in which case the quota is checked too strictly
+     *
+     * @return the number of cases reserved
+     */
+    private long reserveCases(List<ElementAttributes> elements, String userId) {
+        long casesCount = elements.stream().filter(element -> CASE.equals(element.getType()) || STUDY.equals(element.getType())).count();
+        if (casesCount == 0) {
+            return 0;
+        }
+        Integer userMaxAllowedCases = userAdminService.getUserMaxAllowedCases(userId);
+        if (userMaxAllowedCases == null) {
+            return 0;
+        }
+        long userReservedCases = reservedCases.merge(userId, casesCount, Long::sum);
+        try {
+            if (directoryService.getUserCasesCount(userId) + userReservedCases > userMaxAllowedCases) {
+                throw new ExploreException(EXPLORE_MAX_ELEMENTS_EXCEEDED, "max allowed cases reached", Map.of("limit", userMaxAllowedCases));
+            }
+        } catch (RuntimeException e) {
+            releaseCases(userId, casesCount);
+            throw e;
+        }
+        return casesCount;
+    }
+
+    private void releaseCases(String userId, long casesCount) {
+        if (casesCount > 0) {
+            reservedCases.computeIfPresent(userId, (user, userReservedCases) -> userReservedCases > casesCount ? userReservedCases - casesCount : null);
+        }
+    }
+
+    /**
+     * The kind of the contingency lists is only known by the actions server, it is got in one call for all of them
+     */
+    private void resolveContingencyListTypes(List<ElementAttributes> elements) {
+        List<ElementAttributes> contingencyLists = elements.stream().filter(element -> CONTINGENCY_LIST.equals(element.getType())).toList();
+        if (!contingencyLists.isEmpty()) {
+            directoryService.completeElementsMetadata(CONTINGENCY_LIST, contingencyLists);
+        }
+    }
+
+    private UUID createDirectory(ElementAttributes directory, UUID parentDirectoryUuid, String userId, boolean allowNewName) {
+        ElementAttributes elementAttributes = new ElementAttributes(UUID.randomUUID(), directory.getElementName(), DIRECTORY, userId, 0L, directory.getDescription());
+        return directoryService.createElementWithNewName(elementAttributes, parentDirectoryUuid, userId, allowNewName).getElementUuid();
+    }
+
+    private void createSubdirectories(SourceDirectory directory, UUID copyUuid, String userId, List<Duplication> duplications) {
+        directory.elements().forEach(element -> duplications.add(new Duplication(toElementDuplication(element), copyUuid)));
+        for (SourceDirectory subdirectory : directory.subdirectories()) {
+            createSubdirectories(subdirectory, createDirectory(subdirectory.directory(), copyUuid, userId, false), userId, duplications);
+        }
+    }
+
+    private static ElementDuplication toElementDuplication(ElementAttributes element) {
+        ContingencyListType contingencyListType = null;
+        if (CONTINGENCY_LIST.equals(element.getType()) && element.getSpecificMetadata() != null) {
+            contingencyListType = EnumUtils.getEnum(ContingencyListType.class, Objects.toString(element.getSpecificMetadata().get("type"), null));
+        }
+        return new ElementDuplication(element.getElementUuid(), element.getType(), contingencyListType);
+    }
+
+    /**
+     * The elements are duplicated by the pool of their server, the duplications not started yet are skipped once one
+     * has failed
+     */
+    private void duplicateElements(List<Duplication> duplications, UUID sourceDirectoryUuid, UUID copyUuid, String userId) {
+        int totalCount = duplications.size();
+        AtomicInteger copiedCount = new AtomicInteger();
+        AtomicLong nextProgress = new AtomicLong(System.nanoTime() + progressInterval.toNanos());
+        AtomicBoolean failed = new AtomicBoolean();
+        String roles = RoleHeaderForwardingInterceptor.getRolesHeader();
+        notificationService.emitUserMessage(userId, DIRECTORY_COPY_PROGRESS, new DirectoryCopyProgress(sourceDirectoryUuid, copyUuid, 0, totalCount));
+
+        List<CompletableFuture<Void>> duplicationTasks = new ArrayList<>();
+        for (Duplication duplication : duplications) {
+            ExecutorService executor = getDuplicationExecutor(directoryService.getGenericService(duplication.element().type()));
+            duplicationTasks.add(CompletableFuture.runAsync(RoleHeaderForwardingInterceptor.withRolesHeader(roles, () -> {
+                if (failed.get()) {
+                    return;
+                }
+                try {
+                    exploreService.duplicateElement(duplication.element(), duplication.targetDirectoryUuid(), userId);
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Could not duplicate element {} of directory {}", duplication.element().elementUuid(), sourceDirectoryUuid, e);
+                    failed.set(true);
+                    throw e;
+                }
+                int count = copiedCount.incrementAndGet();
+                long progressDate = nextProgress.get();
+                if (count < totalCount && System.nanoTime() - progressDate >= 0
+                    && nextProgress.compareAndSet(progressDate, System.nanoTime() + progressInterval.toNanos())) {
+                    notificationService.emitUserMessage(userId, DIRECTORY_COPY_PROGRESS, new DirectoryCopyProgress(sourceDirectoryUuid, copyUuid, count, totalCount));
+                }
+            }), executor));
+        }
+        // all the duplications are waited for, so that the rollback sees every duplicate
+        try {
+            CompletableFuture.allOf(duplicationTasks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        notificationService.emitUserMessage(userId, DIRECTORY_COPY_PROGRESS, new DirectoryCopyProgress(sourceDirectoryUuid, copyUuid, totalCount, totalCount));
+    }
+
+    private ExecutorService getDuplicationExecutor(IDirectoryElementsService service) {
+        return duplicationExecutors.computeIfAbsent(service, s -> {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newFixedThreadPool(maxConcurrencyPerService, runnable -> {
+                Thread thread = new Thread(runnable, "directory-copy-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        duplicationExecutors.values().forEach(ExecutorService::shutdownNow);
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Sorted directory listings of each user (the directory server only returns the elements a user can read), kept for
+ * {@code ttl} so that paging through a listing with a cursor downloads it once instead of once per page.
+ * Listings of more than {@code max-elements} elements are not kept, their pages are each read from the directory server.
+ * On a directory update event, the listings of the user who made the update, the listings of that directory and all the
+ * recursive listings are dropped. At most {@code max-size} listings are kept.
+ */
+@Service
+public class DirectoryListingCache {
+
+    private record Key(String userId, UUID directoryUuid, List<String> types, boolean recursive) { }
+
+    private record CachedListing(List<JsonNode> elements, Instant expiration) { }
+
+    private final boolean enabled;
+
+    private final Duration ttl;
+
+    private final int maxElements;
+
+    private final Map<Key, CachedListing> listings;
+
+    public DirectoryListingCache(@Value("${explore.listing-cache.enabled:true}") boolean enabled,
+                                 @Value("${explore.listing-cache.ttl:PT1M}") Duration ttl,
+                                 @Value("${explore.listing-cache.max-elements:100000}") int maxElements,
+                                 @Value("${explore.listing-cache.max-size:100}") int maxSize) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.maxElements = maxElements;
+        this.listings = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedListing> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * The maximum number of elements of a kept listing, 0 when listings are not kept
+     */
+    public int getMaxElements() {
+        return enabled ? maxElements : 0;
+    }
+
+    @Nullable
+    public List<JsonNode> get(String userId, UUID directoryUuid, List<String> types, boolean recursive) {
+        if (!enabled) {
+            return null;
+        }
+        CachedListing listing = listings.get(new Key(userId, directoryUuid, types, recursive));
+        return listing != null && Instant.now().isBefore(listing.expiration()) ? listing.elements() : null;
+    }
+
+    /**
+     * @param elements the listing, sorted by element uuid
+     */
+    public void put(String userId, UUID directoryUuid, List<String> types, boolean recursive, List<JsonNode> elements) {
+        if (enabled && elements.size() <= maxElements) {
+            listings.put(new Key(userId, directoryUuid, List.copyOf(types), recursive),
+                new CachedListing(Collections.unmodifiableList(elements), Instant.now().plus(ttl)));
+        }
+    }
+
+    public void onDirectoryUpdate(Message<?> message) {
+        Object directoryUuid = message.getHeaders().get(DirectoryTreeReplica.HEADER_DIRECTORY_UUID);
+        if (directoryUuid == null) {
+            // not about a directory content (user messages for instance)
+            return;
+        }
+        Object userId = message.getHeaders().get(NotificationService.HEADER_USER_ID);
+        invalidate(userId != null ? userId.toString() : null, UUID.fromString(directoryUuid.toString()));
+    }
+
+    /**
+     * Drops the listings of the user who updated the directory, the listings of the directory, and the recursive
+     * listings, which may contain it
+     */
+    public void invalidate(@Nullable String userId, UUID directoryUuid) {
+        synchronized (listings) {
+            listings.keySet().removeIf(key -> key.userId().equals(userId) || key.recursive() || key.directoryUuid().equals(directoryUuid));
+        }
+    }
+
+    public void clear() {
+        listings.clear();
+    }
+}
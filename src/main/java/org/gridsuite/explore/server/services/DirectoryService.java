@@ -6,17 +6,33 @@
  */
 package org.gridsuite.explore.server.services;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.gridsuite.explore.server.dto.DirectoryElementsPage;
 import org.gridsuite.explore.server.dto.ElementAttributes;
 import org.gridsuite.explore.server.dto.PermissionDTO;
 import org.gridsuite.explore.server.dto.PermissionType;
 import org.gridsuite.explore.server.utils.ParametersType;
+import org.gridsuite.explore.server.utils.ProxyResponseExtractor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -29,6 +45,8 @@ import static org.gridsuite.explore.server.services.ExploreService.*;
 @Service
 public class DirectoryService implements IDirectoryElementsService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectoryService.class);
+
     private static final String DIRECTORY_SERVER_API_VERSION = "v1";
 
     private static final String DELIMITER = "/";
@@ -54,18 +72,38 @@ public class DirectoryService implements IDirectoryElementsService {
     private static final String PARAM_TYPE = "type";
     private static final String PARAM_DIRECTORY_UUID = "directoryUuid";
     private static final String PARAM_USER_INPUT = "userInput";
+    private static final String PARAM_LIMIT = "limit";
+
+    public static final int MAX_PAGE_SIZE = 1000;
 
     private final Map<String, IDirectoryElementsService> genericServices;
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final DirectoryTreeReplica directoryTreeReplica;
+    private final UserCasesCounters userCasesCounters;
+    private final ElementNameCache elementNameCache;
+    private final ElementSearchCache elementSearchCache;
+    private final DirectoryListingCache directoryListingCache;
+    private final ClientDisconnectDetector clientDisconnectDetector;
     private String directoryServerBaseUri;
 
     public DirectoryService(
         FilterService filterService, ContingencyListService contingencyListService, StudyService studyService, NetworkModificationService networkModificationService,
         CaseService caseService, SpreadsheetConfigService spreadsheetConfigService, SpreadsheetConfigCollectionService spreadsheetConfigCollectionService, ParametersService parametersService,
         SingleLineDiagramService singleLineDiagramService, WorkspaceService workspaceService, MonitorService monitorService, DynamicMappingService dynamicMappingService, RestTemplate restTemplate,
-                RemoteServicesProperties remoteServicesProperties) {
+                RemoteServicesProperties remoteServicesProperties, ObjectMapper objectMapper, DirectoryTreeReplica directoryTreeReplica,
+                UserCasesCounters userCasesCounters, ElementNameCache elementNameCache,
+                ElementSearchCache elementSearchCache, DirectoryListingCache directoryListingCache,
+                ClientDisconnectDetector clientDisconnectDetector) {
         this.directoryServerBaseUri = remoteServicesProperties.getServiceUri("directory-server");
         this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.directoryTreeReplica = directoryTreeReplica;
+        this.userCasesCounters = userCasesCounters;
+        this.elementNameCache = elementNameCache;
+        this.elementSearchCache = elementSearchCache;
+        this.directoryListingCache = directoryListingCache;
+        this.clientDisconnectDetector = clientDisconnectDetector;
         this.genericServices = Map.ofEntries(
             Map.entry(FILTER, filterService),
             Map.entry(CONTINGENCY_LIST, contingencyListService),
@@ -93,17 +131,27 @@ public class DirectoryService implements IDirectoryElementsService {
         this.directoryServerBaseUri = directoryServerBaseUri;
     }
 
-    public String getRootDirectories(List<String> types, String userId) {
-        String path = UriComponentsBuilder
+    public void streamRootDirectories(List<String> types, String userId, HttpServletResponse response) throws IOException {
+        // listings filtered by types are left to the directory server, see DirectoryTreeReplica
+        if (directoryTreeReplica.isEnabled() && types.isEmpty()) {
+            byte[] rootDirectories = directoryTreeReplica.getRootDirectories(userId).orElse(null);
+            if (rootDirectories == null) {
+                long generation = directoryTreeReplica.getGeneration();
+                List<JsonNode> elements = getElements(directoryServerBaseUri + getRootDirectoriesPath(List.of()), userId);
+                directoryTreeReplica.recordRootDirectories(userId, elements, generation);
+                rootDirectories = objectMapper.writeValueAsBytes(elements);
+            }
+            writeJson(rootDirectories, response);
+            return;
+        }
+        streamGet(directoryServerBaseUri + getRootDirectoriesPath(types), userId, response);
+    }
+
+    private static String getRootDirectoriesPath(List<String> types) {
+        return UriComponentsBuilder
             .fromPath(DIRECTORIES_SERVER_ROOT_PATH + "/root-directories")
             .queryParam(PARAM_ELEMENT_TYPES, types)
             .toUriString();
-        HttpHeaders headers = new HttpHeaders();
-        headers.add(HEADER_USER_ID, userId);
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        return restTemplate
-            .exchange(directoryServerBaseUri + path, HttpMethod.GET, new HttpEntity<>(headers), String.class)
-            .getBody();
     }
 
     public String createRootDirectory(String rootDirectoryAttributes, String userId) {
@@ -119,37 +167,154 @@ public class DirectoryService implements IDirectoryElementsService {
             .getBody();
     }
 
-    public String getDirectoryElements(UUID directoryUuid, List<String> types, boolean recursive, String userId) {
-        String path = UriComponentsBuilder
+    public void streamDirectoryElements(UUID directoryUuid, List<String> types, boolean recursive, String userId, HttpServletResponse response) throws IOException {
+        if (directoryTreeReplica.isEnabled() && !recursive && types.isEmpty()) {
+            byte[] elements = directoryTreeReplica.getDirectoryElements(directoryUuid, userId).orElse(null);
+            if (elements == null) {
+                long generation = directoryTreeReplica.getGeneration();
+                List<JsonNode> allElements = getElements(directoryServerBaseUri + getDirectoryElementsPath(directoryUuid, List.of(), false), userId);
+                directoryTreeReplica.recordDirectoryElements(directoryUuid, userId, allElements, generation);
+                elements = objectMapper.writeValueAsBytes(allElements);
+            }
+            writeJson(elements, response);
+            return;
+        }
+        streamGet(directoryServerBaseUri + getDirectoryElementsPath(directoryUuid, types, recursive), userId, response);
+    }
+
+    /**
+     * Same listing as {@link #streamDirectoryElements} (not recursive), read by explore-server itself
+     */
+    public List<JsonNode> getDirectoryElementsList(UUID directoryUuid, List<String> types, String userId) {
+        if (directoryTreeReplica.isEnabled() && types.isEmpty()) {
+            Optional<byte[]> elements = directoryTreeReplica.getDirectoryElements(directoryUuid, userId);
+            if (elements.isPresent()) {
+                try {
+                    return objectMapper.readerForListOf(JsonNode.class).readValue(elements.get());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            long generation = directoryTreeReplica.getGeneration();
+            List<JsonNode> allElements = getElements(directoryServerBaseUri + getDirectoryElementsPath(directoryUuid, List.of(), false), userId);
+            directoryTreeReplica.recordDirectoryElements(directoryUuid, userId, allElements, generation);
+            return allElements;
+        }
+        return getElements(directoryServerBaseUri + getDirectoryElementsPath(directoryUuid, types, false), userId);
+    }
+
+    public ElementAttributes toElementAttributes(JsonNode element) {
+        return objectMapper.convertValue(element, ElementAttributes.class);
+    }
+
+    private static String getDirectoryElementsPath(UUID directoryUuid, List<String> types, boolean recursive) {
+        return UriComponentsBuilder
             .fromPath(DIRECTORIES_SERVER_DIRECTORIES_ROOT_PATH + "/{directoryUuid}/elements")
             .queryParam(PARAM_ELEMENT_TYPES, types)
             .queryParam(PARAM_RECURSIVE, recursive)
             .buildAndExpand(directoryUuid)
             .toUriString();
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.add(HEADER_USER_ID, userId);
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        return restTemplate
-            .exchange(directoryServerBaseUri + path, HttpMethod.GET, new HttpEntity<>(headers), String.class)
-            .getBody();
+    /**
+     * Returns at most {@code limit} elements of the listing, ordered by element uuid, starting after {@code cursor}.
+     * The sorted listing is kept by the {@link DirectoryListingCache}, so that the next pages are not downloaded again.
+     * The directory server listing is read as a stream: when it is too long to be kept, only the {@code limit + 1}
+     * smallest uuids after the cursor are retained, so memory stays bounded by the page size whatever the size of the
+     * (possibly recursive) listing.
+     */
+    public DirectoryElementsPage getDirectoryElementsPage(UUID directoryUuid, List<String> types, boolean recursive,
+                                                         @Nullable String cursor, int limit, String userId) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<JsonNode> listing = directoryListingCache.get(userId, directoryUuid, types, recursive);
+        if (listing != null) {
+            return getPage(listing, cursor, pageSize);
+        }
+
+        int maxListingSize = directoryListingCache.getMaxElements();
+        Comparator<JsonNode> byUuid = Comparator.comparing(DirectoryService::getElementUuid);
+        // max-heap: the largest uuid is evicted as soon as more than pageSize + 1 elements are retained
+        PriorityQueue<JsonNode> retained = new PriorityQueue<>(pageSize + 2, byUuid.reversed());
+        List<JsonNode> allElements = restTemplate.execute(directoryServerBaseUri + getDirectoryElementsPath(directoryUuid, types, recursive), HttpMethod.GET,
+            restTemplate.httpEntityCallback(new HttpEntity<>(getJsonHeaders(userId))), response -> {
+                List<JsonNode> elements = maxListingSize > 0 ? new ArrayList<>() : null;
+                try (JsonParser parser = objectMapper.createParser(response.getBody())) {
+                    if (parser.nextToken() != JsonToken.START_ARRAY) {
+                        return elements;
+                    }
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        JsonNode element = parser.readValueAsTree();
+                        if (elements != null) {
+                            elements.add(element);
+                            if (elements.size() > maxListingSize) {
+                                elements = null;
+                            }
+                        }
+                        if (cursor == null || getElementUuid(element).compareTo(cursor) > 0) {
+                            retained.offer(element);
+                            if (retained.size() > pageSize + 1) {
+                                retained.poll();
+                            }
+                        }
+                    }
+                }
+                return elements;
+            });
+        if (allElements != null) {
+            allElements.sort(byUuid);
+            directoryListingCache.put(userId, directoryUuid, types, recursive, allElements);
+            return getPage(allElements, cursor, pageSize);
+        }
+
+        List<JsonNode> elements = new ArrayList<>(retained);
+        elements.sort(byUuid);
+        return getPage(elements, null, pageSize);
     }
 
-    public String getPath(UUID elementUuid, String userId) {
-        String path = UriComponentsBuilder
+    private static DirectoryElementsPage getPage(List<JsonNode> sortedElements, @Nullable String cursor, int pageSize) {
+        // binary search of the first element after the cursor
+        int from = 0;
+        int to = sortedElements.size();
+        while (cursor != null && from < to) {
+            int middle = (from + to) >>> 1;
+            if (getElementUuid(sortedElements.get(middle)).compareTo(cursor) > 0) {
+                to = middle;
+            } else {
+                from = middle + 1;
+            }
+        }
+        int end = Math.min(from + pageSize, sortedElements.size());
+        List<JsonNode> page = List.copyOf(sortedElements.subList(from, end));
+        return new DirectoryElementsPage(page, end < sortedElements.size() ? getElementUuid(page.get(page.size() - 1)) : null);
+    }
+
+    private static String getElementUuid(JsonNode element) {
+        return element.path("elementUuid").asText();
+    }
+
+    public void streamPath(UUID elementUuid, String userId, HttpServletResponse response) throws IOException {
+        Optional<byte[]> path = directoryTreeReplica.isEnabled() ? directoryTreeReplica.getPath(elementUuid, userId) : Optional.empty();
+        if (path.isPresent()) {
+            writeJson(path.get(), response);
+            return;
+        }
+        streamGet(directoryServerBaseUri + getElementPathPath(elementUuid), userId, response);
+    }
+
+    private static String getElementPathPath(UUID elementUuid) {
+        return UriComponentsBuilder
             .fromPath(DIRECTORIES_SERVER_ROOT_PATH + "/elements/{elementUuid}/path")
             .buildAndExpand(elementUuid)
             .toUriString();
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.add(HEADER_USER_ID, userId);
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        return restTemplate
-            .exchange(directoryServerBaseUri + path, HttpMethod.GET, new HttpEntity<>(headers), String.class)
-            .getBody();
     }
 
     public HttpStatusCode elementExists(UUID directoryUuid, String elementName, String type, String userId) {
+        if (directoryTreeReplica.isEnabled()) {
+            Optional<Boolean> exists = directoryTreeReplica.elementExists(directoryUuid, elementName, type, userId);
+            if (exists.isPresent()) {
+                return exists.get() ? HttpStatus.OK : HttpStatus.NO_CONTENT;
+            }
+        }
         String path = UriComponentsBuilder
             .fromPath(DIRECTORIES_SERVER_DIRECTORIES_ROOT_PATH + "/{directoryUuid}/elements/{elementName}/types/{type}")
             .buildAndExpand(directoryUuid, elementName, type)
@@ -178,33 +343,92 @@ public class DirectoryService implements IDirectoryElementsService {
     }
 
     public String getNameCandidate(UUID directoryUuid, String elementName, String type, String userId) {
-        String path = UriComponentsBuilder
+        return restTemplate
+            .exchange(directoryServerBaseUri + getNameCandidatePath(directoryUuid, elementName, type), HttpMethod.GET, new HttpEntity<>(getJsonHeaders(userId)), String.class)
+            .getBody();
+    }
+
+    public void streamNameCandidate(UUID directoryUuid, String elementName, String type, String userId, HttpServletResponse response) {
+        streamGet(directoryServerBaseUri + getNameCandidatePath(directoryUuid, elementName, type), userId, response);
+    }
+
+    private static String getNameCandidatePath(UUID directoryUuid, String elementName, String type) {
+        return UriComponentsBuilder
             .fromPath(DIRECTORIES_SERVER_DIRECTORIES_ROOT_PATH + "/{directoryUuid}/{elementName}/newNameCandidate")
             .queryParam(PARAM_TYPE, type)
             .buildAndExpand(directoryUuid, elementName)
             .toUriString();
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.add(HEADER_USER_ID, userId);
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        return restTemplate
-            .exchange(directoryServerBaseUri + path, HttpMethod.GET, new HttpEntity<>(headers), String.class)
-            .getBody();
+    /**
+     * Writes the search results to the given stream, see {@link ElementSearchCache}. The directory server call is aborted
+     * when the client of the request disconnects, see {@link ClientDisconnectDetector}: type-ahead clients abandon their
+     * previous searches.
+     */
+    public void searchElements(String userInput, String directoryUuid, String userId, HttpServletRequest request, OutputStream outputStream) throws IOException {
+        List<JsonNode> elements = clientDisconnectDetector.callWhileConnected(request, () -> elementSearchCache.search(userId, directoryUuid, userInput,
+            limit -> getElements(getSearchElementsUri(userInput, directoryUuid, limit), userId)));
+        outputStream.write(objectMapper.writeValueAsBytes(elements));
     }
 
-    public String searchElements(String userInput, String directoryUuid, String userId) {
-        URI uri = UriComponentsBuilder
+    private URI getSearchElementsUri(String userInput, String directoryUuid, int limit) {
+        return UriComponentsBuilder
             .fromUriString(directoryServerBaseUri + DIRECTORIES_SERVER_ROOT_PATH + "/elements/indexation-infos")
             .queryParam(PARAM_DIRECTORY_UUID, "{directoryUuid}")
             .queryParam(PARAM_USER_INPUT, "{userInput}")
+            .queryParam(PARAM_LIMIT, limit)
             .build(directoryUuid, userInput);
+    }
 
+    private static HttpHeaders getJsonHeaders(String userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.add(HEADER_USER_ID, userId);
         headers.setContentType(MediaType.APPLICATION_JSON);
-        return restTemplate
-            .exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), String.class)
-            .getBody();
+        return headers;
+    }
+
+    private List<JsonNode> getElements(String url, String userId) {
+        return Objects.requireNonNullElse(restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(getJsonHeaders(userId)),
+            new ParameterizedTypeReference<List<JsonNode>>() {
+            }).getBody(), List.of());
+    }
+
+    private List<JsonNode> getElements(URI uri, String userId) {
+        return Objects.requireNonNullElse(restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(getJsonHeaders(userId)),
+            new ParameterizedTypeReference<List<JsonNode>>() {
+            }).getBody(), List.of());
+    }
+
+    private static void writeJson(byte[] json, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(json.length);
+        response.getOutputStream().write(json);
+    }
+
+    /**
+     * Compares a sample of the listings of the directory tree replica with the directory server, listings that differ are dropped
+     */
+    public void verifyDirectoryTreeReplica() {
+        for (DirectoryTreeReplica.ListingKey key : directoryTreeReplica.getListingKeysToVerify()) {
+            String path = key.directoryUuid() == null
+                ? getRootDirectoriesPath(List.of())
+                : getDirectoryElementsPath(key.directoryUuid(), List.of(), false);
+            try {
+                if (!directoryTreeReplica.verify(key, getElements(directoryServerBaseUri + path, key.userId()))) {
+                    LOGGER.debug("Directory replica listing {} was stale", key);
+                }
+            } catch (RestClientException e) {
+                LOGGER.debug("Directory replica listing {} could not be verified", key, e);
+                directoryTreeReplica.invalidate(key.directoryUuid());
+            }
+        }
+    }
+
+    // copies the directory server response to the client without buffering it
+    private void streamGet(String url, String userId, HttpServletResponse response) {
+        restTemplate.execute(url, HttpMethod.GET, restTemplate.httpEntityCallback(new HttpEntity<>(getJsonHeaders(userId))),
+            new ProxyResponseExtractor(response));
     }
 
     public ElementAttributes createElement(ElementAttributes elementAttributes, UUID directoryUuid, String userId) {
@@ -263,6 +487,7 @@ public class DirectoryService implements IDirectoryElementsService {
         HttpHeaders headers = new HttpHeaders();
         headers.add(HEADER_USER_ID, userId);
         restTemplate.exchange(directoryServerBaseUri + path, HttpMethod.DELETE, new HttpEntity<>(headers), Void.class);
+        elementUuids.forEach(elementNameCache::evict);
     }
 
     public ElementAttributes getElementInfos(UUID elementUuid) {
@@ -290,7 +515,38 @@ public class DirectoryService implements IDirectoryElementsService {
         return Objects.requireNonNullElse(elementAttributesList, Collections.emptyList());
     }
 
+    /**
+     * Keeps the elements of the given type, the types already known by the directory tree replica are not fetched again
+     */
+    public List<UUID> getElementsOfType(List<UUID> elementsUuids, String elementType, String userId) {
+        List<UUID> elementsOfType = new ArrayList<>();
+        List<UUID> unknownElementsUuids = new ArrayList<>();
+        for (UUID elementUuid : elementsUuids) {
+            Optional<String> type = directoryTreeReplica.isEnabled() ? directoryTreeReplica.getType(elementUuid) : Optional.empty();
+            if (type.isEmpty()) {
+                unknownElementsUuids.add(elementUuid);
+            } else if (type.get().equals(elementType)) {
+                elementsOfType.add(elementUuid);
+            }
+        }
+        if (!unknownElementsUuids.isEmpty()) {
+            getElementsInfos(unknownElementsUuids, null, userId).stream()
+                .filter(element -> elementType.equals(element.getType()))
+                .forEach(element -> elementsOfType.add(element.getElementUuid()));
+        }
+        return elementsOfType;
+    }
+
     public int getUserCasesCount(String userId) {
+        return userCasesCounters.get(userId, this::fetchUserCasesCount);
+    }
+
+    @Scheduled(fixedDelayString = "${explore.user-cases-counters.reconciliation-interval:PT10M}")
+    public void reconcileUserCasesCounts() {
+        userCasesCounters.reconcile(this::fetchUserCasesCount);
+    }
+
+    private int fetchUserCasesCount(String userId) {
         String path = UriComponentsBuilder
             .fromPath(DELIMITER + DIRECTORY_SERVER_API_VERSION + DELIMITER + "users/{userId}/cases/count")
             .buildAndExpand(userId)
@@ -328,9 +584,13 @@ public class DirectoryService implements IDirectoryElementsService {
         ElementAttributes elementAttribute = getElementInfos(id);
         IDirectoryElementsService service = getGenericService(elementAttribute.getType());
         service.delete(elementAttribute.getElementUuid(), userId);
+        elementNameCache.evict(id);
+        if (CASE.equals(elementAttribute.getType()) || STUDY.equals(elementAttribute.getType())) {
+            userCasesCounters.decrement(elementAttribute.getOwner());
+        }
     }
 
-    private IDirectoryElementsService getGenericService(String type) {
+    IDirectoryElementsService getGenericService(String type) {
         IDirectoryElementsService iDirectoryElementsService = genericServices.get(type);
         if (iDirectoryElementsService == null) {
             throw new IllegalArgumentException("Unknown element type " + type);
@@ -345,26 +605,38 @@ public class DirectoryService implements IDirectoryElementsService {
             .collect(Collectors.groupingBy(ElementAttributes::getType));
         List<ElementAttributes> listOfElements = new ArrayList<>();
         for (Map.Entry<String, List<ElementAttributes>> elementAttribute : elementAttributesListByType.entrySet()) {
-            IDirectoryElementsService service = getGenericService(elementAttribute.getKey());
-            listOfElements.addAll(service.completeElementAttribute(elementAttribute.getValue()));
+            listOfElements.addAll(completeElementsMetadata(elementAttribute.getKey(), elementAttribute.getValue()));
         }
+        return filterByEquipmentTypes(listOfElements, equipmentTypes);
+    }
 
-        if (!CollectionUtils.isEmpty(equipmentTypes) && !listOfElements.isEmpty()) {
-            listOfElements = listOfElements.stream()
-                .filter(element -> {
-                    Object equipmentType = element.getSpecificMetadata().get("equipmentType");
-                    if (equipmentType != null) { // could be null for some elements
-                        return equipmentTypes.contains(equipmentType);
-                    }
-                    return true; // keep other elements
-                })
-                .collect(Collectors.toList());
-        }
+    /**
+     * Adds the specific metadata of elements of the same type, as returned by the server of this type
+     */
+    public List<ElementAttributes> completeElementsMetadata(String type, List<ElementAttributes> elements) {
+        return getGenericService(type).completeElementAttribute(elements);
+    }
 
-        return listOfElements;
+    public static List<ElementAttributes> filterByEquipmentTypes(List<ElementAttributes> elements, List<String> equipmentTypes) {
+        if (CollectionUtils.isEmpty(equipmentTypes) || elements.isEmpty()) {
+            return elements;
+        }
+        return elements.stream()
+            .filter(element -> {
+                Object equipmentType = element.getSpecificMetadata().get("equipmentType");
+                if (equipmentType != null) { // could be null for some elements
+                    return equipmentTypes.contains(equipmentType);
+                }
+                return true; // keep other elements
+            })
+            .collect(Collectors.toList());
     }
 
     public Map<UUID, String> getElementsName(List<UUID> ids) {
+        return elementNameCache.getNames(ids, this::fetchElementsName);
+    }
+
+    private Map<UUID, String> fetchElementsName(List<UUID> ids) {
         String path = UriComponentsBuilder
             .fromPath("/v1/elements/names")
             .queryParam(PARAM_IDS, ids)
@@ -390,6 +662,7 @@ public class DirectoryService implements IDirectoryElementsService {
 
         HttpEntity<ElementAttributes> httpEntity = new HttpEntity<>(elementAttributes, headers);
         restTemplate.exchange(directoryServerBaseUri + path, HttpMethod.PUT, httpEntity, Void.class);
+        elementNameCache.evict(elementUuid);
     }
 
     // TODO get id/type recursively then do batch delete
@@ -0,0 +1,278 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import static org.gridsuite.explore.server.services.ExploreService.DIRECTORY;
+
+/**
+ * Optional in-process replica of the directory tree, used to answer navigation reads without calling the directory server.
+ * Nodes (uuid, parent and type) are shared by all users, while the children a user is allowed to see are kept per user
+ * and directory with their attributes, exactly as the directory server returned them to that user: that is how permission
+ * filtering is applied locally, and no attribute computed for a user is ever served to another one.
+ * At most {@code max-nodes} nodes and {@code max-listings} listings are kept, the least recently read ones are dropped first.
+ * The replica is filled lazily by the listings fetched from the directory server and entries are dropped on directory update
+ * events; a listing fetched while an event was being processed is not recorded.
+ * Only full listings are kept: a listing filtered by types is computed by the directory server (sub directories counts
+ * included) and is never answered from the replica.
+ */
+@Service
+public class DirectoryTreeReplica {
+
+    static final String HEADER_DIRECTORY_UUID = "directoryUuid";
+    static final String HEADER_IS_ROOT_DIRECTORY = "isRootDirectory";
+
+    private record Node(UUID uuid, @Nullable UUID parentUuid, String type) { }
+
+    private record Child(UUID uuid, String name, String type, byte[] attributes) { }
+
+    /**
+     * Children of a directory (or root directories when {@code directoryUuid} is null) visible by a user
+     */
+    public record ListingKey(String userId, @Nullable UUID directoryUuid) { }
+
+    // children in the directory server order
+    private record Listing(Map<UUID, Child> children, long checksum) { }
+
+    private final boolean enabled;
+
+    private final int verificationSampleSize;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<UUID, Node> nodes;
+
+    private final Map<ListingKey, Listing> listings;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public DirectoryTreeReplica(@Value("${explore.directory-replica.enabled:false}") boolean enabled,
+                                @Value("${explore.directory-replica.max-nodes:200000}") int maxNodes,
+                                @Value("${explore.directory-replica.max-listings:20000}") int maxListings,
+                                @Value("${explore.directory-replica.verification-sample-size:200}") int verificationSampleSize,
+                                ObjectMapper objectMapper) {
+        this.enabled = enabled;
+        this.verificationSampleSize = verificationSampleSize;
+        this.objectMapper = objectMapper;
+        this.nodes = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Node> eldest) {
+                return size() > maxNodes;
+            }
+        });
+        this.listings = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ListingKey, Listing> eldest) {
+                return size() > maxListings;
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * To be read before fetching a listing and given back to {@link #recordListing}
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public Optional<byte[]> getRootDirectories(String userId) {
+        return getListing(new ListingKey(userId, null));
+    }
+
+    public Optional<byte[]> getDirectoryElements(UUID directoryUuid, String userId) {
+        return getListing(new ListingKey(userId, directoryUuid));
+    }
+
+    /**
+     * Element first, then its parents up to the root directory, provided the user has been seen listing each of them
+     */
+    public Optional<byte[]> getPath(UUID elementUuid, String userId) {
+        List<Child> path = new ArrayList<>();
+        Node node = nodes.get(elementUuid);
+        while (node != null) {
+            Listing parentListing = listings.get(new ListingKey(userId, node.parentUuid()));
+            Child child = parentListing != null ? parentListing.children().get(node.uuid()) : null;
+            if (child == null || path.size() > nodes.size()) {
+                return Optional.empty();
+            }
+            path.add(child);
+            if (node.parentUuid() == null) {
+                return Optional.of(toJsonArray(path));
+            }
+            node = nodes.get(node.parentUuid());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Only answered from a listing of the directory by the same user, so that nothing is learnt about a directory the user
+     * cannot read. A match is always conclusive. A miss is conclusive only for non directory elements, because all of them
+     * are visible to whoever can read the directory while sub directories may be hidden.
+     */
+    public Optional<Boolean> elementExists(UUID directoryUuid, String elementName, String type, String userId) {
+        Listing listing = listings.get(new ListingKey(userId, directoryUuid));
+        if (listing == null) {
+            return Optional.empty();
+        }
+        boolean exists = listing.children().values().stream()
+            .anyMatch(child -> child.name().equals(elementName) && child.type().equals(type));
+        return exists || !DIRECTORY.equals(type) ? Optional.of(exists) : Optional.empty();
+    }
+
+    /**
+     * Types never change, so a type is known as soon as the element has been listed once, whoever listed it
+     */
+    public Optional<String> getType(UUID elementUuid) {
+        return Optional.ofNullable(nodes.get(elementUuid)).map(Node::type);
+    }
+
+    public void recordRootDirectories(String userId, List<JsonNode> rootDirectories, long fetchGeneration) {
+        recordListing(new ListingKey(userId, null), rootDirectories, fetchGeneration);
+    }
+
+    public void recordDirectoryElements(UUID directoryUuid, String userId, List<JsonNode> elements, long fetchGeneration) {
+        recordListing(new ListingKey(userId, directoryUuid), elements, fetchGeneration);
+    }
+
+    private void recordListing(ListingKey key, List<JsonNode> elements, long fetchGeneration) {
+        Map<UUID, Child> listed = new LinkedHashMap<>();
+        for (JsonNode element : elements) {
+            Child child = toChild(element);
+            listed.put(child.uuid(), child);
+            nodes.put(child.uuid(), new Node(child.uuid(), key.directoryUuid(), child.type()));
+        }
+        listings.put(key, new Listing(Collections.unmodifiableMap(listed), checksum(elements)));
+        // an invalidation happened during the fetch: the listing may already be stale
+        if (generation.get() != fetchGeneration) {
+            invalidate(key.directoryUuid());
+        }
+    }
+
+    /**
+     * A random sample of the recorded listings, so that each verification round costs a bounded number of directory server calls
+     */
+    public List<ListingKey> getListingKeysToVerify() {
+        List<ListingKey> keys;
+        synchronized (listings) {
+            keys = new ArrayList<>(listings.keySet());
+        }
+        if (keys.size() <= verificationSampleSize) {
+            return keys;
+        }
+        Collections.shuffle(keys, ThreadLocalRandom.current());
+        return List.copyOf(keys.subList(0, verificationSampleSize));
+    }
+
+    /**
+     * @return false if the listing is unknown or differs from the given directory server listing, in which case it is dropped
+     */
+    public boolean verify(ListingKey key, List<JsonNode> serverElements) {
+        Listing listing = listings.get(key);
+        if (listing == null || listing.checksum() != checksum(serverElements)) {
+            invalidate(key.directoryUuid());
+            return false;
+        }
+        return true;
+    }
+
+    public void onDirectoryUpdate(Message<?> message) {
+        Object directoryUuid = message.getHeaders().get(HEADER_DIRECTORY_UUID);
+        if (directoryUuid == null) {
+            // not about a directory content (user messages for instance)
+            return;
+        }
+        invalidate(UUID.fromString(directoryUuid.toString()));
+        if (Boolean.parseBoolean(String.valueOf(message.getHeaders().get(HEADER_IS_ROOT_DIRECTORY)))) {
+            invalidate(null);
+        }
+    }
+
+    /**
+     * Drops the listings of a directory for all users, or the root directories listings when {@code directoryUuid} is null.
+     * Its children nodes are dropped too so that the paths going through them are fetched again.
+     */
+    public void invalidate(@Nullable UUID directoryUuid) {
+        generation.incrementAndGet();
+        synchronized (listings) {
+            listings.keySet().removeIf(key -> Objects.equals(key.directoryUuid(), directoryUuid));
+        }
+        synchronized (nodes) {
+            nodes.values().removeIf(node -> Objects.equals(node.parentUuid(), directoryUuid));
+            if (directoryUuid != null) {
+                nodes.remove(directoryUuid);
+            }
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        listings.clear();
+        nodes.clear();
+    }
+
+    private Optional<byte[]> getListing(ListingKey key) {
+        Listing listing = listings.get(key);
+        if (listing == null) {
+            return Optional.empty();
+        }
+        return Optional.of(toJsonArray(listing.children().values()));
+    }
+
+    private Child toChild(JsonNode element) {
+        try {
+            return new Child(UUID.fromString(element.path("elementUuid").asText()), element.path("elementName").asText(),
+                element.path("type").asText(), objectMapper.writeValueAsBytes(element));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] toJsonArray(Collection<Child> listed) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        json.write('[');
+        boolean first = true;
+        for (Child child : listed) {
+            if (!first) {
+                json.write(',');
+            }
+            first = false;
+            json.writeBytes(child.attributes());
+        }
+        json.write(']');
+        return json.toByteArray();
+    }
+
+    private long checksum(List<JsonNode> elements) {
+        CRC32 crc = new CRC32();
+        for (JsonNode element : elements) {
+            try {
+                crc.update(objectMapper.writeValueAsBytes(element));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.gridsuite.explore.server.services.NotificationService.HEADER_ELEMENT_UUID;
+
+/**
+ * Names of the elements, as returned by the directory server names lookup. The ids unknown to the directory server are
+ * cached too (negative entries, kept for {@code missing-ttl}), so that a reference to a deleted element is not looked up
+ * again each time it is displayed.
+ * An entry is dropped when the element is updated or deleted through this instance, and on the update events of the
+ * element (element update, or directory update for a directory). The renames made through another instance are only
+ * notified on the parent directory, they are seen after {@code ttl}.
+ * At most {@code max-size} entries are kept, the least recently used are dropped first.
+ */
+@Service
+public class ElementNameCache {
+
+    // a null name is a negative entry
+    private record CachedName(@Nullable String name, Instant expiration) { }
+
+    private final boolean enabled;
+
+    private final Duration ttl;
+
+    private final Duration missingTtl;
+
+    private final Map<UUID, CachedName> names;
+
+    public ElementNameCache(@Value("${explore.element-name-cache.enabled:true}") boolean enabled,
+                            @Value("${explore.element-name-cache.ttl:PT10M}") Duration ttl,
+                            @Value("${explore.element-name-cache.missing-ttl:PT1M}") Duration missingTtl,
+                            @Value("${explore.element-name-cache.max-size:50000}") int maxSize) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.missingTtl = missingTtl;
+        this.names = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CachedName> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * @param fetcher gets the names of the ids which are not cached, the ids it does not return are unknown
+     * @return the names of the known ids
+     */
+    public Map<UUID, String> getNames(List<UUID> ids, Function<List<UUID>, Map<UUID, String>> fetcher) {
+        if (!enabled) {
+            return fetcher.apply(ids);
+        }
+        Map<UUID, String> elementsName = new HashMap<>();
+        List<UUID> missingIds = new ArrayList<>();
+        Instant now = Instant.now();
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            CachedName cachedName = names.get(id);
+            if (cachedName == null || !now.isBefore(cachedName.expiration())) {
+                missingIds.add(id);
+            } else if (cachedName.name() != null) {
+                elementsName.put(id, cachedName.name());
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            Map<UUID, String> fetchedNames = Objects.requireNonNullElse(fetcher.apply(missingIds), Map.of());
+            Instant fetchDate = Instant.now();
+            for (UUID id : missingIds) {
+                String name = fetchedNames.get(id);
+                names.put(id, new CachedName(name, fetchDate.plus(name != null ? ttl : missingTtl)));
+                if (name != null) {
+                    elementsName.put(id, name);
+                }
+            }
+        }
+        return elementsName;
+    }
+
+    public void evict(UUID id) {
+        names.remove(id);
+    }
+
+    public void onElementUpdate(Message<?> message) {
+        evictHeader(message.getHeaders().get(HEADER_ELEMENT_UUID));
+    }
+
+    public void onDirectoryUpdate(Message<?> message) {
+        // a renamed directory is notified on itself
+        evictHeader(message.getHeaders().get(DirectoryTreeReplica.HEADER_DIRECTORY_UUID));
+        evictHeader(message.getHeaders().get(HEADER_ELEMENT_UUID));
+    }
+
+    private void evictHeader(@Nullable Object id) {
+        if (id != null) {
+            names.remove(UUID.fromString(id.toString()));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Results of the element searches of each user (the directory server only returns the elements a user can read), kept
+ * for {@code ttl}. The directory server matches the elements whose name contains the user input, ignoring case and
+ * accents, and is asked for at most {@code limit} of them: a result with less elements is complete, and the results of
+ * a longer input starting with the same characters are filtered locally from it. Type-ahead searches ("net", "netw",
+ * "netwo"...) are then mostly answered without calling the directory server.
+ * On a directory update event, the results of the user who made the update and the results containing an element of
+ * that directory are dropped. The other users see the elements added to the directory once their results expire.
+ * At most {@code max-size} results are kept.
+ */
+@Service
+public class ElementSearchCache {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}");
+
+    private record Key(String userId, String directoryUuid, String userInput) { }
+
+    private record CachedSearch(List<JsonNode> elements, boolean complete, Instant expiration) { }
+
+    private final boolean enabled;
+
+    private final Duration ttl;
+
+    private final int limit;
+
+    private final Map<Key, CachedSearch> searches;
+
+    public ElementSearchCache(@Value("${explore.search-cache.enabled:true}") boolean enabled,
+                              @Value("${explore.search-cache.ttl:PT30S}") Duration ttl,
+                              @Value("${explore.search-cache.limit:10}") int limit,
+                              @Value("${explore.search-cache.max-size:10000}") int maxSize) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.limit = limit;
+        this.searches = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedSearch> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * @param fetcher searches at most the given number of elements on the directory server, when the result cannot be
+     *                deduced from the cache
+     */
+    public List<JsonNode> search(String userId, String directoryUuid, String userInput, IntFunction<List<JsonNode>> fetcher) {
+        if (!enabled) {
+            return fetcher.apply(limit);
+        }
+        // inputs differing by case or accents have the same results
+        String normalizedInput = normalize(userInput);
+        Instant now = Instant.now();
+        CachedSearch cachedSearch = getValid(new Key(userId, directoryUuid, normalizedInput), now);
+        if (cachedSearch != null) {
+            return cachedSearch.elements();
+        }
+        // the longest complete result of a shorter input contains all the elements matching this input
+        for (int length = normalizedInput.length() - 1; length > 0; length--) {
+            CachedSearch prefixSearch = getValid(new Key(userId, directoryUuid, normalizedInput.substring(0, length)), now);
+            if (prefixSearch != null && prefixSearch.complete()) {
+                List<JsonNode> elements = prefixSearch.elements().stream()
+                    .filter(element -> normalize(element.path("name").asText()).contains(normalizedInput))
+                    .toList();
+                searches.put(new Key(userId, directoryUuid, normalizedInput), new CachedSearch(elements, true, prefixSearch.expiration()));
+                return elements;
+            }
+        }
+        List<JsonNode> elements = fetcher.apply(limit);
+        searches.put(new Key(userId, directoryUuid, normalizedInput),
+            new CachedSearch(elements, elements.size() < limit, Instant.now().plus(ttl)));
+        return elements;
+    }
+
+    public void onDirectoryUpdate(Message<?> message) {
+        Object directoryUuid = message.getHeaders().get(DirectoryTreeReplica.HEADER_DIRECTORY_UUID);
+        if (directoryUuid == null) {
+            // not about a directory content (user messages for instance)
+            return;
+        }
+        Object userId = message.getHeaders().get(NotificationService.HEADER_USER_ID);
+        invalidate(userId != null ? userId.toString() : null, directoryUuid.toString());
+    }
+
+    /**
+     * Drops the results of the user who updated the directory, and the results of all users containing the directory
+     * or one of its elements (added, renamed, moved or deleted).
+     */
+    public void invalidate(@Nullable String userId, String directoryUuid) {
+        synchronized (searches) {
+            searches.entrySet().removeIf(search -> search.getKey().userId().equals(userId)
+                || search.getValue().elements().stream().anyMatch(element -> isInDirectory(element, directoryUuid)));
+        }
+    }
+
+    public void clear() {
+        searches.clear();
+    }
+
+    private static boolean isInDirectory(JsonNode element, String directoryUuid) {
+        if (directoryUuid.equals(element.path("id").asText()) || directoryUuid.equals(element.path("parentId").asText())) {
+            return true;
+        }
+        for (JsonNode pathUuid : element.path("pathUuid")) {
+            if (directoryUuid.equals(pathUuid.asText())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CachedSearch getValid(Key key, Instant now) {
+        CachedSearch cachedSearch = searches.get(key);
+        return cachedSearch != null && now.isBefore(cachedSearch.expiration()) ? cachedSearch : null;
+    }
+
+    private static String normalize(String text) {
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
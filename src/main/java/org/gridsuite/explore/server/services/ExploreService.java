@@ -6,26 +6,46 @@
  */
 package org.gridsuite.explore.server.services;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.annotation.Nullable;
+import org.apache.commons.lang3.EnumUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.gridsuite.explore.server.RestTemplateConfig.RoleHeaderForwardingInterceptor;
+import org.gridsuite.explore.server.TaskExecutionConfig;
 import org.gridsuite.explore.server.dto.CaseAlertThresholdMessage;
+import org.gridsuite.explore.server.dto.CaseImportReport;
 import org.gridsuite.explore.server.dto.CaseInfo;
+import org.gridsuite.explore.server.dto.DirectoryView;
 import org.gridsuite.explore.server.dto.ElementAttributes;
+import org.gridsuite.explore.server.dto.ElementDuplication;
+import org.gridsuite.explore.server.dto.ElementDuplicationReport;
+import org.gridsuite.explore.server.dto.ElementNameQuery;
 import org.gridsuite.explore.server.error.ExploreException;
 import org.gridsuite.explore.server.utils.ContingencyListType;
 import org.gridsuite.explore.server.utils.ParametersType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.gridsuite.explore.server.error.ExploreBusinessErrorCode.EXPLORE_MAX_ELEMENTS_EXCEEDED;
@@ -64,6 +84,12 @@ public class ExploreService {
     private final NotificationService notificationService;
     private final MonitorService monitorService;
     private final DynamicMappingService dynamicMappingService;
+    private final NotificationCoalescer notificationCoalescer;
+    private final CaseUploadService caseUploadService;
+    private final CaseDeduplicationService caseDeduplicationService;
+    private final CaseArchiveService caseArchiveService;
+    private final Executor remoteCallExecutor;
+    private final UserCasesCounters userCasesCounters;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ExploreService.class);
     private final UserAdminService userAdminService;
@@ -85,7 +111,13 @@ public class ExploreService {
         NotificationService notificationService,
         SingleLineDiagramService singleLineDiagramService,
         MonitorService monitorService,
-        DynamicMappingService dynamicMappingService) {
+        DynamicMappingService dynamicMappingService,
+        NotificationCoalescer notificationCoalescer,
+        CaseUploadService caseUploadService,
+        CaseDeduplicationService caseDeduplicationService,
+        CaseArchiveService caseArchiveService,
+        @Qualifier(TaskExecutionConfig.REMOTE_CALL_EXECUTOR) Executor remoteCallExecutor,
+        UserCasesCounters userCasesCounters) {
 
         this.directoryService = directoryService;
         this.studyService = studyService;
@@ -103,15 +135,32 @@ public class ExploreService {
         this.singleLineDiagramService = singleLineDiagramService;
         this.monitorService = monitorService;
         this.dynamicMappingService = dynamicMappingService;
-    }
-
+        this.notificationCoalescer = notificationCoalescer;
+        this.caseUploadService = caseUploadService;
+        this.caseDeduplicationService = caseDeduplicationService;
+        this.caseArchiveService = caseArchiveService;
+        this.remoteCallExecutor = remoteCallExecutor;
+        this.userCasesCounters = userCasesCounters;
+    }
+
+    /**
+     * The cases quota of the user and the name of the case are fetched concurrently, the creation fails as soon as one
+     * of them fails. The cases of the user are counted once the quota is known, only if there is one.
+     * The write permission on the parent directory has already been checked by the controller
+     */
     public void createStudy(String studyName, CaseInfo caseInfo, String description, String userId, UUID parentDirectoryUuid, Map<String, Object> importParams, Boolean duplicateCase) {
         ElementAttributes elementAttributes = new ElementAttributes(UUID.randomUUID(), studyName, STUDY, userId, 0L, description);
 
-        String elementName = getElementName(caseInfo.caseUuid());
+        CompletableFuture<Integer> userMaxAllowedCases = CompletableFuture.supplyAsync(() -> userAdminService.getUserMaxAllowedCases(userId), remoteCallExecutor);
+        CompletableFuture<Integer> userCasesCount = userMaxAllowedCases.thenApplyAsync(maxAllowedCases ->
+            maxAllowedCases != null ? directoryService.getUserCasesCount(userId) : 0, remoteCallExecutor);
+        CompletableFuture<String> caseName = CompletableFuture.supplyAsync(() -> getElementName(caseInfo.caseUuid()), remoteCallExecutor);
+        joinAll(userCasesCount, caseName);
+        assertCanCreateCase(userId, userMaxAllowedCases.join(), userCasesCount.join());
+        String elementName = caseName.join();
 
-        studyService.insertStudyWithExistingCaseFile(elementAttributes.getElementUuid(), userId, caseInfo.caseUuid(), caseInfo.caseFormat(), importParams, duplicateCase, elementName);
-        createDirectoryElementOrDeleteElement(elementAttributes, parentDirectoryUuid, userId, studyService::delete);
+        createElementAndDirectoryElementOrDeleteElement(() -> studyService.insertStudyWithExistingCaseFile(elementAttributes.getElementUuid(), userId,
+            caseInfo.caseUuid(), caseInfo.caseFormat(), importParams, duplicateCase, elementName), elementAttributes, parentDirectoryUuid, userId, studyService::delete);
     }
 
     private @Nullable String getElementName(UUID elementUuid) {
@@ -134,14 +183,53 @@ public class ExploreService {
     public void duplicateStudy(UUID sourceStudyUuid, UUID targetDirectoryId, String userId) {
         UUID newStudyId = studyService.duplicateStudy(sourceStudyUuid, userId);
         duplicateDirectoryElementOrDeleteElement(sourceStudyUuid, newStudyId, targetDirectoryId, userId, studyService::delete);
+        userCasesCounters.increment(userId);
     }
 
     public void createCase(String caseName, MultipartFile caseFile, String description, String userId, UUID parentDirectoryUuid) {
-        UUID uuid = caseService.importCase(caseFile);
+        UUID uuid = caseDeduplicationService.importCase(caseFile);
+        ElementAttributes elementAttributes = new ElementAttributes(uuid, caseName, CASE, userId, 0L, description);
+        createDirectoryElementOrDeleteElement(elementAttributes, parentDirectoryUuid, userId, caseService::delete);
+    }
+
+    public void createCase(String caseName, String fileName, @Nullable MediaType contentType, InputStream caseFile, String description,
+                           String userId, UUID parentDirectoryUuid) {
+        UUID uuid = caseDeduplicationService.importCase(fileName, contentType, caseFile);
         ElementAttributes elementAttributes = new ElementAttributes(uuid, caseName, CASE, userId, 0L, description);
         createDirectoryElementOrDeleteElement(elementAttributes, parentDirectoryUuid, userId, caseService::delete);
     }
 
+    public void createCaseFromUpload(UUID uploadId, String userId) {
+        caseUploadService.commit(uploadId, userId, (caseUpload, caseFile) -> {
+            UUID uuid = caseDeduplicationService.importCase(caseUpload.fileName(), caseFile);
+            ElementAttributes elementAttributes = new ElementAttributes(uuid, caseUpload.caseName(), CASE, userId, 0L, caseUpload.description());
+            createDirectoryElementOrDeleteElement(elementAttributes, caseUpload.parentDirectoryUuid(), userId, caseService::delete);
+        });
+    }
+
+    /**
+     * Imports the case files of a zip archive then creates their directory elements, the cases whose element cannot be
+     * created are deleted. The cases quota of the user is applied to the files of the archive.
+     */
+    public List<CaseImportReport> createCasesFromArchive(InputStream archive, String description, String userId, UUID parentDirectoryUuid) {
+        Integer userMaxAllowedCases = userAdminService.getUserMaxAllowedCases(userId);
+        Integer remainingCases = userMaxAllowedCases != null ? Math.max(0, userMaxAllowedCases - directoryService.getUserCasesCount(userId)) : null;
+        return caseArchiveService.importCases(archive, remainingCases, userId).stream()
+            .map(report -> report.isImported() ? createCaseElement(report, description, userId, parentDirectoryUuid) : report)
+            .toList();
+    }
+
+    private CaseImportReport createCaseElement(CaseImportReport report, String description, String userId, UUID parentDirectoryUuid) {
+        ElementAttributes elementAttributes = new ElementAttributes(report.caseUuid(), report.caseName(), CASE, userId, 0L, description);
+        try {
+            createDirectoryElementOrDeleteElement(elementAttributes, parentDirectoryUuid, userId, caseService::delete);
+            return report;
+        } catch (Exception e) {
+            LOGGER.warn("Could not create the directory element of case {}", report.caseUuid(), e);
+            return CaseImportReport.failed(report.fileName(), report.caseName(), e.getMessage());
+        }
+    }
+
     public void persistCase(String caseName, UUID caseUuid, String description, String userId, UUID parentDirectoryUuid) {
         caseService.persistCase(caseUuid);
         ElementAttributes elementAttributes = new ElementAttributes(caseUuid, caseName, CASE, userId, 0L, description);
@@ -151,6 +239,7 @@ public class ExploreService {
     public void duplicateCase(UUID sourceCaseUuid, UUID targetDirectoryId, String userId) {
         UUID newCaseId = caseService.duplicateCase(sourceCaseUuid);
         duplicateDirectoryElementOrDeleteElement(sourceCaseUuid, newCaseId, targetDirectoryId, userId, caseService::delete);
+        userCasesCounters.increment(userId);
     }
 
     public void duplicateContingencyList(UUID contingencyListsId, UUID targetDirectoryId, String userId, ContingencyListType contingencyListType) {
@@ -161,22 +250,22 @@ public class ExploreService {
         duplicateDirectoryElementOrDeleteElement(contingencyListsId, newId, targetDirectoryId, userId, contingencyListService::delete);
     }
 
-    public void createIdentifierContingencyList(String listName, String content, String description, String userId, UUID parentDirectoryUuid) {
+    public void createIdentifierContingencyList(String listName, Resource content, String description, String userId, UUID parentDirectoryUuid) {
         ElementAttributes elementAttributes = new ElementAttributes(UUID.randomUUID(), listName, CONTINGENCY_LIST, userId, 0L, description);
-        contingencyListService.insertIdentifierContingencyList(elementAttributes.getElementUuid(), content);
-        createDirectoryElementOrDeleteElement(elementAttributes, parentDirectoryUuid, userId, contingencyListService::delete);
+        createElementAndDirectoryElementOrDeleteElement(() -> contingencyListService.insertIdentifierContingencyList(elementAttributes.getElementUuid(), content),
+            elementAttributes, parentDirectoryUuid, userId, contingencyListService::delete);
     }
 
-    public void createFilterBasedContingencyList(String listName, String content, String description, String userId, UUID parentDirectoryUuid) {
+    public void createFilterBasedContingencyList(String listName, Resource content, String description, String userId, UUID parentDirectoryUuid) {
         ElementAttributes elementAttributes = new ElementAttributes(UUID.randomUUID(), listName, CONTINGENCY_LIST, userId, 0L, description);
-        contingencyListService.insertFilterBasedContingencyList(elementAttributes.getElementUuid(), content);
-        createDirectoryElementOrDeleteElement(elementAttributes, parentDirectoryUuid, userId, contingencyListService::delete);
+        createElementAndDirectoryElementOrDeleteElement(() -> contingencyListService.insertFilterBasedContingencyList(elementAttributes.getElementUuid(), content),
+            elementAttributes, parentDirectoryUuid, userId, contingencyListService::delete);
     }
 
-    public void createFilter(String filter, String filterName, String description, UUID parentDirectoryUuid, String userId) {
+    public void createFilter(Resource filter, String filterName, String description, UUID parentDirectoryUuid, String userId) {
         ElementAttributes elementAttributes = new ElementAttributes(UUID.randomUUID(), filterName, FILTER, userId, 0, description);
-        filterService.insertFilter(filter, elementAttributes.getElementUuid(), userId);
-        createDirectoryElementOrDeleteElement(elementAttributes, parentDirectoryUuid, userId, filterService::delete);
+        createElementAndDirectoryElementOrDeleteElement(() -> filterService.insertFilter(filter, elementAttributes.getElementUuid(), userId),
+            elementAttributes, parentDirectoryUuid, userId, filterService::delete);
     }
 
     public void duplicateFilter(UUID sourceFilterId, UUID targetDirectoryId, String userId) {
@@ -207,7 +296,7 @@ public class ExploreService {
         }
     }
 
-    public void updateFilter(UUID id, String filter, String userId, String name, String description) {
+    public void updateFilter(UUID id, Resource filter, String userId, String name, String description) {
         // check if the  user have the right to update the filter
         filterService.updateFilter(id, filter, userId);
 
@@ -219,7 +308,7 @@ public class ExploreService {
         directoryService.updateElement(id, elementAttributes, userId);
     }
 
-    public void updateContingencyList(UUID id, String content, String userId, String name, String description, ContingencyListType contingencyListType) {
+    public void updateContingencyList(UUID id, Resource content, String userId, String name, String description, ContingencyListType contingencyListType) {
         // check if the  user have the right to update the contingency
         contingencyListService.updateContingencyList(id, content, userId, getProperPath(contingencyListType));
         ElementAttributes elementAttributes = new ElementAttributes();
@@ -258,13 +347,13 @@ public class ExploreService {
         };
     }
 
-    public void createParameters(String parameters, ParametersType parametersType, String parametersName, String description, UUID parentDirectoryUuid, String userId) {
+    public void createParameters(Resource parameters, ParametersType parametersType, String parametersName, String description, UUID parentDirectoryUuid, String userId) {
         UUID parametersUuid = parametersService.createParameters(parameters, parametersType);
         ElementAttributes elementAttributes = new ElementAttributes(parametersUuid, parametersName, parametersType.name(), userId, 0, description);
         createDirectoryElementOrDeleteElement(elementAttributes, parentDirectoryUuid, userId, parametersService::delete);
     }
 
-    public void updateParameters(UUID id, String parameters, ParametersType parametersType, String userId, String name, String description) {
+    public void updateParameters(UUID id, Resource parameters, ParametersType parametersType, String userId, String name, String description) {
         parametersService.updateParameters(id, parameters, parametersType);
         updateElementNameAndDescription(id, name, description, userId);
     }
@@ -274,7 +363,7 @@ public class ExploreService {
         duplicateDirectoryElementOrDeleteElement(sourceId, newParametersUuid, targetDirectoryId, userId, parametersService::delete);
     }
 
-    public void createDiagramConfig(String diagramConfig, String diagramConfigName, String description, UUID parentDirectoryUuid, String userId) {
+    public void createDiagramConfig(Resource diagramConfig, String diagramConfigName, String description, UUID parentDirectoryUuid, String userId) {
         UUID diagramConfigUuid = singleLineDiagramService.createDiagramConfig(diagramConfig);
         ElementAttributes elementAttributes = new ElementAttributes(diagramConfigUuid, diagramConfigName, DIAGRAM_CONFIG, userId, 0, description);
         createDirectoryElementOrDeleteElement(elementAttributes, parentDirectoryUuid, userId, singleLineDiagramService::delete);
@@ -285,18 +374,18 @@ public class ExploreService {
         duplicateDirectoryElementOrDeleteElement(sourceId, newConfigUuid, targetDirectoryId, userId, singleLineDiagramService::delete);
     }
 
-    public void updateDiagramConfig(UUID id, String diagramConfig, String userId, String name, String description) {
+    public void updateDiagramConfig(UUID id, Resource diagramConfig, String userId, String name, String description) {
         singleLineDiagramService.updateDiagramConfig(id, diagramConfig);
         updateElementNameAndDescription(id, name, description, userId);
     }
 
-    public void createSpreadsheetConfig(String spreadsheetConfigDto, String configName, String description, UUID parentDirectoryUuid, String userId) {
+    public void createSpreadsheetConfig(Resource spreadsheetConfigDto, String configName, String description, UUID parentDirectoryUuid, String userId) {
         UUID spreadsheetConfigUuid = spreadsheetConfigService.createSpreadsheetConfig(spreadsheetConfigDto);
         ElementAttributes elementAttributes = new ElementAttributes(spreadsheetConfigUuid, configName, SPREADSHEET_CONFIG, userId, 0, description);
         createDirectoryElementOrDeleteElement(elementAttributes, parentDirectoryUuid, userId, spreadsheetConfigService::delete);
     }
 
-    public void createSpreadsheetConfigCollection(String spreadsheetConfigCollectionDto, String collectionName, String description, UUID parentDirectoryUuid, String userId) {
+    public void createSpreadsheetConfigCollection(Resource spreadsheetConfigCollectionDto, String collectionName, String description, UUID parentDirectoryUuid, String userId) {
         UUID spreadsheetConfigUuid = spreadsheetConfigCollectionService.createSpreadsheetConfigCollection(spreadsheetConfigCollectionDto);
         createSpreadsheetConfigCollectionElement(spreadsheetConfigUuid, collectionName, description, parentDirectoryUuid, userId);
     }
@@ -311,12 +400,12 @@ public class ExploreService {
         createDirectoryElementOrDeleteElement(elementAttributes, parentDirectoryUuid, userId, spreadsheetConfigCollectionService::delete);
     }
 
-    public void updateSpreadsheetConfig(UUID id, String spreadsheetConfigDto, String userId, String name, String description) {
+    public void updateSpreadsheetConfig(UUID id, Resource spreadsheetConfigDto, String userId, String name, String description) {
         spreadsheetConfigService.updateSpreadsheetConfig(id, spreadsheetConfigDto);
         updateElementNameAndDescription(id, name, description, userId);
     }
 
-    public void updateSpreadsheetConfigCollection(UUID id, String spreadsheetConfigCollectionDto, String userId, String name, String description) {
+    public void updateSpreadsheetConfigCollection(UUID id, Resource spreadsheetConfigCollectionDto, String userId, String name, String description) {
         spreadsheetConfigCollectionService.updateSpreadsheetConfigCollection(id, spreadsheetConfigCollectionDto);
         updateElementNameAndDescription(id, name, description, userId);
         notificationService.emitElementUpdated(id, userId);
@@ -372,10 +461,115 @@ public class ExploreService {
         duplicateDirectoryElementOrDeleteElement(sourceId, newNetworkModification, parentDirectoryUuid, userId, networkModificationService::delete);
     }
 
+    /**
+     * Duplicates elements of any type in the target directory, whose permissions are checked beforehand for all of
+     * them. The elements are duplicated concurrently, the composite modifications with a single call to the network
+     * modification server. An element which cannot be duplicated is reported as failed without stopping the others,
+     * the studies and cases beyond the cases quota of the user are not duplicated.
+     *
+     * @return the report of each element, in the order of the elements
+     */
+    public List<ElementDuplicationReport> duplicateElements(List<ElementDuplication> elements, UUID targetDirectoryId, String userId) {
+        // the same element is duplicated once
+        List<ElementDuplication> distinctElements = elements.stream().distinct().toList();
+        Integer remainingCases = null;
+        if (distinctElements.stream().anyMatch(element -> isCaseOrStudy(element.type()))) {
+            Integer userMaxAllowedCases = userAdminService.getUserMaxAllowedCases(userId);
+            remainingCases = userMaxAllowedCases != null ? Math.max(0, userMaxAllowedCases - directoryService.getUserCasesCount(userId)) : null;
+        }
+        List<UUID> modificationUuids = distinctElements.stream()
+            .filter(element -> MODIFICATION.equals(element.type()))
+            .map(ElementDuplication::elementUuid)
+            .toList();
+        CompletableFuture<Map<UUID, UUID>> duplicatedModifications = modificationUuids.isEmpty()
+            ? CompletableFuture.completedFuture(Map.of())
+            : CompletableFuture.supplyAsync(() -> networkModificationService.duplicateCompositeModifications(modificationUuids), remoteCallExecutor);
+
+        Map<ElementDuplication, CompletableFuture<ElementDuplicationReport>> reports = new LinkedHashMap<>();
+        for (ElementDuplication element : distinctElements) {
+            if (isCaseOrStudy(element.type()) && remainingCases != null) {
+                if (remainingCases == 0) {
+                    reports.put(element, CompletableFuture.completedFuture(ElementDuplicationReport.failed(element, "max allowed cases reached")));
+                    continue;
+                }
+                remainingCases--;
+            }
+            CompletableFuture<UUID> newElementUuid = MODIFICATION.equals(element.type())
+                ? duplicatedModifications.thenApply(newUuids -> Objects.requireNonNull(newUuids.get(element.elementUuid()), "The modification was not duplicated"))
+                : CompletableFuture.supplyAsync(() -> duplicateRemoteElement(element, userId), remoteCallExecutor);
+            reports.put(element, newElementUuid
+                .thenApplyAsync(uuid -> createDuplicatedElement(element, uuid, targetDirectoryId, userId), remoteCallExecutor)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    LOGGER.warn("Could not duplicate element {}", element.elementUuid(), cause);
+                    return ElementDuplicationReport.failed(element, cause.getMessage());
+                }));
+        }
+        return elements.stream().map(element -> reports.get(element).join()).toList();
+    }
+
+    /**
+     * Duplicates an element of any type but directory in the target directory, the duplicate is deleted if its
+     * directory element cannot be created
+     *
+     * @return the uuid of the duplicate
+     */
+    public UUID duplicateElement(ElementDuplication element, UUID targetDirectoryId, String userId) {
+        UUID newElementUuid = duplicateRemoteElement(element, userId);
+        createDuplicatedElement(element, newElementUuid, targetDirectoryId, userId);
+        return newElementUuid;
+    }
+
+    private UUID duplicateRemoteElement(ElementDuplication element, String userId) {
+        UUID elementUuid = element.elementUuid();
+        return switch (element.type()) {
+            case STUDY -> studyService.duplicateStudy(elementUuid, userId);
+            case CASE -> caseService.duplicateCase(elementUuid);
+            case CONTINGENCY_LIST -> switch (Objects.requireNonNull(element.contingencyListType(), "The contingency list type is missing")) {
+                case IDENTIFIERS -> contingencyListService.duplicateIdentifierContingencyList(elementUuid);
+                case FILTERS -> contingencyListService.duplicateFilterBasedContingencyList(elementUuid);
+            };
+            case FILTER -> filterService.duplicateFilter(elementUuid);
+            case MODIFICATION -> Objects.requireNonNull(networkModificationService.duplicateCompositeModifications(List.of(elementUuid)).get(elementUuid),
+                "The modification was not duplicated");
+            case DIAGRAM_CONFIG -> singleLineDiagramService.duplicateDiagramConfig(elementUuid);
+            case SPREADSHEET_CONFIG -> spreadsheetConfigService.duplicateSpreadsheetConfig(elementUuid);
+            case SPREADSHEET_CONFIG_COLLECTION -> spreadsheetConfigCollectionService.duplicateSpreadsheetConfigCollection(elementUuid);
+            case WORKSPACE -> workspaceService.duplicateWorkspace(elementUuid);
+            case PROCESS_CONFIG -> monitorService.duplicateProcessConfig(elementUuid);
+            case DYNAMIC_MAPPING -> dynamicMappingService.duplicateMapping(elementUuid);
+            default -> {
+                // the parameters elements are typed by their kind of parameters
+                if (EnumUtils.isValidEnum(ParametersType.class, element.type())) {
+                    yield parametersService.duplicateParameters(elementUuid, ParametersType.valueOf(element.type()), userId);
+                }
+                throw new IllegalArgumentException("Elements of type " + element.type() + " cannot be duplicated");
+            }
+        };
+    }
+
+    private ElementDuplicationReport createDuplicatedElement(ElementDuplication element, UUID newElementUuid, UUID targetDirectoryId, String userId) {
+        duplicateDirectoryElementOrDeleteElement(element.elementUuid(), newElementUuid, targetDirectoryId, userId, directoryService.getGenericService(element.type())::delete);
+        if (isCaseOrStudy(element.type())) {
+            userCasesCounters.increment(userId);
+        }
+        return ElementDuplicationReport.duplicated(element, newElementUuid);
+    }
+
+    private static boolean isCaseOrStudy(String type) {
+        return CASE.equals(type) || STUDY.equals(type);
+    }
+
     public void assertCanCreateCase(String userId) {
         Integer userMaxAllowedStudiesAndCases = userAdminService.getUserMaxAllowedCases(userId);
+        // the cases of users without quota are not counted
+        if (userMaxAllowedStudiesAndCases != null) {
+            assertCanCreateCase(userId, userMaxAllowedStudiesAndCases, directoryService.getUserCasesCount(userId));
+        }
+    }
+
+    private void assertCanCreateCase(String userId, @Nullable Integer userMaxAllowedStudiesAndCases, int userCasesCount) {
         if (userMaxAllowedStudiesAndCases != null) {
-            int userCasesCount = directoryService.getUserCasesCount(userId);
             if (userCasesCount >= userMaxAllowedStudiesAndCases) {
                 throw new ExploreException(EXPLORE_MAX_ELEMENTS_EXCEEDED, "max allowed cases reached", Map.of("limit", userMaxAllowedStudiesAndCases));
             }
@@ -404,7 +598,7 @@ public class ExploreService {
     private void notifyElementUpdated(ElementAttributes element, String userId) {
         // send notification if the study name was updated
         if (STUDY.equals(element.getType())) {
-            studyService.notifyStudyUpdate(element.getElementUuid(), userId);
+            notifyStudyUpdate(element.getElementUuid(), userId);
         }
 
         // the composite modification name has to be updated in order to match the new element name
@@ -413,26 +607,83 @@ public class ExploreService {
         }
     }
 
-    private void notifyElementMoved(ElementAttributes element, String userId) {
-        // send notification if the study name was updated
-        if (STUDY.equals(element.getType())) {
-            studyService.notifyStudyUpdate(element.getElementUuid(), userId);
-        }
+    // sent off the request thread: the roles header is captured here, failures are logged and counted by the coalescer
+    private void notifyStudyUpdate(UUID studyUuid, String userId) {
+        String roles = RoleHeaderForwardingInterceptor.getRolesHeader();
+        notificationCoalescer.submit(new NotificationCoalescer.Key(studyUuid, STUDY),
+            () -> studyService.notifyStudyUpdate(studyUuid, userId, roles));
     }
 
     public void moveElementsDirectory(List<UUID> elementsUuids, UUID targetDirectoryUuid, String userId) {
         directoryService.moveElementsDirectory(elementsUuids, targetDirectoryUuid, userId);
-        List<ElementAttributes> elementsAttributes = directoryService.getElementsInfos(elementsUuids, null, userId);
-        elementsAttributes.forEach(elementAttributes -> notifyElementMoved(elementAttributes, userId));
+        // the studies are notified off the request thread, see NotificationCoalescer
+        directoryService.getElementsOfType(elementsUuids, STUDY, userId)
+            .forEach(studyUuid -> notifyStudyUpdate(studyUuid, userId));
+    }
+
+    public JsonNode getUsersIdentities(List<UUID> elementsUuids, String userId) {
+        return userIdentityService.getUsersIdentities(getElementsSubs(elementsUuids, userId));
+    }
 
+    private List<String> getElementsSubs(List<UUID> elementsUuids, String userId) {
+        return getElementsSubs(directoryService.getElementsInfos(elementsUuids, null, userId));
     }
 
-    public String getUsersIdentities(List<UUID> elementsUuids, String userId) {
+    private static List<String> getElementsSubs(List<ElementAttributes> elements) {
         // this returns names for owner and lastmodifiedby,
         // if we need it in the future, we can do separate requests.
-        List<String> subs = directoryService.getElementsInfos(elementsUuids, null, userId).stream()
+        return elements.stream()
                 .flatMap(x -> Stream.of(x.getOwner(), x.getLastModifiedBy())).distinct().filter(Objects::nonNull).toList();
-        return userIdentityService.getUsersIdentities(subs);
+    }
+
+    /**
+     * Lists the directory once, then gets the metadata of its elements (one call per type) and the identities of their
+     * users concurrently, from the listed attributes
+     */
+    public DirectoryView getDirectoryView(UUID directoryUuid, List<String> types, List<String> equipmentTypes, String userId) {
+        List<JsonNode> elements = directoryService.getDirectoryElementsList(directoryUuid, types, userId);
+        List<ElementAttributes> elementsAttributes = elements.stream().map(directoryService::toElementAttributes).toList();
+
+        List<CompletableFuture<List<ElementAttributes>>> metadataByType = elementsAttributes.stream()
+            .collect(Collectors.groupingBy(ElementAttributes::getType))
+            .entrySet().stream()
+            .map(elementsOfType -> CompletableFuture.supplyAsync(
+                () -> directoryService.completeElementsMetadata(elementsOfType.getKey(), elementsOfType.getValue()), remoteCallExecutor))
+            .toList();
+        CompletableFuture<JsonNode> usersIdentities = CompletableFuture.supplyAsync(
+            () -> userIdentityService.getUsersIdentities(getElementsSubs(elementsAttributes)), remoteCallExecutor);
+        List<CompletableFuture<?>> remoteCalls = new ArrayList<>(metadataByType);
+        remoteCalls.add(usersIdentities);
+        joinAll(remoteCalls.toArray(CompletableFuture[]::new));
+
+        List<ElementAttributes> metadata = new ArrayList<>();
+        metadataByType.forEach(metadataOfType -> metadata.addAll(metadataOfType.join()));
+        return new DirectoryView(elements, DirectoryService.filterByEquipmentTypes(metadata, equipmentTypes), usersIdentities.join());
+    }
+
+    /**
+     * @return whether each name is already taken, in the order of the queries
+     */
+    public List<Boolean> elementsExist(List<ElementNameQuery> queries, String userId) {
+        return resolveConcurrently(queries, query ->
+            directoryService.elementExists(query.directoryUuid(), query.elementName(), query.type(), userId).value() == HttpStatus.OK.value());
+    }
+
+    /**
+     * @return a free name for each query, in the order of the queries. The candidates are got independently: two
+     * different queries can get the same candidate, as with successive calls.
+     */
+    public List<String> getNameCandidates(List<ElementNameQuery> queries, String userId) {
+        return resolveConcurrently(queries, query ->
+            directoryService.getNameCandidate(query.directoryUuid(), query.elementName(), query.type(), userId));
+    }
+
+    private <T> List<T> resolveConcurrently(List<ElementNameQuery> queries, Function<ElementNameQuery, T> resolver) {
+        // the same query is resolved once
+        Map<ElementNameQuery, CompletableFuture<T>> resolutions = new LinkedHashMap<>();
+        queries.forEach(query -> resolutions.computeIfAbsent(query, q -> CompletableFuture.supplyAsync(() -> resolver.apply(q), remoteCallExecutor)));
+        joinAll(resolutions.values().toArray(CompletableFuture[]::new));
+        return queries.stream().map(query -> resolutions.get(query).join()).toList();
     }
 
     public UUID createProcessConfig(String name, String processConfig, String description, String userId, UUID parentDirectoryUuid) {
@@ -475,6 +726,22 @@ public class ExploreService {
 
     private void createDirectoryElementOrDeleteElement(ElementAttributes elementAttributes, UUID parentDirectoryUuid, String userId, BiConsumer<UUID, String> rollback) {
         executeWithRollback(() -> directoryService.createElement(elementAttributes, parentDirectoryUuid, userId), elementAttributes.getElementUuid(), userId, rollback);
+        if (CASE.equals(elementAttributes.getType()) || STUDY.equals(elementAttributes.getType())) {
+            userCasesCounters.increment(userId);
+        }
+    }
+
+    /**
+     * Creates the element on its server and its directory element at the same time, the id of the element being known
+     * beforehand
+     */
+    private void createElementAndDirectoryElementOrDeleteElement(Runnable elementCreation, ElementAttributes elementAttributes, UUID parentDirectoryUuid,
+                                                                 String userId, BiConsumer<UUID, String> rollback) {
+        executeWithRollback(elementCreation, () -> directoryService.createElement(elementAttributes, parentDirectoryUuid, userId),
+            elementAttributes.getElementUuid(), userId, rollback);
+        if (CASE.equals(elementAttributes.getType()) || STUDY.equals(elementAttributes.getType())) {
+            userCasesCounters.increment(userId);
+        }
     }
 
     private void createDirectoryElementWithNewNameOrDeleteElement(ElementAttributes elementAttributes, UUID parentDirectoryUuid, String userId, BiConsumer<UUID, String> rollback) {
@@ -494,6 +761,80 @@ public class ExploreService {
         }
     }
 
+    /**
+     * Runs the element action on its server concurrently with the directory action. When only one of them fails, the
+     * other is undone: the directory element is deleted, or the element is deleted from its server by the rollback.
+     * The exception of the element action is thrown when both fail.
+     * The element action runs on the calling thread, it may forward the body of the current request, which can only be
+     * read by the request thread.
+     */
+    private void executeWithRollback(Runnable elementAction, Runnable directoryAction, UUID elementId, String userId, BiConsumer<UUID, String> rollback) {
+        CompletableFuture<Void> directory = CompletableFuture.runAsync(directoryAction, remoteCallExecutor);
+        RuntimeException elementException = null;
+        try {
+            elementAction.run();
+        } catch (RuntimeException e) {
+            elementException = e;
+        }
+        RuntimeException directoryException = null;
+        try {
+            join(directory);
+        } catch (RuntimeException e) {
+            directoryException = e;
+        }
+        if (elementException == null) {
+            if (directoryException != null) {
+                try {
+                    rollback.accept(elementId, userId);
+                } catch (Exception rollbackException) {
+                    directoryException.addSuppressed(rollbackException);
+                }
+                throw directoryException;
+            }
+            return;
+        }
+        if (directoryException == null) {
+            try {
+                directoryService.deleteDirectoryElement(elementId, userId);
+            } catch (Exception rollbackException) {
+                elementException.addSuppressed(rollbackException);
+            }
+        } else {
+            elementException.addSuppressed(directoryException);
+        }
+        throw elementException;
+    }
+
+    /**
+     * Waits for a remote call made concurrently, its exception is thrown as if it had been made by the current thread
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for remote calls made concurrently, stops waiting as soon as one fails: its exception is thrown. The others
+     * are not interrupted, the calls still running complete in the background and their results are ignored
+     */
+    private static void joinAll(CompletableFuture<?>... futures) {
+        CompletableFuture<Object> firstFailure = new CompletableFuture<>();
+        for (CompletableFuture<?> future : futures) {
+            future.whenComplete((result, e) -> {
+                if (e != null) {
+                    firstFailure.completeExceptionally(e);
+                }
+            });
+        }
+        join(CompletableFuture.anyOf(CompletableFuture.allOf(futures), firstFailure));
+    }
+
     private void duplicateDirectoryElementOrDeleteElement(UUID elementToDuplicate, UUID elementDuplicated, UUID targetDirectoryId, String userId, BiConsumer<UUID, String> rollback) {
         executeWithRollback(() -> directoryService.duplicateElement(elementToDuplicate, elementDuplicated, targetDirectoryId, userId), elementDuplicated, userId, rollback);
     }
@@ -7,6 +7,7 @@
 package org.gridsuite.explore.server.services;
 
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -34,9 +35,12 @@ public class FilterService implements IDirectoryElementsService {
 
     private final RestTemplate restTemplate;
 
-    public FilterService(RestTemplate restTemplate, RemoteServicesProperties remoteServicesProperties) {
+    private final RequestBodyForwarder requestBodyForwarder;
+
+    public FilterService(RestTemplate restTemplate, RequestBodyForwarder requestBodyForwarder, RemoteServicesProperties remoteServicesProperties) {
         this.filterServerBaseUri = remoteServicesProperties.getServiceUri("filter-server");
         this.restTemplate = restTemplate;
+        this.requestBodyForwarder = requestBodyForwarder;
     }
 
     public void setFilterServerBaseUri(String filterServerBaseUri) {
@@ -52,14 +56,11 @@ public class FilterService implements IDirectoryElementsService {
                 Void.class);
     }
 
-    public void insertFilter(String filter, UUID filterId, String userId) {
+    public void insertFilter(Resource filter, UUID filterId, String userId) {
         String path = UriComponentsBuilder.fromPath(DELIMITER + FILTER_SERVER_API_VERSION + "/filters?id={id}")
                 .buildAndExpand(filterId)
                 .toUriString();
-        HttpHeaders headers = getHeaders(userId);
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<String> httpEntity = new HttpEntity<>(filter, headers);
-        restTemplate.exchange(filterServerBaseUri + path, HttpMethod.POST, httpEntity, Void.class);
+        requestBodyForwarder.forwardJson(filterServerBaseUri + path, HttpMethod.POST, filter, getHeaders(userId), Void.class);
     }
 
     public UUID duplicateFilter(UUID filterId) {
@@ -84,13 +85,13 @@ public class FilterService implements IDirectoryElementsService {
                 }).getBody();
     }
 
-    public void updateFilter(UUID id, String filter, String userId) {
+    public void updateFilter(UUID id, Resource filter, String userId) {
 
         String path = UriComponentsBuilder.fromPath(DELIMITER + FILTER_SERVER_API_VERSION + "/filters/{id}")
                 .buildAndExpand(id)
                 .toUriString();
 
-        restTemplate.exchange(filterServerBaseUri + path, HttpMethod.PUT, getHttpEntityWithUserHeaderAndJsonMediaType(userId, filter), Void.class);
+        requestBodyForwarder.forwardJson(filterServerBaseUri + path, HttpMethod.PUT, filter, getHeaders(userId), Void.class);
 
     }
 
@@ -100,10 +101,4 @@ public class FilterService implements IDirectoryElementsService {
         return headers;
     }
 
-    private HttpEntity<String> getHttpEntityWithUserHeaderAndJsonMediaType(String userId, String content) {
-        HttpHeaders headers = getHeaders(userId);
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        return new HttpEntity<>(content, headers);
-    }
-
 }
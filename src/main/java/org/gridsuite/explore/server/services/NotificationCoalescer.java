@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces the notifications about an element: the first notification of a given type for an element is sent right away
+ * and opens a window, the notifications submitted during that window replace each other and only the latest one is sent
+ * when it closes, which opens a new window. A lone notification is therefore never delayed.
+ * Notifications are sent by a bounded pool so that a burst (a move of many studies for instance) is sent concurrently
+ * without flooding the receivers. Its queue is bounded too: once it is full, the submitting thread sends the notification
+ * itself, which slows the burst down instead of piling notifications up in memory. With a zero window notifications are
+ * sent right away on the caller thread.
+ * Sending errors are logged and counted per notification type: a missed notification only delays a client refresh.
+ * Depends on the outbox so that the pending notifications are flushed before it is closed.
+ */
+@Component
+@DependsOn("notificationOutbox")
+public class NotificationCoalescer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationCoalescer.class);
+
+    public record Key(UUID elementUuid, String type) { }
+
+    // marks an open window without any notification to send when it closes
+    private static final Runnable NO_TRAILING_NOTIFICATION = () -> { };
+
+    // keys with an open window, mapped to the latest notification submitted during that window
+    private final Map<Key, Runnable> pending = new ConcurrentHashMap<>();
+
+    private final long windowMillis;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final ThreadPoolExecutor senders;
+
+    private final Counter submittedCounter;
+
+    private final Counter coalescedCounter;
+
+    private final Counter callerSentCounter;
+
+    private final MeterRegistry meterRegistry;
+
+    public NotificationCoalescer(MeterRegistry meterRegistry,
+                                 @Value("${explore.notification-coalescing.window:PT0.5S}") Duration window,
+                                 @Value("${explore.notification-coalescing.max-concurrency:8}") int maxConcurrency,
+                                 @Value("${explore.notification-coalescing.queue-capacity:1000}") int queueCapacity) {
+        this.windowMillis = window.toMillis();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("notification-coalescer"));
+        this.submittedCounter = meterRegistry.counter("explore.notification.coalescing.submitted");
+        this.coalescedCounter = meterRegistry.counter("explore.notification.coalescing.coalesced");
+        this.callerSentCounter = meterRegistry.counter("explore.notification.coalescing.caller-sent");
+        this.senders = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), daemonThreadFactory("notification-sender"), this::runOnCaller);
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("explore.notification.coalescing.pending", pending, Map::size);
+    }
+
+    public void submit(Key key, Runnable notification) {
+        submittedCounter.increment();
+        if (windowMillis <= 0) {
+            send(key, notification);
+            return;
+        }
+        boolean[] opensWindow = new boolean[1];
+        pending.compute(key, (k, trailingNotification) -> {
+            if (trailingNotification == null) {
+                opensWindow[0] = true;
+                return NO_TRAILING_NOTIFICATION;
+            }
+            if (trailingNotification != NO_TRAILING_NOTIFICATION) {
+                coalescedCounter.increment();
+            }
+            return notification;
+        });
+        if (opensWindow[0]) {
+            senders.execute(() -> send(key, notification));
+            scheduleWindowClose(key);
+        }
+    }
+
+    private void scheduleWindowClose(Key key) {
+        scheduler.schedule(() -> senders.execute(() -> closeWindow(key)), windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void closeWindow(Key key) {
+        Runnable[] trailingNotification = new Runnable[1];
+        pending.computeIfPresent(key, (k, notification) -> {
+            if (notification == NO_TRAILING_NOTIFICATION) {
+                return null;
+            }
+            trailingNotification[0] = notification;
+            return NO_TRAILING_NOTIFICATION;
+        });
+        if (trailingNotification[0] != null) {
+            send(key, trailingNotification[0]);
+            scheduleWindowClose(key);
+        }
+    }
+
+    // a task rejected once closed is dropped: its trailing notification, if any, is sent by close()
+    private void runOnCaller(Runnable task, ThreadPoolExecutor executor) {
+        if (!executor.isShutdown()) {
+            callerSentCounter.increment();
+            task.run();
+        }
+    }
+
+    private void send(Key key, Runnable notification) {
+        try {
+            notification.run();
+        } catch (RuntimeException e) {
+            meterRegistry.counter("explore.notification.coalescing.failed", "type", key.type()).increment();
+            LOGGER.error("Failed to send {} notification for element {}", key.type(), key.elementUuid(), e);
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Sends the pending notifications without waiting for their window to close
+     */
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+        senders.shutdown();
+        pending.keySet().forEach(key -> {
+            Runnable trailingNotification = pending.remove(key);
+            if (trailingNotification != null && trailingNotification != NO_TRAILING_NOTIFICATION) {
+                send(key, trailingNotification);
+            }
+        });
+    }
+}
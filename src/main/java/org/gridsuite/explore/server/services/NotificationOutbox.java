@@ -0,0 +1,281 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-memory outbox of the messages to publish to the broker, drained by a dedicated publisher thread so that a slow
+ * broker does not add to the API latency. The publisher takes all the pending messages at once (at most {@code max-batch-size})
+ * and sends them in a row, so bursts are published without waking up per message.
+ * When the outbox is full, the overflow policy applies: the caller waits ({@link OverflowPolicy#BLOCK}), the oldest pending
+ * message is dropped ({@link OverflowPolicy#DROP_OLDEST}), or the message is appended to a local file which is published
+ * once the outbox is empty again ({@link OverflowPolicy#SPILL}). Spilled headers are published as strings, as the broker would do.
+ */
+@Component
+public class NotificationOutbox {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationOutbox.class);
+
+    private static final String SPILL_FILE_NAME = "notification-outbox.jsonl";
+
+    private static final String SPILL_REPLAY_FILE_NAME = "notification-outbox-replay.jsonl";
+
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP_OLDEST,
+        SPILL
+    }
+
+    private record PendingMessage(String bindingName, Message<String> message) { }
+
+    private record SpilledMessage(String bindingName, Map<String, String> headers, String payload) { }
+
+    private final StreamBridge updatePublisher;
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final int maxBatchSize;
+
+    private final long pollIntervalMillis;
+
+    private final Path spillDirectory;
+
+    private final BlockingQueue<PendingMessage> queue;
+
+    private final AtomicLong spilledCount = new AtomicLong();
+
+    // guarded by this, like the spill file
+    private boolean replaying;
+
+    private final Timer publishTimer;
+
+    private final Counter droppedCounter;
+
+    private final Counter spilledCounter;
+
+    private final Thread publisher;
+
+    private volatile boolean running = true;
+
+    public NotificationOutbox(StreamBridge updatePublisher,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${explore.notification-outbox.enabled:true}") boolean enabled,
+                              @Value("${explore.notification-outbox.capacity:10000}") int capacity,
+                              @Value("${explore.notification-outbox.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+                              @Value("${explore.notification-outbox.max-batch-size:100}") int maxBatchSize,
+                              @Value("${explore.notification-outbox.poll-interval:PT0.01S}") Duration pollInterval,
+                              @Value("${explore.notification-outbox.spill-directory:${java.io.tmpdir}/explore-server}") Path spillDirectory) {
+        this.updatePublisher = updatePublisher;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.overflowPolicy = overflowPolicy;
+        this.maxBatchSize = maxBatchSize;
+        this.pollIntervalMillis = pollInterval.toMillis();
+        this.spillDirectory = spillDirectory;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        meterRegistry.gauge("explore.notification.outbox.size", queue, BlockingQueue::size);
+        meterRegistry.gauge("explore.notification.outbox.spilled", spilledCount);
+        this.publishTimer = Timer.builder("explore.notification.publish")
+            .description("Time to publish a batch of notifications to the broker")
+            .register(meterRegistry);
+        this.droppedCounter = meterRegistry.counter("explore.notification.outbox.dropped");
+        this.spilledCounter = meterRegistry.counter("explore.notification.outbox.spilled.total");
+        if (Files.exists(spillDirectory.resolve(SPILL_FILE_NAME))) {
+            // left over by a previous run
+            spilledCount.set(1);
+        }
+
+        if (enabled) {
+            publisher = new Thread(this::publishLoop, "notification-publisher");
+            publisher.setDaemon(true);
+            publisher.start();
+        } else {
+            publisher = null;
+        }
+    }
+
+    /**
+     * Publishes the message asynchronously, or synchronously when the outbox is disabled
+     */
+    public void publish(String bindingName, Message<String> message) {
+        if (!enabled) {
+            updatePublisher.send(bindingName, message);
+            return;
+        }
+        PendingMessage pendingMessage = new PendingMessage(bindingName, message);
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    queue.put(pendingMessage);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    LOGGER.warn("Interrupted while waiting for the notification outbox, message not sent");
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(pendingMessage)) {
+                    if (queue.poll() != null) {
+                        droppedCounter.increment();
+                    }
+                }
+            }
+            case SPILL -> {
+                synchronized (this) {
+                    // once spilling started, go on spilling until all the spilled messages are published to keep the messages order
+                    if (spilledCount.get() > 0 || replaying || !queue.offer(pendingMessage)) {
+                        spill(pendingMessage);
+                    }
+                }
+            }
+        }
+    }
+
+    private void publishLoop() {
+        List<PendingMessage> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMessage first = queue.poll(pollIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpilledMessages();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                publishBatch(batch);
+            } catch (InterruptedException e) {
+                running = false;
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                publishBatch(batch);
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed to publish notifications", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void publishBatch(List<PendingMessage> batch) {
+        publishTimer.record(() -> batch.forEach(pendingMessage -> {
+            try {
+                updatePublisher.send(pendingMessage.bindingName(), pendingMessage.message());
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed to publish notification {}", pendingMessage.message(), e);
+            }
+        }));
+    }
+
+    private synchronized void spill(PendingMessage pendingMessage) {
+        Map<String, String> headers = new HashMap<>();
+        pendingMessage.message().getHeaders().forEach((name, value) -> {
+            if (!MessageHeaders.ID.equals(name) && !MessageHeaders.TIMESTAMP.equals(name)) {
+                headers.put(name, String.valueOf(value));
+            }
+        });
+        try {
+            Files.createDirectories(spillDirectory);
+            try (BufferedWriter writer = Files.newBufferedWriter(spillDirectory.resolve(SPILL_FILE_NAME), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(objectMapper.writeValueAsString(new SpilledMessage(pendingMessage.bindingName(), headers, pendingMessage.message().getPayload())));
+                writer.newLine();
+            }
+            spilledCount.incrementAndGet();
+            spilledCounter.increment();
+        } catch (IOException e) {
+            droppedCounter.increment();
+            LOGGER.error("Failed to spill notification {}, message not sent", pendingMessage.message(), e);
+        }
+    }
+
+    private void replaySpilledMessages() {
+        Path replayFile = spillDirectory.resolve(SPILL_REPLAY_FILE_NAME);
+        synchronized (this) {
+            if (spilledCount.get() == 0) {
+                return;
+            }
+            try {
+                Files.move(spillDirectory.resolve(SPILL_FILE_NAME), replayFile, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                LOGGER.error("Failed to replay spilled notifications", e);
+                return;
+            }
+            spilledCount.set(0);
+            replaying = true;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            List<PendingMessage> batch = new ArrayList<>(maxBatchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                SpilledMessage spilledMessage = objectMapper.readValue(line, SpilledMessage.class);
+                batch.add(new PendingMessage(spilledMessage.bindingName(), MessageBuilder.withPayload(spilledMessage.payload())
+                    .copyHeaders(spilledMessage.headers())
+                    .build()));
+                if (batch.size() == maxBatchSize) {
+                    publishBatch(batch);
+                    batch.clear();
+                }
+            }
+            publishBatch(batch);
+            Files.delete(replayFile);
+        } catch (IOException e) {
+            LOGGER.error("Failed to replay spilled notifications", e);
+        } finally {
+            // the messages spilled meanwhile are replayed on the next idle poll
+            synchronized (this) {
+                replaying = false;
+            }
+        }
+    }
+
+    /**
+     * Publishes the pending messages before the broker connection is closed
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (publisher != null) {
+            running = false;
+            publisher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+}
@@ -8,11 +8,9 @@ package org.gridsuite.explore.server.services;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.gridsuite.explore.server.dto.CaseAlertThresholdMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
@@ -29,6 +27,9 @@ public class NotificationService {
 
     public static final String ELEMENT_UPDATE_BINDING = "publishElementUpdate-out-0";
 
+    // notification type, coalescing key and metrics tag
+    public static final String ELEMENT_UPDATE = "elementUpdate";
+
     public static final String HEADER_USER_MESSAGE = "userMessage";
 
     public static final String HEADER_UPDATE_TYPE = "updateType";
@@ -49,23 +50,27 @@ public class NotificationService {
 
     private static final Logger MESSAGE_OUTPUT_LOGGER = LoggerFactory.getLogger(CATEGORY_BROKER_OUTPUT);
 
-    private final StreamBridge updatePublisher;
+    private final NotificationOutbox notificationOutbox;
+
+    private final NotificationCoalescer notificationCoalescer;
 
     private final ObjectMapper objectMapper;
 
     @Autowired
-    public NotificationService(StreamBridge updatePublisher,
+    public NotificationService(NotificationOutbox notificationOutbox,
+                               NotificationCoalescer notificationCoalescer,
                                ObjectMapper objectMapper) {
-        this.updatePublisher = updatePublisher;
+        this.notificationOutbox = notificationOutbox;
+        this.notificationCoalescer = notificationCoalescer;
         this.objectMapper = objectMapper;
     }
 
     private void sendMessage(Message<String> message, String bindingName) {
         MESSAGE_OUTPUT_LOGGER.debug(MESSAGE_LOG, message);
-        updatePublisher.send(bindingName, message);
+        notificationOutbox.publish(bindingName, message);
     }
 
-    public void emitUserMessage(String sub, String messageId, CaseAlertThresholdMessage message) {
+    public void emitUserMessage(String sub, String messageId, Object message) {
         try {
             sendMessage(MessageBuilder.withPayload(objectMapper.writeValueAsString(message))
                 .setHeader(HEADER_USER_MESSAGE, messageId)
@@ -77,12 +82,16 @@ public class NotificationService {
         }
     }
 
+    /**
+     * Rapid updates of the same element are coalesced: only the latest modifiedBy and modification date are sent
+     */
     public void emitElementUpdated(UUID elementUuid, String modifiedBy) {
-        sendMessage(MessageBuilder.withPayload("")
+        Message<String> message = MessageBuilder.withPayload("")
             .setHeader(HEADER_ELEMENT_UUID, elementUuid)
             .setHeader(HEADER_MODIFIED_BY, modifiedBy)
             .setHeader(HEADER_MODIFICATION_DATE, Instant.now())
-            .build(), ELEMENT_UPDATE_BINDING
-        );
+            .build();
+        notificationCoalescer.submit(new NotificationCoalescer.Key(elementUuid, ELEMENT_UPDATE),
+            () -> sendMessage(message, ELEMENT_UPDATE_BINDING));
     }
 }
@@ -11,6 +11,7 @@ import lombok.Getter;
 import org.gridsuite.explore.server.dto.ElementAttributes;
 import org.gridsuite.explore.server.utils.ParametersType;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -34,6 +35,8 @@ public class ParametersService implements IDirectoryElementsService {
 
     private final RestTemplate restTemplate;
 
+    private final RequestBodyForwarder requestBodyForwarder;
+
     private final DirectoryService directoryService;
 
     @Getter
@@ -54,13 +57,15 @@ public class ParametersService implements IDirectoryElementsService {
 
     private final RemoteServicesProperties remoteServicesProperties;
 
-    public ParametersService(RemoteServicesProperties remoteServicesProperties, @Lazy DirectoryService directoryService, RestTemplate restTemplate) {
+    public ParametersService(RemoteServicesProperties remoteServicesProperties, @Lazy DirectoryService directoryService, RestTemplate restTemplate,
+                             RequestBodyForwarder requestBodyForwarder) {
         this.restTemplate = restTemplate;
+        this.requestBodyForwarder = requestBodyForwarder;
         this.remoteServicesProperties = remoteServicesProperties;
         this.directoryService = directoryService;
     }
 
-    public UUID createParameters(String parameters, ParametersType parametersType) {
+    public UUID createParameters(Resource parameters, ParametersType parametersType) {
         String parametersServerBaseUri = remoteServicesProperties.getServiceUri(genericParametersServices.get(parametersType).getServerName());
         Objects.requireNonNull(parameters);
 
@@ -69,19 +74,10 @@ public class ParametersService implements IDirectoryElementsService {
                 .buildAndExpand()
                 .toUriString();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        HttpEntity<String> httpEntity = new HttpEntity<>(parameters, headers);
-
-        UUID parametersUuid;
-
-        parametersUuid = restTemplate.exchange(parametersServerBaseUri + path, HttpMethod.POST, httpEntity, UUID.class).getBody();
-
-        return parametersUuid;
+        return requestBodyForwarder.forwardJson(parametersServerBaseUri + path, HttpMethod.POST, parameters, UUID.class);
     }
 
-    public void updateParameters(UUID parametersUuid, String parameters, ParametersType parametersType) {
+    public void updateParameters(UUID parametersUuid, Resource parameters, ParametersType parametersType) {
         String parametersServerBaseUri = remoteServicesProperties.getServiceUri(genericParametersServices.get(parametersType).getServerName());
         Objects.requireNonNull(parameters);
 
@@ -90,12 +86,7 @@ public class ParametersService implements IDirectoryElementsService {
                 .buildAndExpand(parametersUuid)
                 .toUriString();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        HttpEntity<String> httpEntity = new HttpEntity<>(parameters, headers);
-
-        restTemplate.exchange(parametersServerBaseUri + path, HttpMethod.PUT, httpEntity, UUID.class);
+        requestBodyForwarder.forwardJson(parametersServerBaseUri + path, HttpMethod.PUT, parameters, UUID.class);
     }
 
     public UUID duplicateParameters(UUID sourceParametersUuid, ParametersType parametersType, String userId) {
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.services;
+
+import org.gridsuite.explore.server.RestTemplateConfig.DownstreamRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Forwards a client request body to a downstream server as raw bytes: an {@link org.springframework.core.io.InputStreamResource}
+ * read from the servlet input stream is copied to the outgoing request while it is sent, without being decoded or held in memory.
+ * The shared {@link RestTemplate} is not used because its interceptors buffer the whole body before sending it, this one has
+ * the same settings without interceptors, see {@link DownstreamRestTemplateCustomizer#customizeStreaming}.
+ * Bodies are never replayed since downstream calls are not retried.
+ */
+@Component
+public class RequestBodyForwarder {
+
+    private static final String CRLF = "\r\n";
+
+    private static final Pattern LINE_BREAKS = Pattern.compile("[\r\n]");
+
+    private final RestTemplate restTemplate;
+
+    public RequestBodyForwarder(RestTemplateBuilder restTemplateBuilder, DownstreamRestTemplateCustomizer downstreamRestTemplateCustomizer) {
+        this.restTemplate = restTemplateBuilder.build();
+        downstreamRestTemplateCustomizer.customizeStreaming(restTemplate);
+    }
+
+    public <T> T forwardJson(String url, HttpMethod method, @Nullable Resource body, HttpHeaders headers, Class<T> responseType) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<T> response = restTemplate.exchange(url, method, new HttpEntity<>(body, headers), responseType);
+        return response.getBody();
+    }
+
+    public <T> T forwardJson(String url, HttpMethod method, @Nullable Resource body, Class<T> responseType) {
+        return forwardJson(url, method, body, new HttpHeaders(), responseType);
+    }
+
+    /**
+     * Posts a multipart/form-data request made of a single file part, whose content is copied from the given stream
+     * while the request is sent. The line breaks of the client filename are dropped, they would end the part headers.
+     */
+    public <T> T forwardMultipartFile(String url, String partName, String filename, @Nullable MediaType contentType, InputStream content,
+                                      Class<T> responseType) {
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        String partHeaders = "--" + boundary + CRLF
+            + HttpHeaders.CONTENT_DISPOSITION + ": " + ContentDisposition.formData().name(partName).filename(LINE_BREAKS.matcher(filename).replaceAll("")).build() + CRLF
+            + HttpHeaders.CONTENT_TYPE + ": " + Objects.requireNonNullElse(contentType, MediaType.APPLICATION_OCTET_STREAM) + CRLF
+            + CRLF;
+        RequestCallback requestCallback = request -> {
+            request.getHeaders().setContentType(new MediaType(MediaType.MULTIPART_FORM_DATA, Map.of("boundary", boundary)));
+            OutputStream body = request.getBody();
+            body.write(partHeaders.getBytes(StandardCharsets.UTF_8));
+            StreamUtils.copy(content, body);
+            body.write((CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.UTF_8));
+        };
+        ResponseEntity<T> response = restTemplate.execute(url, HttpMethod.POST, requestCallback, restTemplate.responseEntityExtractor(responseType));
+        return response != null ? response.getBody() : null;
+    }
+}
@@ -1,6 +1,7 @@
 package org.gridsuite.explore.server.services;
 
 import lombok.Setter;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -21,9 +22,12 @@ public class SingleLineDiagramService implements IDirectoryElementsService {
 
     private final RestTemplate restTemplate;
 
-    public SingleLineDiagramService(RemoteServicesProperties remoteServicesProperties, RestTemplate restTemplate) {
+    private final RequestBodyForwarder requestBodyForwarder;
+
+    public SingleLineDiagramService(RemoteServicesProperties remoteServicesProperties, RestTemplate restTemplate, RequestBodyForwarder requestBodyForwarder) {
         this.singleLineDiagramServerBaseUri = remoteServicesProperties.getServiceUri("single-line-diagram-server");
         this.restTemplate = restTemplate;
+        this.requestBodyForwarder = requestBodyForwarder;
     }
 
     @Override
@@ -41,7 +45,7 @@ public class SingleLineDiagramService implements IDirectoryElementsService {
         restTemplate.exchange(singleLineDiagramServerBaseUri + path, HttpMethod.DELETE, new HttpEntity<>(headers), Void.class);
     }
 
-    public UUID createDiagramConfig(String diagramConfig) {
+    public UUID createDiagramConfig(Resource diagramConfig) {
         Objects.requireNonNull(diagramConfig);
 
         var path = UriComponentsBuilder
@@ -49,12 +53,7 @@ public class SingleLineDiagramService implements IDirectoryElementsService {
             .buildAndExpand()
             .toUriString();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        HttpEntity<String> httpEntity = new HttpEntity<>(diagramConfig, headers);
-
-        return restTemplate.exchange(singleLineDiagramServerBaseUri + path, HttpMethod.POST, httpEntity, UUID.class).getBody();
+        return requestBodyForwarder.forwardJson(singleLineDiagramServerBaseUri + path, HttpMethod.POST, diagramConfig, UUID.class);
     }
 
     public UUID duplicateDiagramConfig(UUID sourceUuid) {
@@ -69,7 +68,7 @@ public class SingleLineDiagramService implements IDirectoryElementsService {
             .getBody();
     }
 
-    public void updateDiagramConfig(UUID configUuid, String diagramConfig) {
+    public void updateDiagramConfig(UUID configUuid, Resource diagramConfig) {
         Objects.requireNonNull(configUuid);
         Objects.requireNonNull(diagramConfig);
 
@@ -78,11 +77,6 @@ public class SingleLineDiagramService implements IDirectoryElementsService {
             .buildAndExpand()
             .toUriString();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        HttpEntity<String> httpEntity = new HttpEntity<>(diagramConfig, headers);
-
-        restTemplate.exchange(singleLineDiagramServerBaseUri + path, HttpMethod.PUT, httpEntity, Void.class);
+        requestBodyForwarder.forwardJson(singleLineDiagramServerBaseUri + path, HttpMethod.PUT, diagramConfig, Void.class);
     }
 }
@@ -8,6 +8,7 @@ package org.gridsuite.explore.server.services;
 
 import lombok.Setter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -32,13 +33,16 @@ public class SpreadsheetConfigCollectionService implements IDirectoryElementsSer
 
     private final RestTemplate restTemplate;
 
+    private final RequestBodyForwarder requestBodyForwarder;
+
     @Setter
     private String spreadsheetConfigServerBaseUri;
 
     @Autowired
-    public SpreadsheetConfigCollectionService(RestTemplate restTemplate, RemoteServicesProperties remoteServicesProperties) {
+    public SpreadsheetConfigCollectionService(RestTemplate restTemplate, RequestBodyForwarder requestBodyForwarder, RemoteServicesProperties remoteServicesProperties) {
         this.spreadsheetConfigServerBaseUri = remoteServicesProperties.getServiceUri("study-config-server");
         this.restTemplate = restTemplate;
+        this.requestBodyForwarder = requestBodyForwarder;
     }
 
     public UUID createSpreadsheetConfigCollectionFromConfigIds(List<UUID> configIds) {
@@ -57,7 +61,7 @@ public class SpreadsheetConfigCollectionService implements IDirectoryElementsSer
         return restTemplate.postForObject(spreadsheetConfigServerBaseUri + path, httpEntity, UUID.class);
     }
 
-    public UUID createSpreadsheetConfigCollection(String collection) {
+    public UUID createSpreadsheetConfigCollection(Resource collection) {
         Objects.requireNonNull(collection);
 
         var path = UriComponentsBuilder
@@ -65,12 +69,7 @@ public class SpreadsheetConfigCollectionService implements IDirectoryElementsSer
                 .buildAndExpand()
                 .toUriString();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        HttpEntity<String> httpEntity = new HttpEntity<>(collection, headers);
-
-        return restTemplate.exchange(spreadsheetConfigServerBaseUri + path, HttpMethod.POST, httpEntity, UUID.class).getBody();
+        return requestBodyForwarder.forwardJson(spreadsheetConfigServerBaseUri + path, HttpMethod.POST, collection, UUID.class);
     }
 
     public UUID duplicateSpreadsheetConfigCollection(UUID collectionId) {
@@ -89,7 +88,7 @@ public class SpreadsheetConfigCollectionService implements IDirectoryElementsSer
         return restTemplate.exchange(spreadsheetConfigServerBaseUri + path, HttpMethod.POST, httpEntity, UUID.class).getBody();
     }
 
-    public void updateSpreadsheetConfigCollection(UUID collectionId, String collection) {
+    public void updateSpreadsheetConfigCollection(UUID collectionId, Resource collection) {
         Objects.requireNonNull(collectionId);
         Objects.requireNonNull(collection);
 
@@ -98,12 +97,7 @@ public class SpreadsheetConfigCollectionService implements IDirectoryElementsSer
                 .buildAndExpand()
                 .toUriString();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        HttpEntity<String> httpEntity = new HttpEntity<>(collection, headers);
-
-        restTemplate.exchange(spreadsheetConfigServerBaseUri + path, HttpMethod.PUT, httpEntity, Void.class);
+        requestBodyForwarder.forwardJson(spreadsheetConfigServerBaseUri + path, HttpMethod.PUT, collection, Void.class);
     }
 
     public void replaceAllSpreadsheetConfigsInCollection(UUID collectionId, List<UUID> configIds) {
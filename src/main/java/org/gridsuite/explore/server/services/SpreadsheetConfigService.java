@@ -9,6 +9,7 @@ package org.gridsuite.explore.server.services;
 import lombok.Setter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -35,16 +36,19 @@ public class SpreadsheetConfigService implements IDirectoryElementsService {
 
     private final RestTemplate restTemplate;
 
+    private final RequestBodyForwarder requestBodyForwarder;
+
     @Setter
     private String spreadsheetConfigServerBaseUri;
 
     @Autowired
-    public SpreadsheetConfigService(RestTemplate restTemplate, RemoteServicesProperties remoteServicesProperties) {
+    public SpreadsheetConfigService(RestTemplate restTemplate, RequestBodyForwarder requestBodyForwarder, RemoteServicesProperties remoteServicesProperties) {
         this.spreadsheetConfigServerBaseUri = remoteServicesProperties.getServiceUri("study-config-server");
         this.restTemplate = restTemplate;
+        this.requestBodyForwarder = requestBodyForwarder;
     }
 
-    public UUID createSpreadsheetConfig(String config) {
+    public UUID createSpreadsheetConfig(Resource config) {
         Objects.requireNonNull(config);
 
         var path = UriComponentsBuilder
@@ -52,12 +56,7 @@ public class SpreadsheetConfigService implements IDirectoryElementsService {
                 .buildAndExpand()
                 .toUriString();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        HttpEntity<String> httpEntity = new HttpEntity<>(config, headers);
-
-        return restTemplate.exchange(spreadsheetConfigServerBaseUri + path, HttpMethod.POST, httpEntity, UUID.class).getBody();
+        return requestBodyForwarder.forwardJson(spreadsheetConfigServerBaseUri + path, HttpMethod.POST, config, UUID.class);
     }
 
     public UUID duplicateSpreadsheetConfig(UUID configUuid) {
@@ -76,7 +75,7 @@ public class SpreadsheetConfigService implements IDirectoryElementsService {
         return restTemplate.exchange(spreadsheetConfigServerBaseUri + path, HttpMethod.POST, httpEntity, UUID.class).getBody();
     }
 
-    public void updateSpreadsheetConfig(UUID configUuid, String config) {
+    public void updateSpreadsheetConfig(UUID configUuid, Resource config) {
         Objects.requireNonNull(configUuid);
         Objects.requireNonNull(config);
 
@@ -85,12 +84,7 @@ public class SpreadsheetConfigService implements IDirectoryElementsService {
                 .buildAndExpand()
                 .toUriString();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        HttpEntity<String> httpEntity = new HttpEntity<>(config, headers);
-
-        restTemplate.exchange(spreadsheetConfigServerBaseUri + path, HttpMethod.PUT, httpEntity, Void.class);
+        requestBodyForwarder.forwardJson(spreadsheetConfigServerBaseUri + path, HttpMethod.PUT, config, Void.class);
     }
 
     @Override
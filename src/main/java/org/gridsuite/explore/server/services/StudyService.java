@@ -7,8 +7,10 @@
 package org.gridsuite.explore.server.services;
 
 import org.apache.commons.lang3.StringUtils;
+import org.gridsuite.explore.server.RestTemplateConfig.RoleHeaderForwardingInterceptor;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -94,7 +96,11 @@ public class StudyService implements IDirectoryElementsService {
         return headers;
     }
 
-    public ResponseEntity<Void> notifyStudyUpdate(UUID studyUuid, String userId) {
+    /**
+     * @param roles roles header of the request that triggered the notification, forwarded explicitly because the
+     *              notification may be sent off the request thread
+     */
+    public ResponseEntity<Void> notifyStudyUpdate(UUID studyUuid, String userId, @Nullable String roles) {
         String path = UriComponentsBuilder.fromPath(DELIMITER + STUDY_SERVER_API_VERSION +
                         "/studies/{studyUuid}/notification?type={metadata_updated}")
                 .buildAndExpand(studyUuid, NOTIFICATION_TYPE_METADATA_UPDATED)
@@ -102,6 +108,9 @@ public class StudyService implements IDirectoryElementsService {
 
         HttpHeaders headers = new HttpHeaders();
         headers.set(HEADER_USER_ID, userId);
+        if (roles != null) {
+            headers.set(RoleHeaderForwardingInterceptor.ROLES_HEADER, roles);
+        }
         return restTemplate.exchange(studyServerBaseUri + path, HttpMethod.POST, new HttpEntity<>(headers), Void.class);
     }
 }
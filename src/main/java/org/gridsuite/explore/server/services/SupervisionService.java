@@ -11,6 +11,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -26,6 +27,7 @@ import java.util.stream.Collectors;
 public class SupervisionService {
     private static final Logger LOGGER = LoggerFactory.getLogger(SupervisionService.class);
     private final DirectoryService directoryService;
+    private final UserAdminService userAdminService;
     private final String directoryServerBaseUri;
     private final RestTemplate restTemplate;
 
@@ -35,9 +37,10 @@ public class SupervisionService {
     private static final String ELEMENTS_SERVER_ROOT_PATH = DELIMITER + DIRECTORY_SERVER_API_VERSION + DELIMITER + SUPERVISION_PATH + DELIMITER
         + "elements";
 
-    public SupervisionService(DirectoryService directoryService, RestTemplate restTemplate, RemoteServicesProperties remoteServicesProperties) {
+    public SupervisionService(DirectoryService directoryService, UserAdminService userAdminService, RestTemplate restTemplate, RemoteServicesProperties remoteServicesProperties) {
         this.directoryServerBaseUri = remoteServicesProperties.getServiceUri("directory-server");
         this.directoryService = directoryService;
+        this.userAdminService = userAdminService;
         this.restTemplate = restTemplate;
     }
 
@@ -54,6 +57,17 @@ public class SupervisionService {
         deleteDirectoryElements(uuids);
     }
 
+    /**
+     * Drops the cached max quotas of a user, or everything cached from user-admin-server if no user is given
+     */
+    public void evictUserAdminCache(@Nullable String sub) {
+        if (sub != null) {
+            userAdminService.evictUserMaxQuota(sub);
+        } else {
+            userAdminService.evictAll();
+        }
+    }
+
     // DOES NOT CHECK OWNER BEFORE DELETING
     private void deleteDirectoryElements(List<UUID> elementUuids) {
         var ids = elementUuids.stream().map(UUID::toString).collect(Collectors.joining(","));
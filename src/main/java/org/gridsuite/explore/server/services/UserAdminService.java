@@ -9,15 +9,24 @@ package org.gridsuite.explore.server.services;
 import lombok.Setter;
 import org.gridsuite.explore.server.dto.QuotaType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
+ * The max quotas of the users and the cases alert threshold rarely change, they are cached for {@code quota-ttl} and
+ * {@code threshold-ttl}: a change made in user-admin-server is seen after this delay, or after an eviction.
+ *
  * @author Abdelsalem Hedhili <abdelsalem.hedhili at rte-france.com>
  */
 @Service
@@ -32,13 +41,38 @@ public class UserAdminService {
     @Setter
     private String userAdminServerBaseUri;
 
+    private record CachedValue<T>(T value, Instant expiration) {
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiration);
+        }
+    }
+
+    private final Map<String, CachedValue<Map<QuotaType, Integer>>> userMaxQuotas = new ConcurrentHashMap<>();
+    private volatile CachedValue<Integer> casesAlertThreshold;
+    private final Duration quotaTtl;
+    private final Duration thresholdTtl;
+
     @Autowired
-    public UserAdminService(RestTemplate restTemplate, RemoteServicesProperties remoteServicesProperties) {
+    public UserAdminService(RestTemplate restTemplate, RemoteServicesProperties remoteServicesProperties,
+                            @Value("${explore.user-admin-cache.quota-ttl:PT5M}") Duration quotaTtl,
+                            @Value("${explore.user-admin-cache.threshold-ttl:PT15M}") Duration thresholdTtl) {
         this.userAdminServerBaseUri = remoteServicesProperties.getServiceUri("user-admin-server");
         this.restTemplate = restTemplate;
+        this.quotaTtl = quotaTtl;
+        this.thresholdTtl = thresholdTtl;
     }
 
     public Map<QuotaType, Integer> getUserMaxQuota(String sub) {
+        CachedValue<Map<QuotaType, Integer>> cachedMaxQuota = userMaxQuotas.get(sub);
+        if (cachedMaxQuota == null || cachedMaxQuota.isExpired(Instant.now())) {
+            // failures are not cached
+            cachedMaxQuota = fetch(() -> fetchUserMaxQuota(sub), quotaTtl);
+            userMaxQuotas.put(sub, cachedMaxQuota);
+        }
+        return cachedMaxQuota.value();
+    }
+
+    private Map<QuotaType, Integer> fetchUserMaxQuota(String sub) {
         String path = UriComponentsBuilder.fromPath(DELIMITER + USER_ADMIN_API_VERSION + USERS_MAX_QUOTA_URI)
                 .buildAndExpand(sub).toUriString();
         return restTemplate.exchange(
@@ -56,9 +90,37 @@ public class UserAdminService {
     }
 
     public Integer getCasesAlertThreshold() {
+        CachedValue<Integer> cachedThreshold = casesAlertThreshold;
+        if (cachedThreshold == null || cachedThreshold.isExpired(Instant.now())) {
+            cachedThreshold = fetch(this::fetchCasesAlertThreshold, thresholdTtl);
+            casesAlertThreshold = cachedThreshold;
+        }
+        return cachedThreshold.value();
+    }
+
+    private Integer fetchCasesAlertThreshold() {
         String path = UriComponentsBuilder.fromPath(DELIMITER + USER_ADMIN_API_VERSION + CASES_ALERT_THRESHOLD_URI)
             .buildAndExpand().toUriString();
         return restTemplate.getForObject(userAdminServerBaseUri + path, Integer.class);
 
     }
+
+    private static <T> CachedValue<T> fetch(Supplier<T> fetcher, Duration ttl) {
+        return new CachedValue<>(fetcher.get(), Instant.now().plus(ttl));
+    }
+
+    public void evictUserMaxQuota(String sub) {
+        userMaxQuotas.remove(sub);
+    }
+
+    public void evictAll() {
+        userMaxQuotas.clear();
+        casesAlertThreshold = null;
+    }
+
+    @Scheduled(fixedDelayString = "${explore.user-admin-cache.quota-ttl:PT5M}")
+    public void evictExpiredUserMaxQuotas() {
+        Instant now = Instant.now();
+        userMaxQuotas.values().removeIf(cachedMaxQuota -> cachedMaxQuota.isExpired(now));
+    }
 }
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.services;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Cases count of each user, as counted by the directory server, kept locally so that the quota of a user is checked
+ * without asking the directory server each time. The count of a user is fetched the first time it is needed, then
+ * updated when a case or study is created or deleted by this instance. The cases counted while the count is being fetched
+ * are added to it once fetched: they may be counted twice, which only errs on the side of the quota. The elements created
+ * or deleted otherwise (other instances, directory server) are only seen when the counts are reconciled with the
+ * directory server: the difference found for each user is recorded in the {@code explore.user.cases.count.drift}
+ * distribution.
+ * The counts are kept per instance: with several instances, a user can exceed the quota by the cases created on the
+ * other instances since the last reconciliation. The counters are meant for single instance deployments, so they are
+ * disabled by default and only enabled by those deployments ({@code explore.user-cases-counters.enabled=true}); when
+ * disabled, every count is asked to the directory server.
+ */
+@Component
+public class UserCasesCounters {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserCasesCounters.class);
+
+    /**
+     * Count of a user, pending until fetched from the directory server: the cases counted meanwhile are kept as a delta
+     */
+    private static final class Count {
+        private boolean fetched;
+        private int value;
+
+        private synchronized OptionalInt get() {
+            return fetched ? OptionalInt.of(value) : OptionalInt.empty();
+        }
+
+        private synchronized int complete(int fetchedValue) {
+            if (!fetched) {
+                value = Math.max(0, fetchedValue + value);
+                fetched = true;
+            }
+            return value;
+        }
+
+        private synchronized void add(int delta) {
+            value = fetched ? Math.max(0, value + delta) : value + delta;
+        }
+
+        private synchronized OptionalInt reset(int fetchedValue) {
+            if (!fetched) {
+                return OptionalInt.empty();
+            }
+            int localValue = value;
+            value = fetchedValue;
+            return OptionalInt.of(localValue);
+        }
+    }
+
+    private final boolean enabled;
+
+    private final Map<String, Count> counts = new ConcurrentHashMap<>();
+
+    private final DistributionSummary drift;
+
+    public UserCasesCounters(MeterRegistry meterRegistry,
+                             @Value("${explore.user-cases-counters.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+        this.drift = DistributionSummary.builder("explore.user.cases.count.drift")
+            .description("Difference between the local and the directory server cases count of a user, at reconciliation")
+            .register(meterRegistry);
+        meterRegistry.gaugeMapSize("explore.user.cases.count.users", List.of(), counts);
+    }
+
+    /**
+     * @param fetcher gets the count of a user from the directory server, when it is not known yet
+     */
+    public int get(String userId, ToIntFunction<String> fetcher) {
+        if (!enabled) {
+            return fetcher.applyAsInt(userId);
+        }
+        // the pending count is registered first so that the cases counted during the fetch are not lost
+        Count count = counts.computeIfAbsent(userId, id -> new Count());
+        OptionalInt knownCount = count.get();
+        if (knownCount.isPresent()) {
+            return knownCount.getAsInt();
+        }
+        // fetched outside of the map so that other users are not blocked
+        int fetchedCount;
+        try {
+            fetchedCount = fetcher.applyAsInt(userId);
+        } catch (RuntimeException e) {
+            counts.remove(userId, count);
+            throw e;
+        }
+        return count.complete(fetchedCount);
+    }
+
+    /**
+     * Counts a case or study created by the user, nothing is done if the count of the user has never been asked
+     */
+    public void increment(String userId) {
+        Count count = counts.get(userId);
+        if (count != null) {
+            count.add(1);
+        }
+    }
+
+    public void decrement(String userId) {
+        Count count = counts.get(userId);
+        if (count != null) {
+            count.add(-1);
+        }
+    }
+
+    /**
+     * Replaces the known counts with the ones of the directory server. A user whose count cannot be fetched is
+     * forgotten, so that it is fetched again when needed.
+     */
+    public void reconcile(ToIntFunction<String> fetcher) {
+        counts.forEach((userId, count) -> {
+            if (count.get().isEmpty()) {
+                // being fetched
+                return;
+            }
+            try {
+                int fetchedCount = fetcher.applyAsInt(userId);
+                count.reset(fetchedCount).ifPresent(localCount -> {
+                    drift.record(Math.abs(localCount - fetchedCount));
+                    if (localCount != fetchedCount) {
+                        LOGGER.debug("Cases count of user {} was {} instead of {}", userId, localCount, fetchedCount);
+                    }
+                });
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not reconcile the cases count of user {}", userId, e);
+                counts.remove(userId, count);
+            }
+        });
+    }
+}
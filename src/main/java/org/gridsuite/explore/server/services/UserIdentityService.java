@@ -6,14 +6,30 @@
  */
 package org.gridsuite.explore.server.services;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.Setter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
+ * The identities of the users are cached for {@code ttl}, only the subs which are not cached are asked to
+ * user-identity-server. At most {@code max-size} identities are kept, the least recently used are dropped first.
+ * The subs in error (unknown user...) are not cached. The other top-level fields of a response are passed through
+ * as is, they are not cached.
+ *
  * @author Jon Schuhmacher <jon.harper at rte-france.com>
  */
 @Service
@@ -21,23 +37,81 @@ public class UserIdentityService {
 
     private static final String USER_IDENTITY_API_VERSION = "v1";
     private static final String USERS_IDENTITY_PATH = "/users/identities?subs={subs}";
+    private static final String DATA = "data";
+    private static final String ERRORS = "errors";
 
     private static final String DELIMITER = "/";
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
 
     @Setter
     private String userIdentityServerBaseUri;
 
+    private record CachedIdentity(JsonNode identity, Instant expiration) { }
+
+    private final Map<String, CachedIdentity> identities;
+    private final Duration ttl;
+
     @Autowired
-    public UserIdentityService(RestTemplate restTemplate, RemoteServicesProperties remoteServicesProperties) {
+    public UserIdentityService(RestTemplate restTemplate, RemoteServicesProperties remoteServicesProperties, ObjectMapper objectMapper,
+                               @Value("${explore.user-identity-cache.ttl:PT1H}") Duration ttl,
+                               @Value("${explore.user-identity-cache.max-size:10000}") int maxSize) {
         this.userIdentityServerBaseUri = remoteServicesProperties.getServiceUri("user-identity-server");
         this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.identities = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedIdentity> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * @return the identities in the format of user-identity-server: {@code {"data": {sub: identity}, "errors": {sub: error}}},
+     * with the other top-level fields of its response when some subs were not cached
+     */
+    public JsonNode getUsersIdentities(List<String> subs) {
+        ObjectNode usersIdentities = objectMapper.createObjectNode();
+        ObjectNode data = usersIdentities.putObject(DATA);
+        ObjectNode errors = usersIdentities.putObject(ERRORS);
+        Instant now = Instant.now();
+        List<String> missingSubs = new ArrayList<>();
+        for (String sub : subs) {
+            CachedIdentity cachedIdentity = identities.get(sub);
+            if (cachedIdentity != null && now.isBefore(cachedIdentity.expiration())) {
+                data.set(sub, cachedIdentity.identity());
+            } else {
+                missingSubs.add(sub);
+            }
+        }
+        if (!missingSubs.isEmpty()) {
+            JsonNode fetchedIdentities = restTemplate.getForObject(userIdentityServerBaseUri + getUsersIdentitiesPath(missingSubs), JsonNode.class);
+            if (fetchedIdentities != null) {
+                Instant expiration = Instant.now().plus(ttl);
+                fetchedIdentities.path(DATA).fields().forEachRemaining(identity -> {
+                    identities.put(identity.getKey(), new CachedIdentity(identity.getValue(), expiration));
+                    data.set(identity.getKey(), identity.getValue());
+                });
+                fetchedIdentities.path(ERRORS).fields().forEachRemaining(error -> errors.set(error.getKey(), error.getValue()));
+                fetchedIdentities.fields().forEachRemaining(field -> {
+                    if (!DATA.equals(field.getKey()) && !ERRORS.equals(field.getKey())) {
+                        usersIdentities.set(field.getKey(), field.getValue());
+                    }
+                });
+            }
+        }
+        return usersIdentities;
+    }
+
+    public void clearCache() {
+        identities.clear();
     }
 
-    public String getUsersIdentities(List<String> subs) {
-        String path = UriComponentsBuilder.fromPath(DELIMITER + USER_IDENTITY_API_VERSION + USERS_IDENTITY_PATH)
+    private static String getUsersIdentitiesPath(List<String> subs) {
+        return UriComponentsBuilder.fromPath(DELIMITER + USER_IDENTITY_API_VERSION + USERS_IDENTITY_PATH)
             .buildAndExpand(String.join(",", subs)).toUriString();
-        return restTemplate.getForObject(userIdentityServerBaseUri + path, String.class);
     }
 
 }
@@ -0,0 +1,298 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.utils;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the parts of a multipart/form-data body one after the other while it is received, through a fixed-size buffer:
+ * the content of a part is an {@link InputStream} ending at the next boundary, nothing is spooled to memory or disk.
+ * The content of a part must be read (or is skipped) before moving to the next one.
+ * The size of the whole body and of each part can be limited, see {@link #isSizeExceeded()}.
+ */
+public class MultipartStream {
+
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_HEADER_LINE_LENGTH = 8 * 1024;
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    public record Part(HttpHeaders headers, InputStream content) {
+        @Nullable
+        public String getName() {
+            return getContentDisposition().getName();
+        }
+
+        @Nullable
+        public String getFilename() {
+            return getContentDisposition().getFilename();
+        }
+
+        @Nullable
+        public MediaType getContentType() {
+            return headers.getContentType();
+        }
+
+        private ContentDisposition getContentDisposition() {
+            String contentDisposition = headers.getFirst(HttpHeaders.CONTENT_DISPOSITION);
+            return contentDisposition != null ? ContentDisposition.parse(contentDisposition) : ContentDisposition.empty();
+        }
+    }
+
+    private final InputStream in;
+
+    private final byte[] delimiter;
+
+    private final byte[] buffer;
+
+    private final long maxSize;
+
+    private final long maxPartSize;
+
+    private long size;
+
+    private boolean sizeExceeded;
+
+    private int head;
+
+    private int tail;
+
+    private boolean endOfInput;
+
+    private boolean finished;
+
+    private PartInputStream currentPart;
+
+    public MultipartStream(InputStream in, String boundary) {
+        this(in, boundary, BUFFER_SIZE, -1, -1);
+    }
+
+    /**
+     * @param maxSize     maximum size of the body in bytes, unlimited if negative
+     * @param maxPartSize maximum size of the content of a part in bytes, unlimited if negative
+     */
+    public MultipartStream(InputStream in, String boundary, long maxSize, long maxPartSize) {
+        this(in, boundary, BUFFER_SIZE, maxSize, maxPartSize);
+    }
+
+    public MultipartStream(InputStream in, String boundary, int bufferSize) {
+        this(in, boundary, bufferSize, -1, -1);
+    }
+
+    private MultipartStream(InputStream in, String boundary, int bufferSize, long maxSize, long maxPartSize) {
+        this.in = in;
+        this.maxSize = maxSize;
+        this.maxPartSize = maxPartSize;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[Math.max(bufferSize, MAX_HEADER_LINE_LENGTH) + delimiter.length];
+        // the first boundary is not preceded by a line break, add one so that every boundary is found the same way
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        tail = 2;
+        // the preamble, ignored
+        currentPart = new PartInputStream();
+    }
+
+    /**
+     * @return the boundary of a multipart content type, or null if it is not a multipart content type
+     */
+    @Nullable
+    public static String getBoundary(@Nullable String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return "multipart".equalsIgnoreCase(mediaType.getType()) ? mediaType.getParameter("boundary") : null;
+    }
+
+    /**
+     * Skips what remains of the current part
+     * @return the next part, or null after the last one
+     */
+    @Nullable
+    public Part nextPart() throws IOException {
+        if (finished) {
+            return null;
+        }
+        currentPart.skipAll();
+        if (!ensureAvailable(2)) {
+            throw new EOFException("Multipart body ended before its closing boundary");
+        }
+        if (buffer[head] == '-' && buffer[head + 1] == '-') {
+            finished = true;
+            return null;
+        }
+        // end of the boundary line (transport padding)
+        readLine();
+        HttpHeaders headers = new HttpHeaders();
+        String line;
+        while (!(line = readLine()).isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.add(line.substring(0, colon).trim(), line.substring(colon + 1).trim());
+            }
+        }
+        currentPart = new PartInputStream();
+        return new Part(headers, currentPart);
+    }
+
+    /**
+     * Whether reading failed because the body or a part exceeded its maximum size. The failure may reach the caller
+     * wrapped, or as a failure of the consumer of a part content (a downstream upload for instance).
+     */
+    public boolean isSizeExceeded() {
+        return sizeExceeded;
+    }
+
+    /**
+     * @return the next part with the given name, or null if there is none
+     */
+    @Nullable
+    public Part findPart(String name) throws IOException {
+        Part part;
+        do {
+            part = nextPart();
+        } while (part != null && !name.equals(part.getName()));
+        return part;
+    }
+
+    private String readLine() throws IOException {
+        int lineLength = 0;
+        while (true) {
+            int end = indexOf(CRLF, head + lineLength, tail - CRLF.length);
+            if (end >= 0) {
+                String line = new String(buffer, head, end - head, StandardCharsets.UTF_8);
+                head = end + 2;
+                return line;
+            }
+            lineLength = Math.max(0, tail - head - 1);
+            if (lineLength > MAX_HEADER_LINE_LENGTH) {
+                throw new IOException("Multipart header line too long");
+            }
+            if (!ensureAvailable(tail - head + 1)) {
+                throw new EOFException("Multipart body ended in a part header");
+            }
+        }
+    }
+
+    /**
+     * Reads from the input until {@code count} bytes are available in the buffer
+     * @return false if the input ended before
+     */
+    private boolean ensureAvailable(int count) throws IOException {
+        while (tail - head < count) {
+            if (!readMore()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean readMore() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        if (head > 0) {
+            System.arraycopy(buffer, head, buffer, 0, tail - head);
+            tail -= head;
+            head = 0;
+        }
+        int read = in.read(buffer, tail, buffer.length - tail);
+        if (read < 0) {
+            endOfInput = true;
+            return false;
+        }
+        tail += read;
+        size += read;
+        if (maxSize >= 0 && size > maxSize) {
+            sizeExceeded = true;
+            throw new IOException("Multipart body larger than " + maxSize + " bytes");
+        }
+        return true;
+    }
+
+    /**
+     * @return the position of the pattern in the buffer, starting between {@code from} and {@code lastStart}, or -1
+     */
+    private int indexOf(byte[] pattern, int from, int lastStart) {
+        for (int i = from; i <= lastStart; i++) {
+            int j = 0;
+            while (j < pattern.length && buffer[i + j] == pattern[j]) {
+                j++;
+            }
+            if (j == pattern.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private class PartInputStream extends InputStream {
+
+        private boolean ended;
+
+        private long size;
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (ended) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            ensureAvailable(delimiter.length);
+            // only the bytes that cannot be the beginning of a delimiter are returned, the others wait for more input
+            int lastStart = Math.min(head + len - 1, tail - delimiter.length);
+            int delimiterIndex = indexOf(delimiter, head, lastStart);
+            if (delimiterIndex == head) {
+                head += delimiter.length;
+                ended = true;
+                return -1;
+            }
+            int count = delimiterIndex >= 0 ? delimiterIndex - head : lastStart - head + 1;
+            if (count <= 0) {
+                throw new EOFException("Multipart body ended in a part content");
+            }
+            size += count;
+            if (maxPartSize >= 0 && size > maxPartSize) {
+                sizeExceeded = true;
+                throw new IOException("Multipart part larger than " + maxPartSize + " bytes");
+            }
+            System.arraycopy(buffer, head, b, off, count);
+            head += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return ended ? 0 : Math.max(0, tail - head - delimiter.length + 1);
+        }
+
+        void skipAll() throws IOException {
+            byte[] skipBuffer = new byte[4096];
+            while (read(skipBuffer, 0, skipBuffer.length) >= 0) {
+                // skipped
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server.utils;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResponseExtractor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Copies a downstream response to the servlet response as it is received: status and content type are kept,
+ * the body goes through a small fixed size buffer and is never materialised on the heap.
+ * Error statuses never reach this extractor, they are raised by the RestTemplate error handler beforehand.
+ */
+public class ProxyResponseExtractor implements ResponseExtractor<Void> {
+
+    private final HttpServletResponse servletResponse;
+
+    public ProxyResponseExtractor(HttpServletResponse servletResponse) {
+        this.servletResponse = Objects.requireNonNull(servletResponse);
+    }
+
+    @Override
+    public Void extractData(ClientHttpResponse response) throws IOException {
+        servletResponse.setStatus(response.getStatusCode().value());
+        MediaType contentType = response.getHeaders().getContentType();
+        servletResponse.setContentType(contentType != null ? contentType.toString() : MediaType.APPLICATION_JSON_VALUE);
+        try (InputStream body = response.getBody()) {
+            StreamUtils.copy(body, servletResponse.getOutputStream());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,447 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.gridsuite.explore.server.dto.CaseImportReport;
+import org.gridsuite.explore.server.dto.CaseUploadStatus;
+import org.gridsuite.explore.server.dto.ElementAttributes;
+import org.gridsuite.explore.server.dto.PermissionType;
+import org.gridsuite.explore.server.error.ExploreBusinessErrorCode;
+import org.gridsuite.explore.server.error.ExploreException;
+import org.gridsuite.explore.server.services.CaseService;
+import org.gridsuite.explore.server.services.CaseUploadService;
+import org.gridsuite.explore.server.services.DirectoryService;
+import org.gridsuite.explore.server.services.UserAdminService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"explore.case-upload.chunk-size=8B", "spring.servlet.multipart.max-file-size=64B", "spring.servlet.multipart.max-request-size=1KB",
+    "explore.case-upload.max-sessions-per-user=2"})
+@AutoConfigureMockMvc
+class CaseUploadTest {
+
+    private static final String USER1 = "user1";
+    private static final String BOUNDARY = "caseUploadBoundary";
+    private static final String CASE_CONTENT = "<network id=\"test\"/>";
+    private static final UUID CASE_UUID = UUID.randomUUID();
+    private static final UUID PARENT_DIRECTORY_UUID = UUID.randomUUID();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CaseService caseService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CaseUploadService caseUploadService;
+
+    @MockitoBean
+    private DirectoryService directoryService;
+
+    @MockitoBean
+    private UserAdminService userAdminService;
+
+    private WireMockServer wireMockServer;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        caseService.setBaseUri(wireMockServer.baseUrl());
+        wireMockServer.stubFor(WireMock.post(WireMock.urlPathEqualTo("/v1/cases"))
+            .willReturn(WireMock.ok()
+                .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .withBody("\"" + CASE_UUID + "\"")));
+        // cases indexed by previous tests no longer exist
+        wireMockServer.stubFor(WireMock.post(WireMock.urlPathMatching("/v1/cases/.*/duplicate"))
+            .willReturn(WireMock.notFound()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    private static byte[] multipartBody(String partName) {
+        return multipartBody(partName, CASE_CONTENT);
+    }
+
+    private static byte[] multipartBody(String partName, String caseContent) {
+        return ("--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"" + partName + "\"; filename=\"network.xiidm\"\r\n"
+            + "Content-Type: application/xml\r\n"
+            + "\r\n"
+            + caseContent + "\r\n"
+            + "--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testStreamingUpload() throws Exception {
+        mockMvc.perform(post("/v1/explore/cases/{caseName}", "case1")
+                .queryParam("description", "a description")
+                .queryParam("parentDirectoryUuid", PARENT_DIRECTORY_UUID.toString())
+                .header("userId", USER1)
+                .header(StreamingUploadConfig.HEADER_STREAMING_UPLOAD, "true")
+                .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                .content(multipartBody("caseFile")))
+            .andExpect(status().isOk());
+
+        wireMockServer.verify(WireMock.postRequestedFor(WireMock.urlPathEqualTo("/v1/cases"))
+            .withHeader(HttpHeaders.CONTENT_TYPE, WireMock.containing(MediaType.MULTIPART_FORM_DATA_VALUE))
+            .withRequestBodyPart(WireMock.aMultipart()
+                .withName("file")
+                .withHeader(HttpHeaders.CONTENT_DISPOSITION, WireMock.containing("filename=\"network.xiidm\""))
+                .withBody(WireMock.equalTo(CASE_CONTENT))
+                .build()));
+        ArgumentCaptor<ElementAttributes> elementAttributes = ArgumentCaptor.forClass(ElementAttributes.class);
+        verify(directoryService).createElement(elementAttributes.capture(), eq(PARENT_DIRECTORY_UUID), eq(USER1));
+        assertEquals(CASE_UUID, elementAttributes.getValue().getElementUuid());
+        assertEquals("case1", elementAttributes.getValue().getElementName());
+        assertEquals("a description", elementAttributes.getValue().getDescription());
+    }
+
+    @Test
+    void testStreamingUploadLargerThanTheMultipartLimits() throws Exception {
+        // the case file is larger than max-file-size
+        mockMvc.perform(post("/v1/explore/cases/{caseName}", "case1")
+                .queryParam("description", "a description")
+                .queryParam("parentDirectoryUuid", PARENT_DIRECTORY_UUID.toString())
+                .header("userId", USER1)
+                .header(StreamingUploadConfig.HEADER_STREAMING_UPLOAD, "true")
+                .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                .content(multipartBody("caseFile", "x".repeat(100))))
+            .andExpect(status().isPayloadTooLarge());
+
+        // the request is larger than max-request-size, it is rejected before being read
+        mockMvc.perform(post("/v1/explore/cases/{caseName}", "case1")
+                .queryParam("description", "a description")
+                .queryParam("parentDirectoryUuid", PARENT_DIRECTORY_UUID.toString())
+                .header("userId", USER1)
+                .header(StreamingUploadConfig.HEADER_STREAMING_UPLOAD, "true")
+                .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                .content(multipartBody("caseFile", "x".repeat(2000))))
+            .andExpect(status().isPayloadTooLarge());
+
+        verify(directoryService, never()).createElement(any(), any(), any());
+    }
+
+    @Test
+    void testStreamingUploadWithoutCaseFile() throws Exception {
+        mockMvc.perform(post("/v1/explore/cases/{caseName}", "case1")
+                .queryParam("description", "a description")
+                .queryParam("parentDirectoryUuid", PARENT_DIRECTORY_UUID.toString())
+                .header("userId", USER1)
+                .header(StreamingUploadConfig.HEADER_STREAMING_UPLOAD, "true")
+                .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                .content(multipartBody("otherFile")))
+            .andExpect(status().isBadRequest());
+
+        wireMockServer.verify(0, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/v1/cases")));
+        verify(directoryService, never()).createElement(any(), any(), any());
+    }
+
+    @Test
+    void testCasesOfUsersWithoutQuotaAreNotCounted() throws Exception {
+        mockMvc.perform(post("/v1/explore/cases/{caseName}", "case1")
+                .queryParam("description", "a description")
+                .queryParam("parentDirectoryUuid", PARENT_DIRECTORY_UUID.toString())
+                .header("userId", USER1)
+                .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                .content(multipartBody("caseFile")))
+            .andExpect(status().isOk());
+
+        verify(userAdminService, atLeastOnce()).getUserMaxAllowedCases(USER1);
+        verify(directoryService, never()).getUserCasesCount(any());
+    }
+
+    @Test
+    void testCaseCreationRejectedBeforeReadingTheBody() throws Exception {
+        // over quota
+        when(userAdminService.getUserMaxAllowedCases(USER1)).thenReturn(1);
+        when(directoryService.getUserCasesCount(USER1)).thenReturn(1);
+        MvcResult result = mockMvc.perform(post("/v1/explore/cases/{caseName}", "case1")
+                .queryParam("description", "a description")
+                .queryParam("parentDirectoryUuid", PARENT_DIRECTORY_UUID.toString())
+                .header("userId", USER1)
+                .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                .content(multipartBody("caseFile")))
+            .andExpect(status().isForbidden())
+            .andReturn();
+        // rejected by the admission filter, the request did not reach the controller
+        assertNull(result.getHandler());
+        assertTrue(result.getResponse().getContentAsString().contains("max allowed cases reached"));
+
+        // no write permission on the parent directory
+        doThrow(new HttpClientErrorException(HttpStatus.FORBIDDEN))
+            .when(directoryService).checkPermission(List.of(PARENT_DIRECTORY_UUID), null, "user2", PermissionType.WRITE);
+        result = mockMvc.perform(post("/v1/explore/cases/{caseName}", "case1")
+                .queryParam("description", "a description")
+                .queryParam("parentDirectoryUuid", PARENT_DIRECTORY_UUID.toString())
+                .header("userId", "user2")
+                .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                .content(multipartBody("caseFile")))
+            .andExpect(status().isForbidden())
+            .andReturn();
+        assertNull(result.getHandler());
+        verify(userAdminService, never()).getUserMaxAllowedCases("user2");
+
+        wireMockServer.verify(0, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/v1/cases")));
+        verify(directoryService, never()).createElement(any(), any(), any());
+    }
+
+    @Test
+    void testSameContentIsImportedByDuplication() throws Exception {
+        UUID duplicatedCaseUuid = UUID.randomUUID();
+        wireMockServer.stubFor(WireMock.post(WireMock.urlPathEqualTo("/v1/cases/" + CASE_UUID + "/duplicate"))
+            .willReturn(WireMock.ok()
+                .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .withBody("\"" + duplicatedCaseUuid + "\"")));
+        byte[] content = "<network id=\"reference\"/>".getBytes(StandardCharsets.UTF_8);
+
+        for (String caseName : List.of("reference1", "reference2")) {
+            mockMvc.perform(multipart("/v1/explore/cases/{caseName}", caseName)
+                    .file(new MockMultipartFile("caseFile", "reference.xiidm", MediaType.APPLICATION_XML_VALUE, content))
+                    .queryParam("description", "a description")
+                    .queryParam("parentDirectoryUuid", PARENT_DIRECTORY_UUID.toString())
+                    .header("userId", USER1))
+                .andExpect(status().isOk());
+        }
+
+        // the second file is not uploaded again
+        wireMockServer.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/v1/cases")));
+        wireMockServer.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/v1/cases/" + CASE_UUID + "/duplicate")));
+        ArgumentCaptor<ElementAttributes> elementAttributes = ArgumentCaptor.forClass(ElementAttributes.class);
+        verify(directoryService, times(2)).createElement(elementAttributes.capture(), eq(PARENT_DIRECTORY_UUID), eq(USER1));
+        assertEquals(List.of(CASE_UUID, duplicatedCaseUuid), elementAttributes.getAllValues().stream().map(ElementAttributes::getElementUuid).toList());
+    }
+
+    @Test
+    void testArchiveImport() throws Exception {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(archive)) {
+            zipOutputStream.putNextEntry(new ZipEntry("networks/"));
+            for (String fileName : List.of("networks/north.xiidm", "networks/south.xiidm", ".DS_Store")) {
+                zipOutputStream.putNextEntry(new ZipEntry(fileName));
+                zipOutputStream.write(("<network id=\"" + fileName + "\"/>").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        // the element of the second case cannot be created
+        when(directoryService.createElement(argThat(element -> "south".equals(element.getElementName())), eq(PARENT_DIRECTORY_UUID), eq(USER1)))
+            .thenThrow(new HttpClientErrorException(HttpStatus.CONFLICT));
+        wireMockServer.stubFor(WireMock.delete(WireMock.urlPathEqualTo("/v1/cases/" + CASE_UUID)).willReturn(WireMock.ok()));
+
+        MvcResult result = mockMvc.perform(post("/v1/explore/case-archives")
+                .queryParam("description", "a description")
+                .queryParam("parentDirectoryUuid", PARENT_DIRECTORY_UUID.toString())
+                .header("userId", USER1)
+                .header(RestTemplateConfig.RoleHeaderForwardingInterceptor.ROLES_HEADER, "USER")
+                .contentType("application/zip")
+                .content(archive.toByteArray()))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        List<CaseImportReport> reports = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() { });
+        assertEquals(List.of("north.xiidm", "south.xiidm"), reports.stream().map(CaseImportReport::fileName).toList());
+        assertEquals(CaseImportReport.imported("north.xiidm", "north", CASE_UUID), reports.get(0));
+        assertNull(reports.get(1).caseUuid());
+        assertNotNull(reports.get(1).error());
+        // imported by the importer threads, with the roles of the request
+        wireMockServer.verify(2, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/v1/cases"))
+            .withHeader(RestTemplateConfig.RoleHeaderForwardingInterceptor.ROLES_HEADER, WireMock.equalTo("USER")));
+        // rollback of the second case
+        wireMockServer.verify(1, WireMock.deleteRequestedFor(WireMock.urlPathEqualTo("/v1/cases/" + CASE_UUID)));
+    }
+
+    @Test
+    void testChunkedUpload() throws Exception {
+        byte[] content = CASE_CONTENT.getBytes(StandardCharsets.UTF_8);
+        MvcResult result = mockMvc.perform(post("/v1/explore/case-uploads")
+                .queryParam("caseName", "case1")
+                .queryParam("description", "a description")
+                .queryParam("parentDirectoryUuid", PARENT_DIRECTORY_UUID.toString())
+                .queryParam("fileName", "network.xiidm")
+                .queryParam("fileSize", String.valueOf(content.length))
+                .header("userId", USER1))
+            .andExpect(status().isOk())
+            .andReturn();
+        CaseUploadStatus upload = objectMapper.readValue(result.getResponse().getContentAsString(), CaseUploadStatus.class);
+        assertEquals(3, upload.chunkCount());
+        assertEquals(List.of(0, 1, 2), upload.missingChunks());
+        UUID uploadId = upload.uploadId();
+
+        putChunk(uploadId, 2, Arrays.copyOfRange(content, 16, content.length), Arrays.copyOfRange(content, 16, content.length)).andExpect(status().isOk());
+        putChunk(uploadId, 0, Arrays.copyOfRange(content, 0, 8), Arrays.copyOfRange(content, 0, 8)).andExpect(status().isOk());
+        // corrupted chunk
+        putChunk(uploadId, 1, "corruptd".getBytes(StandardCharsets.UTF_8), Arrays.copyOfRange(content, 8, 16)).andExpect(status().isBadRequest());
+        // other users do not see the upload
+        mockMvc.perform(get("/v1/explore/case-uploads/{uploadId}", uploadId).header("userId", "user2"))
+            .andExpect(status().isNotFound());
+
+        result = mockMvc.perform(get("/v1/explore/case-uploads/{uploadId}", uploadId).header("userId", USER1))
+            .andExpect(status().isOk())
+            .andReturn();
+        assertEquals(List.of(1), objectMapper.readValue(result.getResponse().getContentAsString(), CaseUploadStatus.class).missingChunks());
+        mockMvc.perform(post("/v1/explore/case-uploads/{uploadId}/commit", uploadId).header("userId", USER1))
+            .andExpect(status().isConflict());
+        wireMockServer.verify(0, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/v1/cases")));
+
+        putChunk(uploadId, 1, Arrays.copyOfRange(content, 8, 16), Arrays.copyOfRange(content, 8, 16)).andExpect(status().isOk());
+        mockMvc.perform(post("/v1/explore/case-uploads/{uploadId}/commit", uploadId).header("userId", USER1))
+            .andExpect(status().isOk());
+
+        wireMockServer.verify(WireMock.postRequestedFor(WireMock.urlPathEqualTo("/v1/cases"))
+            .withRequestBodyPart(WireMock.aMultipart()
+                .withName("file")
+                .withBody(WireMock.equalTo(CASE_CONTENT))
+                .build()));
+        verify(directoryService).createElement(any(ElementAttributes.class), eq(PARENT_DIRECTORY_UUID), eq(USER1));
+        // the upload is over
+        mockMvc.perform(get("/v1/explore/case-uploads/{uploadId}", uploadId).header("userId", USER1))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testChunkedUploadCommitRechecksPermission() throws Exception {
+        byte[] content = "<n id/>".getBytes(StandardCharsets.UTF_8);
+        MvcResult result = mockMvc.perform(post("/v1/explore/case-uploads")
+                .queryParam("caseName", "case1")
+                .queryParam("description", "a description")
+                .queryParam("parentDirectoryUuid", PARENT_DIRECTORY_UUID.toString())
+                .queryParam("fileName", "network.xiidm")
+                .queryParam("fileSize", String.valueOf(content.length))
+                .header("userId", USER1))
+            .andExpect(status().isOk())
+            .andReturn();
+        UUID uploadId = objectMapper.readValue(result.getResponse().getContentAsString(), CaseUploadStatus.class).uploadId();
+        putChunk(uploadId, 0, content, content).andExpect(status().isOk());
+
+        // the write permission is revoked after the upload was created
+        doThrow(new HttpClientErrorException(HttpStatus.FORBIDDEN))
+            .when(directoryService).checkPermission(List.of(PARENT_DIRECTORY_UUID), null, USER1, PermissionType.WRITE);
+        putChunk(uploadId, 0, content, content).andExpect(status().isForbidden());
+        mockMvc.perform(post("/v1/explore/case-uploads/{uploadId}/commit", uploadId).header("userId", USER1))
+            .andExpect(status().isForbidden());
+
+        wireMockServer.verify(0, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/v1/cases")));
+        verify(directoryService, never()).createElement(any(), any(), any());
+        caseUploadService.deleteUpload(uploadId, USER1);
+    }
+
+    @Test
+    void testNoChunkIsWrittenWhileCommitting() throws Exception {
+        byte[] content = "<n id/>".getBytes(StandardCharsets.UTF_8);
+        String contentDigest = "sha-256=:" + digest(content) + ":";
+        UUID uploadId = caseUploadService.createUpload(new CaseUploadService.CaseUpload("case1", "a description", PARENT_DIRECTORY_UUID, "network.xiidm"),
+            content.length, USER1).uploadId();
+        caseUploadService.writeChunk(uploadId, 0, new ByteArrayInputStream(content), contentDigest, USER1);
+
+        caseUploadService.commit(uploadId, USER1, (caseUpload, caseFile) -> {
+            ExploreException exception = assertThrows(ExploreException.class,
+                () -> caseUploadService.writeChunk(uploadId, 0, new ByteArrayInputStream(content), contentDigest, USER1));
+            assertEquals(ExploreBusinessErrorCode.EXPLORE_UPLOAD_INCOMPLETE, exception.getBusinessErrorCode());
+        });
+    }
+
+    @Test
+    void testUploadIsNotDeletedWhileCommitting() throws Exception {
+        byte[] content = "<n id/>".getBytes(StandardCharsets.UTF_8);
+        UUID uploadId = caseUploadService.createUpload(new CaseUploadService.CaseUpload("case1", "a description", PARENT_DIRECTORY_UUID, "network.xiidm"),
+            content.length, USER1).uploadId();
+        caseUploadService.writeChunk(uploadId, 0, new ByteArrayInputStream(content), "sha-256=:" + digest(content) + ":", USER1);
+
+        caseUploadService.commit(uploadId, USER1, (caseUpload, caseFile) -> {
+            ExploreException exception = assertThrows(ExploreException.class, () -> caseUploadService.deleteUpload(uploadId, USER1));
+            assertEquals(ExploreBusinessErrorCode.EXPLORE_UPLOAD_INCOMPLETE, exception.getBusinessErrorCode());
+        });
+        // the upload was deleted by the commit only
+        assertThrows(ExploreException.class, () -> caseUploadService.deleteUpload(uploadId, USER1));
+    }
+
+    @Test
+    void testUploadLimits() throws Exception {
+        // the multipart limit of 64 bytes applies to chunked uploads too
+        mockMvc.perform(post("/v1/explore/case-uploads")
+                .queryParam("caseName", "case1")
+                .queryParam("description", "a description")
+                .queryParam("parentDirectoryUuid", PARENT_DIRECTORY_UUID.toString())
+                .queryParam("fileName", "network.xiidm")
+                .queryParam("fileSize", "65")
+                .header("userId", USER1))
+            .andExpect(status().isPayloadTooLarge());
+
+        CaseUploadService.CaseUpload caseUpload = new CaseUploadService.CaseUpload("case1", "a description", PARENT_DIRECTORY_UUID, "network.xiidm");
+        UUID uploadId1 = caseUploadService.createUpload(caseUpload, 64, USER1).uploadId();
+        UUID uploadId2 = caseUploadService.createUpload(caseUpload, 64, USER1).uploadId();
+        ExploreException exception = assertThrows(ExploreException.class, () -> caseUploadService.createUpload(caseUpload, 64, USER1));
+        assertEquals(ExploreBusinessErrorCode.EXPLORE_MAX_UPLOADS_EXCEEDED, exception.getBusinessErrorCode());
+        // the limit is per user
+        UUID otherUserUploadId = caseUploadService.createUpload(caseUpload, 64, "user2").uploadId();
+
+        caseUploadService.deleteUpload(uploadId1, USER1);
+        UUID uploadId3 = caseUploadService.createUpload(caseUpload, 64, USER1).uploadId();
+        caseUploadService.deleteUpload(uploadId2, USER1);
+        caseUploadService.deleteUpload(uploadId3, USER1);
+        caseUploadService.deleteUpload(otherUserUploadId, "user2");
+    }
+
+    private ResultActions putChunk(UUID uploadId, int index, byte[] chunk, byte[] digestedContent) throws Exception {
+        return mockMvc.perform(put("/v1/explore/case-uploads/{uploadId}/chunks/{index}", uploadId, index)
+            .header("userId", USER1)
+            .header("Content-Digest", "sha-256=:" + digest(digestedContent) + ":")
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .content(chunk));
+    }
+
+    private static String digest(byte[] content) throws Exception {
+        return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
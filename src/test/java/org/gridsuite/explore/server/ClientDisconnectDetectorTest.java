@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.gridsuite.explore.server.services.ClientDisconnectDetector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ClientDisconnectDetectorTest {
+
+    private static final String SEARCH_PATH = "/v1/elements/indexation-infos";
+
+    private final ClientDisconnectDetector detector = new ClientDisconnectDetector();
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private WireMockServer wireMockServer;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        request.setAsyncSupported(true);
+        request.startAsync(request, response);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    // as the container does once the connection of the asynchronous request is closed
+    private void disconnectClientAfter(long delayMillis) {
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        CompletableFuture.runAsync(() -> {
+            for (AsyncListener listener : asyncContext.getListeners()) {
+                try {
+                    listener.onError(new AsyncEvent(asyncContext, new IOException("Broken pipe")));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }, CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testRemoteCallIsAbortedWhenTheClientDisconnects() {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo(SEARCH_PATH))
+            .willReturn(WireMock.okJson("[]").withFixedDelay(30_000)));
+        RestTemplate restTemplate = new RestTemplate(new JdkClientHttpRequestFactory());
+        disconnectClientAfter(200);
+
+        // the call returns long before the directory server answers: the remote call has been aborted
+        IOException disconnection = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            IOException e = assertThrows(IOException.class, () -> detector.callWhileConnected(request,
+                () -> restTemplate.getForObject(wireMockServer.baseUrl() + SEARCH_PATH, String.class)));
+            // the interruption does not leak to the thread once the call is aborted
+            assertFalse(Thread.currentThread().isInterrupted());
+            return e;
+        });
+        assertEquals("Broken pipe", disconnection.getMessage());
+        assertInstanceOf(ResourceAccessException.class, disconnection.getSuppressed()[0]);
+        wireMockServer.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo(SEARCH_PATH)));
+    }
+
+    @Test
+    void testConnectedClientGetsTheResult() throws IOException {
+        String result = detector.callWhileConnected(request, () -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return "result";
+        });
+
+        assertEquals("result", result);
+        // nothing was written while the result was computed, its status can still be set
+        assertFalse(response.isCommitted());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void testComputationFailureIsRethrown() {
+        IllegalStateException failure = new IllegalStateException("search failed");
+
+        assertSame(failure, assertThrows(IllegalStateException.class,
+            () -> detector.callWhileConnected(request, () -> {
+                throw failure;
+            })));
+        assertFalse(response.isCommitted());
+    }
+}
@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.gridsuite.explore.server.dto.ElementAttributes;
+import org.gridsuite.explore.server.dto.ElementDuplication;
+import org.gridsuite.explore.server.error.ExploreException;
+import org.gridsuite.explore.server.services.DirectoryCopyService;
+import org.gridsuite.explore.server.services.DirectoryService;
+import org.gridsuite.explore.server.services.ExploreService;
+import org.gridsuite.explore.server.services.UserAdminService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The copy of a directory tree, against a mock directory server, the elements being duplicated by a mock explore service
+ */
+@SpringBootTest(properties = "explore.directory-copy.max-concurrency-per-service=1")
+class DirectoryCopyTest {
+
+    private static final String USER1 = "user1";
+    private static final UUID SOURCE_UUID = UUID.randomUUID();
+    private static final UUID SUBDIRECTORY_UUID = UUID.randomUUID();
+    private static final UUID TARGET_UUID = UUID.randomUUID();
+    private static final UUID COPY_UUID = UUID.randomUUID();
+    private static final UUID SUBDIRECTORY_COPY_UUID = UUID.randomUUID();
+    private static final UUID FILTER1_UUID = UUID.randomUUID();
+    private static final UUID FILTER2_UUID = UUID.randomUUID();
+    private static final UUID FILTER3_UUID = UUID.randomUUID();
+    private static final UUID CASE1_UUID = UUID.randomUUID();
+    private static final UUID CASE2_UUID = UUID.randomUUID();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Autowired
+    private DirectoryCopyService directoryCopyService;
+
+    @Autowired
+    private DirectoryService directoryService;
+
+    @MockitoBean
+    private ExploreService exploreService;
+
+    @MockitoBean
+    private UserAdminService userAdminService;
+
+    private WireMockServer wireMockServer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        directoryService.setDirectoryServerBaseUri(wireMockServer.baseUrl());
+
+        // source: filter1, filter2, subdirectory: filter3
+        stubElement(new ElementAttributes(SOURCE_UUID, "source", "DIRECTORY", USER1, 1L, null));
+        stubDirectoryElements(SOURCE_UUID, List.of(
+            new ElementAttributes(FILTER1_UUID, "filter1", "FILTER", USER1, 0L, null),
+            new ElementAttributes(FILTER2_UUID, "filter2", "FILTER", USER1, 0L, null),
+            new ElementAttributes(SUBDIRECTORY_UUID, "subdirectory", "DIRECTORY", USER1, 0L, null)));
+        stubDirectoryElements(SUBDIRECTORY_UUID, List.of(new ElementAttributes(FILTER3_UUID, "filter3", "FILTER", USER1, 0L, null)));
+        stubDirectoryCreation(TARGET_UUID, COPY_UUID);
+        stubDirectoryCreation(COPY_UUID, SUBDIRECTORY_COPY_UUID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    private void stubElement(ElementAttributes element) throws Exception {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/v1/elements/" + element.getElementUuid()))
+            .willReturn(WireMock.okJson(mapper.writeValueAsString(element))));
+    }
+
+    private void stubDirectoryElements(UUID directoryUuid, List<ElementAttributes> elements) throws Exception {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/v1/directories/" + directoryUuid + "/elements"))
+            .willReturn(WireMock.okJson(mapper.writeValueAsString(elements))));
+    }
+
+    private void stubDirectoryCreation(UUID parentDirectoryUuid, UUID createdDirectoryUuid) throws Exception {
+        wireMockServer.stubFor(WireMock.post(WireMock.urlPathEqualTo("/v1/directories/" + parentDirectoryUuid + "/elements"))
+            .willReturn(WireMock.okJson(mapper.writeValueAsString(new ElementAttributes(createdDirectoryUuid, "copy", "DIRECTORY", USER1, 0L, null)))));
+    }
+
+    private static ElementDuplication duplicationOf(UUID elementUuid) {
+        return argThat(element -> element != null && elementUuid.equals(element.elementUuid()));
+    }
+
+    @Test
+    void testCopyIsDeletedWhenAnElementCannotBeDuplicated() {
+        IllegalStateException failure = new IllegalStateException("filter2 cannot be duplicated");
+        doThrow(failure).when(exploreService).duplicateElement(duplicationOf(FILTER2_UUID), any(), anyString());
+
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> directoryCopyService.copyDirectory(SOURCE_UUID, TARGET_UUID, USER1)));
+
+        // the copy and its subdirectory were only created inside the target, deleting the copy deletes them all
+        wireMockServer.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/v1/directories/" + TARGET_UUID + "/elements")));
+        wireMockServer.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/v1/directories/" + COPY_UUID + "/elements")));
+        wireMockServer.verify(2, WireMock.postRequestedFor(WireMock.anyUrl()));
+        verify(exploreService).deleteElement(COPY_UUID, USER1);
+        verify(exploreService, times(1)).deleteElement(any(), anyString());
+        // the duplications are made one at a time here, the one following the failure is skipped
+        verify(exploreService).duplicateElement(duplicationOf(FILTER1_UUID), eq(COPY_UUID), eq(USER1));
+        verify(exploreService, never()).duplicateElement(duplicationOf(FILTER3_UUID), any(), anyString());
+    }
+
+    @Test
+    void testConcurrentCopiesShareTheConcurrencyOfAService() {
+        AtomicInteger duplicating = new AtomicInteger();
+        AtomicInteger maxDuplicating = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxDuplicating.accumulateAndGet(duplicating.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            duplicating.decrementAndGet();
+            return UUID.randomUUID();
+        }).when(exploreService).duplicateElement(any(), any(), anyString());
+
+        List<CompletableFuture<UUID>> copies = List.of(
+            CompletableFuture.supplyAsync(() -> directoryCopyService.copyDirectory(SOURCE_UUID, TARGET_UUID, USER1)),
+            CompletableFuture.supplyAsync(() -> directoryCopyService.copyDirectory(SOURCE_UUID, TARGET_UUID, USER1)),
+            CompletableFuture.supplyAsync(() -> directoryCopyService.copyDirectory(SOURCE_UUID, TARGET_UUID, USER1)));
+        copies.forEach(copy -> assertEquals(COPY_UUID, copy.join()));
+
+        verify(exploreService, times(9)).duplicateElement(any(), any(), anyString());
+        assertEquals(1, maxDuplicating.get());
+    }
+
+    @Test
+    void testConcurrentCopiesCannotExceedTheCasesQuota() throws Exception {
+        UUID casesDirectoryUuid = UUID.randomUUID();
+        stubElement(new ElementAttributes(casesDirectoryUuid, "cases", "DIRECTORY", USER1, 0L, null));
+        stubDirectoryElements(casesDirectoryUuid, List.of(
+            new ElementAttributes(CASE1_UUID, "case1", "CASE", USER1, 0L, null),
+            new ElementAttributes(CASE2_UUID, "case2", "CASE", USER1, 0L, null)));
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/v1/users/" + USER1 + "/cases/count"))
+            .willReturn(WireMock.okJson("1")));
+        when(userAdminService.getUserMaxAllowedCases(USER1)).thenReturn(4);
+        CountDownLatch firstCopyStarted = new CountDownLatch(1);
+        CountDownLatch firstCopyReleased = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firstCopyStarted.countDown();
+            assertTrue(firstCopyReleased.await(5, TimeUnit.SECONDS));
+            return UUID.randomUUID();
+        }).when(exploreService).duplicateElement(any(), any(), anyString());
+
+        CompletableFuture<UUID> firstCopy = CompletableFuture.supplyAsync(() -> directoryCopyService.copyDirectory(casesDirectoryUuid, TARGET_UUID, USER1));
+        assertTrue(firstCopyStarted.await(5, TimeUnit.SECONDS));
+        // 1 case counted and 2 cases being copied: 2 more cases exceed the quota of 4
+        assertThrows(ExploreException.class, () -> directoryCopyService.copyDirectory(casesDirectoryUuid, TARGET_UUID, USER1));
+        firstCopyReleased.countDown();
+        assertEquals(COPY_UUID, firstCopy.join());
+        // the refused copy created nothing
+        wireMockServer.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/v1/directories/" + TARGET_UUID + "/elements")));
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.gridsuite.explore.server.dto.ElementAttributes;
+import org.gridsuite.explore.server.services.DirectoryListingCache;
+import org.gridsuite.explore.server.services.DirectoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DirectoryElementsPageTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DirectoryService directoryService;
+
+    @Autowired
+    private DirectoryListingCache directoryListingCache;
+
+    private WireMockServer wireMockServer;
+
+    private static final String USER1 = "user1";
+    private static final UUID DIRECTORY_UUID = UUID.randomUUID();
+    private static final String LISTING_PATH = "/v1/directories/" + DIRECTORY_UUID + "/elements";
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        directoryService.setDirectoryServerBaseUri(wireMockServer.baseUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+        directoryListingCache.clear();
+    }
+
+    private List<String> stubListing(int size) throws Exception {
+        List<String> uuids = new ArrayList<>();
+        List<ElementAttributes> elements = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            UUID uuid = UUID.randomUUID();
+            uuids.add(uuid.toString());
+            elements.add(new ElementAttributes(uuid, "element" + i, "FILTER", USER1, 0L, null));
+        }
+        Collections.sort(uuids);
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo(LISTING_PATH))
+            .withQueryParam("recursive", WireMock.equalTo("true"))
+            .willReturn(WireMock.ok()
+                .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .withBody(objectMapper.writeValueAsString(elements))));
+        return uuids;
+    }
+
+    @Test
+    void testPageThroughRecursiveListing() throws Exception {
+        List<String> uuids = stubListing(5);
+
+        MvcResult result = getPage(null, 2);
+        assertEquals(uuids.subList(0, 2), getUuids(result));
+        String cursor = result.getResponse().getHeader("X-Next-Cursor");
+        assertEquals(uuids.get(1), cursor);
+
+        result = getPage(cursor, 2);
+        assertEquals(uuids.subList(2, 4), getUuids(result));
+        cursor = result.getResponse().getHeader("X-Next-Cursor");
+
+        result = getPage(cursor, 2);
+        assertEquals(uuids.subList(4, 5), getUuids(result));
+        assertNull(result.getResponse().getHeader("X-Next-Cursor"));
+
+        // the listing was downloaded for the first page only
+        wireMockServer.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo(LISTING_PATH)));
+    }
+
+    @Test
+    void testListingIsDownloadedAgainAfterADirectoryUpdate() throws Exception {
+        List<String> uuids = stubListing(3);
+
+        MvcResult result = getPage(null, 2);
+        String cursor = result.getResponse().getHeader("X-Next-Cursor");
+        directoryListingCache.onDirectoryUpdate(MessageBuilder.withPayload("")
+            .setHeader("directoryUuid", UUID.randomUUID().toString())
+            .setHeader("userId", "user2")
+            .build());
+
+        // a recursive listing may contain the updated directory
+        result = getPage(cursor, 2);
+        assertEquals(uuids.subList(2, 3), getUuids(result));
+        wireMockServer.verify(2, WireMock.getRequestedFor(WireMock.urlPathEqualTo(LISTING_PATH)));
+    }
+
+    private MvcResult getPage(String cursor, int limit) throws Exception {
+        var request = get("/v1/explore/directories/{directoryUuid}/elements", DIRECTORY_UUID)
+            .param("recursive", "true")
+            .param("limit", String.valueOf(limit))
+            .header("userId", USER1);
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+    }
+
+    private List<String> getUuids(MvcResult result) throws Exception {
+        List<Map<String, Object>> page = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() { });
+        return page.stream().map(element -> (String) element.get("elementUuid")).toList();
+    }
+}
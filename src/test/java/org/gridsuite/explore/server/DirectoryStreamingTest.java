@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.gridsuite.explore.server.services.DirectoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DirectoryStreamingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DirectoryService directoryService;
+
+    private WireMockServer wireMockServer;
+
+    private static final String USER1 = "user1";
+    private static final UUID DIRECTORY_UUID = UUID.randomUUID();
+    private static final UUID ELEMENT_UUID = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        directoryService.setDirectoryServerBaseUri(wireMockServer.baseUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void testStreamRootDirectories() throws Exception {
+        String body = "[{\"elementUuid\":\"" + DIRECTORY_UUID + "\",\"elementName\":\"root\",\"type\":\"DIRECTORY\"}]";
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/v1/root-directories"))
+            .withHeader("userId", WireMock.equalTo(USER1))
+            .willReturn(WireMock.ok()
+                .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .withBody(body)));
+
+        mockMvc.perform(get("/v1/explore/directories/root-directories").header("userId", USER1))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(content().string(body));
+    }
+
+    @Test
+    void testStreamDirectoryElements() throws Exception {
+        String body = "[{\"elementUuid\":\"" + ELEMENT_UUID + "\",\"elementName\":\"filter\",\"type\":\"FILTER\"}]";
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/v1/directories/" + DIRECTORY_UUID + "/elements"))
+            .withQueryParam("elementTypes", WireMock.equalTo("FILTER"))
+            .willReturn(WireMock.ok()
+                .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .withBody(body)));
+
+        mockMvc.perform(get("/v1/explore/directories/{directoryUuid}/elements", DIRECTORY_UUID)
+                .param("elementTypes", "FILTER")
+                .header("userId", USER1))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(content().string(body));
+    }
+
+    @Test
+    void testStreamNameCandidateKeepsContentType() throws Exception {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/v1/directories/" + DIRECTORY_UUID + "/name/newNameCandidate"))
+            .withQueryParam("type", WireMock.equalTo("FILTER"))
+            .willReturn(WireMock.ok()
+                .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+                .withBody("name(1)")));
+
+        mockMvc.perform(get("/v1/explore/directories/{directoryUuid}/{elementName}/newNameCandidate", DIRECTORY_UUID, "name")
+                .param("type", "FILTER")
+                .header("userId", USER1))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+            .andExpect(content().string("name(1)"));
+    }
+
+    @Test
+    void testStreamPathPropagatesErrorStatus() throws Exception {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/v1/elements/" + ELEMENT_UUID + "/path"))
+            .willReturn(WireMock.notFound()));
+
+        mockMvc.perform(get("/v1/explore/directories/elements/{elementUuid}/path", ELEMENT_UUID).header("userId", USER1))
+            .andExpect(status().isNotFound());
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/v1/elements/" + ELEMENT_UUID + "/path"))
+            .willReturn(WireMock.forbidden()));
+
+        mockMvc.perform(get("/v1/explore/directories/elements/{elementUuid}/path", ELEMENT_UUID).header("userId", USER1))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testSearchPropagatesLateErrorStatus() throws Exception {
+        // answered long after the search started: nothing has been written to the client meanwhile
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/v1/elements/indexation-infos"))
+            .withQueryParam("userInput", WireMock.equalTo("forbidden"))
+            .willReturn(WireMock.forbidden().withFixedDelay(1000)));
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/v1/elements/indexation-infos"))
+            .withQueryParam("userInput", WireMock.equalTo("missing"))
+            .willReturn(WireMock.notFound().withFixedDelay(1000)));
+
+        MvcResult asyncResult = mockMvc.perform(get("/v1/explore/directories/elements/indexation-infos")
+                .param("userInput", "forbidden")
+                .header("userId", USER1))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(asyncResult))
+            .andExpect(status().isForbidden());
+
+        asyncResult = mockMvc.perform(get("/v1/explore/directories/elements/indexation-infos")
+                .param("userInput", "missing")
+                .header("userId", USER1))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(asyncResult))
+            .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.gridsuite.explore.server.services.DirectoryTreeReplica;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectoryTreeReplicaTest {
+
+    private static final String USER1 = "user1";
+    private static final String USER2 = "user2";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final DirectoryTreeReplica replica = new DirectoryTreeReplica(true, 1000, 3, 2, objectMapper);
+
+    private final UUID rootUuid = UUID.randomUUID();
+    private final UUID subDirectoryUuid = UUID.randomUUID();
+    private final UUID filterUuid = UUID.randomUUID();
+
+    private JsonNode element(UUID uuid, String name, String type) {
+        ObjectNode element = objectMapper.createObjectNode();
+        element.put("elementUuid", uuid.toString());
+        element.put("elementName", name);
+        element.put("type", type);
+        element.put("owner", USER1);
+        return element;
+    }
+
+    private void fillReplica() {
+        replica.recordRootDirectories(USER1, List.of(element(rootUuid, "root", "DIRECTORY")), replica.getGeneration());
+        replica.recordDirectoryElements(rootUuid, USER1, List.of(element(subDirectoryUuid, "sub", "DIRECTORY"), element(filterUuid, "filter", "FILTER")), replica.getGeneration());
+    }
+
+    private List<String> names(Optional<byte[]> json) throws Exception {
+        return objectMapper.readTree(json.orElseThrow()).findValuesAsText("elementName");
+    }
+
+    @Test
+    void testListingsArePerUser() throws Exception {
+        fillReplica();
+
+        assertEquals(List.of("root"), names(replica.getRootDirectories(USER1)));
+        assertEquals(List.of("sub", "filter"), names(replica.getDirectoryElements(rootUuid, USER1)));
+        assertTrue(replica.getRootDirectories(USER2).isEmpty());
+        assertTrue(replica.getDirectoryElements(rootUuid, USER2).isEmpty());
+    }
+
+    @Test
+    void testPathAndElementExists() throws Exception {
+        fillReplica();
+
+        assertEquals(List.of("filter", "root"), names(replica.getPath(filterUuid, USER1)));
+        assertTrue(replica.getPath(filterUuid, USER2).isEmpty());
+        assertEquals(Optional.of(true), replica.elementExists(rootUuid, "filter", "FILTER", USER1));
+        assertEquals(Optional.of(false), replica.elementExists(rootUuid, "other", "FILTER", USER1));
+        assertEquals(Optional.empty(), replica.elementExists(rootUuid, "other", "DIRECTORY", USER1));
+        assertEquals(Optional.empty(), replica.elementExists(subDirectoryUuid, "filter", "FILTER", USER1));
+        // another user never learns anything from a listing they did not fetch
+        assertEquals(Optional.empty(), replica.elementExists(rootUuid, "filter", "FILTER", USER2));
+        assertEquals(Optional.of("FILTER"), replica.getType(filterUuid));
+        assertEquals(Optional.empty(), replica.getType(UUID.randomUUID()));
+    }
+
+    @Test
+    void testDirectoryUpdateInvalidates() {
+        fillReplica();
+
+        replica.onDirectoryUpdate(MessageBuilder.withPayload("").setHeader("directoryUuid", UUID.randomUUID().toString()).setHeader("isRootDirectory", true).build());
+        assertTrue(replica.getRootDirectories(USER1).isEmpty());
+        assertTrue(replica.getDirectoryElements(rootUuid, USER1).isPresent());
+
+        replica.onDirectoryUpdate(MessageBuilder.withPayload("").setHeader("directoryUuid", rootUuid.toString()).build());
+        assertTrue(replica.getDirectoryElements(rootUuid, USER1).isEmpty());
+        assertTrue(replica.getPath(filterUuid, USER1).isEmpty());
+
+        // messages not related to a directory content are ignored
+        fillReplica();
+        replica.onDirectoryUpdate(MessageBuilder.withPayload("").setHeader("userMessage", "casesAlertThreshold").build());
+        assertTrue(replica.getDirectoryElements(rootUuid, USER1).isPresent());
+    }
+
+    @Test
+    void testListingFetchedDuringInvalidationIsNotKept() {
+        long generation = replica.getGeneration();
+        replica.invalidate(rootUuid);
+        replica.recordDirectoryElements(rootUuid, USER1, List.of(element(filterUuid, "filter", "FILTER")), generation);
+        assertTrue(replica.getDirectoryElements(rootUuid, USER1).isEmpty());
+    }
+
+    @Test
+    void testVerify() {
+        fillReplica();
+        DirectoryTreeReplica.ListingKey key = new DirectoryTreeReplica.ListingKey(USER1, rootUuid);
+
+        assertTrue(replica.verify(key, List.of(element(subDirectoryUuid, "sub", "DIRECTORY"), element(filterUuid, "filter", "FILTER"))));
+        assertFalse(replica.verify(key, List.of(element(filterUuid, "renamed", "FILTER"))));
+        assertTrue(replica.getDirectoryElements(rootUuid, USER1).isEmpty());
+    }
+
+    @Test
+    void testListingsAreBoundedAndSampled() {
+        fillReplica();
+        UUID otherDirectoryUuid = UUID.randomUUID();
+        // reading the root directories listing makes the root directory listing the least recently used one
+        assertTrue(replica.getRootDirectories(USER1).isPresent());
+        replica.recordDirectoryElements(subDirectoryUuid, USER1, List.of(), replica.getGeneration());
+        replica.recordDirectoryElements(otherDirectoryUuid, USER1, List.of(), replica.getGeneration());
+
+        assertTrue(replica.getDirectoryElements(rootUuid, USER1).isEmpty());
+        assertTrue(replica.getRootDirectories(USER1).isPresent());
+        assertTrue(replica.getDirectoryElements(otherDirectoryUuid, USER1).isPresent());
+        assertEquals(2, replica.getListingKeysToVerify().size());
+    }
+
+    @Test
+    void testAttributesArePerUser() throws Exception {
+        ObjectNode seenByUser1 = (ObjectNode) element(subDirectoryUuid, "sub", "DIRECTORY");
+        seenByUser1.put("subdirectoriesCount", 2);
+        ObjectNode seenByUser2 = (ObjectNode) element(subDirectoryUuid, "sub", "DIRECTORY");
+        seenByUser2.put("subdirectoriesCount", 0);
+        replica.recordDirectoryElements(rootUuid, USER1, List.of(seenByUser1), replica.getGeneration());
+        replica.recordDirectoryElements(rootUuid, USER2, List.of(seenByUser2), replica.getGeneration());
+
+        assertEquals(2, objectMapper.readTree(replica.getDirectoryElements(rootUuid, USER1).orElseThrow()).get(0).get("subdirectoriesCount").asInt());
+        assertEquals(0, objectMapper.readTree(replica.getDirectoryElements(rootUuid, USER2).orElseThrow()).get(0).get("subdirectoriesCount").asInt());
+    }
+
+    @Test
+    void testLeastRecentlyUsedNodesAreDropped() throws Exception {
+        DirectoryTreeReplica smallReplica = new DirectoryTreeReplica(true, 2, 10, 2, objectMapper);
+        smallReplica.recordRootDirectories(USER1, List.of(element(rootUuid, "root", "DIRECTORY")), smallReplica.getGeneration());
+        smallReplica.recordDirectoryElements(rootUuid, USER1, List.of(element(subDirectoryUuid, "sub", "DIRECTORY"), element(filterUuid, "filter", "FILTER")), smallReplica.getGeneration());
+
+        // the root directory node was dropped, the replica was not cleared
+        assertEquals(Optional.empty(), smallReplica.getType(rootUuid));
+        assertTrue(smallReplica.getPath(filterUuid, USER1).isEmpty());
+        assertEquals(Optional.of("FILTER"), smallReplica.getType(filterUuid));
+        assertEquals(List.of("sub", "filter"), names(smallReplica.getDirectoryElements(rootUuid, USER1)));
+        assertEquals(List.of("root"), names(smallReplica.getRootDirectories(USER1)));
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import org.gridsuite.explore.server.services.ElementNameCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ElementNameCacheTest {
+
+    private static final UUID ELEMENT_UUID = UUID.randomUUID();
+    private static final UUID MISSING_ELEMENT_UUID = UUID.randomUUID();
+
+    private final Map<UUID, String> remoteNames = new HashMap<>(Map.of(ELEMENT_UUID, "element"));
+
+    private final List<List<UUID>> fetches = new ArrayList<>();
+
+    private Map<UUID, String> fetch(List<UUID> ids) {
+        fetches.add(ids);
+        Map<UUID, String> names = new HashMap<>();
+        ids.stream().filter(remoteNames::containsKey).forEach(id -> names.put(id, remoteNames.get(id)));
+        return names;
+    }
+
+    @Test
+    void testKnownAndMissingNamesAreCached() {
+        ElementNameCache cache = new ElementNameCache(true, Duration.ofMinutes(10), Duration.ofMinutes(1), 100);
+        List<UUID> ids = List.of(ELEMENT_UUID, MISSING_ELEMENT_UUID);
+
+        assertEquals(Map.of(ELEMENT_UUID, "element"), cache.getNames(ids, this::fetch));
+        assertEquals(Map.of(ELEMENT_UUID, "element"), cache.getNames(ids, this::fetch));
+        assertEquals(List.of(ids), fetches);
+
+        // only the evicted id is fetched again
+        remoteNames.put(ELEMENT_UUID, "renamed");
+        cache.onElementUpdate(MessageBuilder.withPayload("").setHeader("elementUuid", ELEMENT_UUID).build());
+        assertEquals(Map.of(ELEMENT_UUID, "renamed"), cache.getNames(ids, this::fetch));
+        assertEquals(List.of(ELEMENT_UUID), fetches.get(1));
+    }
+
+    @Test
+    void testExpiredNamesAreFetchedAgain() {
+        ElementNameCache cache = new ElementNameCache(true, Duration.ofMinutes(10), Duration.ZERO, 100);
+        List<UUID> ids = List.of(ELEMENT_UUID, MISSING_ELEMENT_UUID);
+
+        cache.getNames(ids, this::fetch);
+        remoteNames.put(MISSING_ELEMENT_UUID, "created");
+        assertEquals(Map.of(ELEMENT_UUID, "element", MISSING_ELEMENT_UUID, "created"), cache.getNames(ids, this::fetch));
+        assertEquals(List.of(MISSING_ELEMENT_UUID), fetches.get(1));
+
+        // a renamed directory is notified on itself
+        remoteNames.put(MISSING_ELEMENT_UUID, "renamed");
+        cache.onDirectoryUpdate(MessageBuilder.withPayload("").setHeader("directoryUuid", MISSING_ELEMENT_UUID.toString()).build());
+        assertEquals("renamed", cache.getNames(ids, this::fetch).get(MISSING_ELEMENT_UUID));
+        assertEquals(3, fetches.size());
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.gridsuite.explore.server.services.ElementSearchCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ElementSearchCacheTest {
+
+    private static final String USER = "user1";
+    private static final String DIRECTORY = "";
+    private static final String PARENT_DIRECTORY = UUID.randomUUID().toString();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<String> searchedInputs = new ArrayList<>();
+
+    private List<JsonNode> search(String userInput, String... names) {
+        return searchIn(PARENT_DIRECTORY, userInput, names);
+    }
+
+    private List<JsonNode> searchIn(String parentDirectory, String userInput, String... names) {
+        searchedInputs.add(userInput);
+        return List.of(names).stream().map(name -> (JsonNode) objectMapper.valueToTree(Map.of("name", name, "parentId", parentDirectory))).toList();
+    }
+
+    private static List<String> names(List<JsonNode> elements) {
+        return elements.stream().map(element -> element.path("name").asText()).toList();
+    }
+
+    @Test
+    void testLongerInputIsFilteredFromCompleteResult() {
+        ElementSearchCache cache = new ElementSearchCache(true, Duration.ofMinutes(1), 3, 100);
+
+        assertEquals(List.of("Network", "Réseau net"), names(cache.search(USER, DIRECTORY, "net", limit -> search("net", "Network", "Réseau net"))));
+        assertEquals(List.of("Network"), names(cache.search(USER, DIRECTORY, "NETW", limit -> search("NETW"))));
+        assertEquals(List.of("Réseau net"), names(cache.search(USER, DIRECTORY, "ese", limit -> search("ese", "Réseau net"))));
+        assertEquals(List.of("net", "ese"), searchedInputs);
+
+        // the results are cached per user
+        cache.search("user2", DIRECTORY, "netw", limit -> search("netw", "Network"));
+        assertEquals(List.of("net", "ese", "netw"), searchedInputs);
+    }
+
+    @Test
+    void testTruncatedResultIsNotFiltered() {
+        ElementSearchCache cache = new ElementSearchCache(true, Duration.ofMinutes(1), 2, 100);
+
+        cache.search(USER, DIRECTORY, "n", limit -> search("n", "net1", "net2"));
+        assertEquals(List.of("net3"), names(cache.search(USER, DIRECTORY, "net3", limit -> search("net3", "net3"))));
+
+        cache.clear();
+        cache.search(USER, DIRECTORY, "net3", limit -> search("net3", "net3"));
+        assertEquals(List.of("n", "net3", "net3"), searchedInputs);
+    }
+
+    @Test
+    void testLimitIsAskedToTheDirectoryServer() {
+        List<Integer> limits = new ArrayList<>();
+        ElementSearchCache cache = new ElementSearchCache(true, Duration.ofMinutes(1), 3, 100);
+        cache.search(USER, DIRECTORY, "net", limit -> {
+            limits.add(limit);
+            return search("net");
+        });
+
+        ElementSearchCache disabledCache = new ElementSearchCache(false, Duration.ofMinutes(1), 5, 100);
+        disabledCache.search(USER, DIRECTORY, "net", limit -> {
+            limits.add(limit);
+            return search("net");
+        });
+        assertEquals(List.of(3, 5), limits);
+    }
+
+    @Test
+    void testDirectoryUpdateDropsTheResultsOfTheUserAndOfTheDirectory() {
+        ElementSearchCache cache = new ElementSearchCache(true, Duration.ofMinutes(1), 3, 100);
+        String otherDirectory = UUID.randomUUID().toString();
+        cache.search(USER, DIRECTORY, "net", limit -> search("net", "net1"));
+        cache.search("user2", DIRECTORY, "abc", limit -> searchIn(otherDirectory, "abc", "abc1"));
+        cache.search("user3", DIRECTORY, "xyz", limit -> searchIn(otherDirectory, "xyz", "xyz1"));
+
+        // not about a directory content
+        cache.onDirectoryUpdate(MessageBuilder.withPayload("").setHeader("userId", USER).build());
+        // the update of a directory made by user2
+        cache.onDirectoryUpdate(MessageBuilder.withPayload("").setHeader("directoryUuid", PARENT_DIRECTORY).setHeader("userId", "user2").build());
+
+        cache.search(USER, DIRECTORY, "net", limit -> search("net", "net1"));
+        cache.search("user2", DIRECTORY, "abc", limit -> searchIn(otherDirectory, "abc", "abc1"));
+        cache.search("user3", DIRECTORY, "xyz", limit -> searchIn(otherDirectory, "xyz", "xyz1"));
+        assertEquals(List.of("net", "abc", "xyz", "net", "abc"), searchedInputs);
+    }
+}
@@ -6,21 +6,29 @@
  */
 package org.gridsuite.explore.server;
 
+import org.gridsuite.explore.server.dto.CaseInfo;
+import org.gridsuite.explore.server.dto.ElementAttributes;
+import org.gridsuite.explore.server.services.ContingencyListService;
 import org.gridsuite.explore.server.services.DirectoryService;
 import org.gridsuite.explore.server.services.ExploreService;
 import org.gridsuite.explore.server.services.FilterService;
 import org.gridsuite.explore.server.services.NetworkModificationService;
+import org.gridsuite.explore.server.services.StudyService;
+import org.gridsuite.explore.server.services.UserAdminService;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -43,6 +51,91 @@ class ExploreServiceExceptionTest {
     @MockitoBean
     private NetworkModificationService networkModificationService;
 
+    @MockitoBean
+    private ContingencyListService contingencyListService;
+
+    @MockitoBean
+    private StudyService studyService;
+
+    @MockitoBean
+    private UserAdminService userAdminService;
+
+    @Test
+    void testFilterIsInsertedOnTheRequestThread() {
+        // the body of the request is forwarded by the filter insertion, it can only be read by the request thread
+        AtomicReference<Thread> insertingThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            insertingThread.set(Thread.currentThread());
+            return null;
+        }).when(filterService).insertFilter(any(), any(), any());
+        UUID parentDirectoryUuid = UUID.randomUUID();
+
+        exploreService.createFilter(new ByteArrayResource("filterId".getBytes()), "filterName", "description", parentDirectoryUuid, "userId");
+
+        assertSame(Thread.currentThread(), insertingThread.get());
+        ArgumentCaptor<UUID> createdFilterId = ArgumentCaptor.forClass(UUID.class);
+        verify(filterService, times(1)).insertFilter(any(), createdFilterId.capture(), eq("userId"));
+        verify(directoryService, times(1)).createElement(argThat(element -> createdFilterId.getValue().equals(element.getElementUuid())),
+            eq(parentDirectoryUuid), eq("userId"));
+        verify(filterService, never()).delete(any(), any());
+        verify(directoryService, never()).deleteDirectoryElement(any(), any());
+    }
+
+    @Test
+    void testDirectoryServerCrashesWithContingencyList() {
+        String creatingErrorMessage = "error when creating element from directory server";
+        when(directoryService.createElement(any(), any(), any())).thenThrow(new RuntimeException(creatingErrorMessage));
+        AtomicReference<Thread> insertingThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            insertingThread.set(Thread.currentThread());
+            return null;
+        }).when(contingencyListService).insertIdentifierContingencyList(any(), any());
+        UUID parentDirectoryUuid = UUID.randomUUID();
+
+        String message = assertThrows(RuntimeException.class, () -> exploreService.createIdentifierContingencyList("listName",
+                new ByteArrayResource("{}".getBytes()), "description", "userId", parentDirectoryUuid))
+                .getMessage();
+
+        assertEquals(creatingErrorMessage, message);
+        assertSame(Thread.currentThread(), insertingThread.get());
+        ArgumentCaptor<UUID> createdListId = ArgumentCaptor.forClass(UUID.class);
+        verify(contingencyListService, times(1)).insertIdentifierContingencyList(createdListId.capture(), any());
+        verify(contingencyListService, times(1)).delete(createdListId.getValue(), "userId");
+    }
+
+    @Test
+    void testStudyCreationIsRolledBack() {
+        UUID caseUuid = UUID.randomUUID();
+        UUID parentDirectoryUuid = UUID.randomUUID();
+        CaseInfo caseInfo = new CaseInfo(caseUuid, "XIIDM");
+        when(directoryService.getElementInfos(caseUuid)).thenReturn(new ElementAttributes(caseUuid, "case", "CASE", "userId", 0L, null));
+
+        // the directory element cannot be created: the study is deleted
+        String creatingErrorMessage = "error when creating element from directory server";
+        when(directoryService.createElement(any(), any(), any())).thenThrow(new RuntimeException(creatingErrorMessage));
+        String message = assertThrows(RuntimeException.class, () -> exploreService.createStudy("study", caseInfo, "description", "userId",
+                parentDirectoryUuid, null, false))
+                .getMessage();
+        assertEquals(creatingErrorMessage, message);
+        ArgumentCaptor<UUID> createdStudyId = ArgumentCaptor.forClass(UUID.class);
+        verify(studyService, times(1)).insertStudyWithExistingCaseFile(createdStudyId.capture(), eq("userId"), eq(caseUuid), eq("XIIDM"), isNull(), eq(false), eq("case"));
+        verify(studyService, times(1)).delete(createdStudyId.getValue(), "userId");
+        reset(studyService, directoryService);
+
+        // the study cannot be inserted: the directory element is deleted
+        when(directoryService.getElementInfos(caseUuid)).thenReturn(new ElementAttributes(caseUuid, "case", "CASE", "userId", 0L, null));
+        String insertingErrorMessage = "error when inserting study";
+        doThrow(new RuntimeException(insertingErrorMessage)).when(studyService).insertStudyWithExistingCaseFile(any(), any(), any(), any(), any(), any(), any());
+        message = assertThrows(RuntimeException.class, () -> exploreService.createStudy("study", caseInfo, "description", "userId",
+                parentDirectoryUuid, null, false))
+                .getMessage();
+        assertEquals(insertingErrorMessage, message);
+        verify(studyService, times(1)).insertStudyWithExistingCaseFile(createdStudyId.capture(), any(), any(), any(), any(), any(), any());
+        verify(directoryService, times(1)).createElement(any(), eq(parentDirectoryUuid), eq("userId"));
+        verify(directoryService, times(1)).deleteDirectoryElement(createdStudyId.getValue(), "userId");
+        verify(studyService, never()).delete(any(), any());
+    }
+
     @Test
     void testDirectoryServerCrashesWithFilter() {
         // creation
@@ -51,7 +144,7 @@ class ExploreServiceExceptionTest {
         doNothing().when(filterService).insertFilter(any(), any(), any());
         doNothing().when(filterService).delete(any(), any());
         UUID parentDirectoryUuid = UUID.randomUUID();
-        String message = assertThrows(RuntimeException.class, () -> exploreService.createFilter("filterId",
+        String message = assertThrows(RuntimeException.class, () -> exploreService.createFilter(new ByteArrayResource("filterId".getBytes()),
                 "filterName", "description", parentDirectoryUuid, "userId"))
                 .getMessage();
         ArgumentCaptor<UUID> createdFilterId = ArgumentCaptor.forClass(UUID.class);
@@ -75,6 +168,23 @@ class ExploreServiceExceptionTest {
         assertEquals(duplicateErrorMessage, message);
     }
 
+    @Test
+    void testFilterServerCrashesDeletesDirectoryElement() {
+        // the directory element is created while the filter is inserted
+        String insertingErrorMessage = "error when inserting filter";
+        doThrow(new RuntimeException(insertingErrorMessage)).when(filterService).insertFilter(any(), any(), any());
+        UUID parentDirectoryUuid = UUID.randomUUID();
+        String message = assertThrows(RuntimeException.class, () -> exploreService.createFilter(new ByteArrayResource("filterId".getBytes()),
+                "filterName", "description", parentDirectoryUuid, "userId"))
+                .getMessage();
+        assertEquals(insertingErrorMessage, message);
+        ArgumentCaptor<UUID> createdFilterId = ArgumentCaptor.forClass(UUID.class);
+        verify(filterService, times(1)).insertFilter(any(), createdFilterId.capture(), eq("userId"));
+        verify(directoryService, times(1)).createElement(any(), eq(parentDirectoryUuid), eq("userId"));
+        verify(directoryService, times(1)).deleteDirectoryElement(createdFilterId.getValue(), "userId");
+        verify(filterService, never()).delete(any(), any());
+    }
+
     @Test
     void testDirectoryServerCrashesWithNetworkModification() {
         String creatingErrorMessage = "error when creating element from directory server";
@@ -101,7 +211,7 @@ class ExploreServiceExceptionTest {
         doNothing().when(filterService).insertFilter(any(), any(), any());
         doThrow(new RuntimeException(deletingErrorMessage)).when(filterService).delete(any(), any());
         UUID parentDirectoryUuid = UUID.randomUUID();
-        Throwable throwable = assertThrows(RuntimeException.class, () -> exploreService.createFilter("filterId",
+        Throwable throwable = assertThrows(RuntimeException.class, () -> exploreService.createFilter(new ByteArrayResource("filterId".getBytes()),
                 "filterName", "description", parentDirectoryUuid, "userId"));
         String message = throwable.getMessage();
         assertEquals(creatingErrorMessage, message);
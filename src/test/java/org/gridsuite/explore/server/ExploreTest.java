@@ -8,6 +8,7 @@ package org.gridsuite.explore.server;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
 import mockwebserver3.*;
@@ -52,6 +53,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -103,6 +105,7 @@ class ExploreTest {
     private static final String USER_WITH_CASE_LIMIT_NOT_EXCEEDED = "limitedUser2";
     private static final String USER_WITH_CASE_LIMIT_NOT_EXCEEDED_2 = "limitedUser3";
     private static final String GENERIC_STRING = "a generic string";
+    private static final String SEARCH_RESULT = "[{\"id\":\"" + UUID.randomUUID() + "\",\"name\":\"userInput element\",\"type\":\"FILTER\"}]";
 
     private static final String USER_NOT_FOUND = "userNotFound";
     private static final String USER_UNEXPECTED_ERROR = "unexpectedErrorUser";
@@ -166,6 +169,8 @@ class ExploreTest {
     @Autowired
     private UserAdminService userAdminService;
     @Autowired
+    private UserIdentityService userIdentityService;
+    @Autowired
     private OutputDestination output;
 
     private static final String USER_MESSAGE_DESTINATION = "directory.update";
@@ -191,6 +196,7 @@ class ExploreTest {
         caseService.setBaseUri(baseUrl);
         monitorService.setMonitorServerBaseUri(baseUrl);
         userAdminService.setUserAdminServerBaseUri(baseUrl);
+        userIdentityService.setUserIdentityServerBaseUri(baseUrl);
         remoteServicesProperties.getServices().forEach(s -> s.setBaseUri(baseUrl));
 
         String privateStudyAttributesAsString = mapper.writeValueAsString(new ElementAttributes(PRIVATE_STUDY_UUID, STUDY1, "STUDY", USER1, 0, null));
@@ -207,6 +213,7 @@ class ExploreTest {
         String filter2AttributesAsString = mapper.writeValueAsString(new ElementAttributes(FILTER_UUID_2, FILTER_CONTINGENCY_LIST_2, FILTER, USER1, 0, null));
         String listOfFilterAttributesAsString = mapper.writeValueAsString(List.of(new ElementAttributes(FILTER_UUID, FILTER_CONTINGENCY_LIST, FILTER, USER1, 0, null)));
         String directoryAttributesAsString = mapper.writeValueAsString(new ElementAttributes(PARENT_DIRECTORY_UUID, "directory", "DIRECTORY", USER1, 0, null));
+        String directory2AttributesAsString = mapper.writeValueAsString(new ElementAttributes(PARENT_DIRECTORY_UUID2, "directory2", "DIRECTORY", USER1, 0, null));
         String caseElementAttributesAsString = mapper.writeValueAsString(new ElementAttributes(CASE_UUID, "case", "CASE", USER1, 0L, null));
         String parametersElementAttributesAsString = mapper.writeValueAsString(new ElementAttributes(PARAMETERS_UUID, "voltageInitParametersName", ParametersType.VOLTAGE_INIT_PARAMETERS.name(), USER1,
                 0, null));
@@ -365,12 +372,17 @@ class ExploreTest {
                         return new MockResponse(200, Headers.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE), GENERIC_STRING);
                     } else if (path.matches("/v1/directories/" + PARENT_DIRECTORY_UUID + "/elements[?]elementTypes&recursive=false")) {
                         return new MockResponse(200, Headers.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE), GENERIC_STRING);
+                    } else if (path.matches("/v1/directories/" + PARENT_DIRECTORY_UUID2 + "/elements[?]elementTypes&recursive=false")) {
+                        return new MockResponse(200, Headers.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE), listOfFilterAttributesAsString);
+                    } else if (path.matches("/v1/users/identities[?]subs=" + USER1)) {
+                        return new MockResponse(200, Headers.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE),
+                            mapper.writeValueAsString(Map.of("data", Map.of(USER1, Map.of("sub", USER1, "firstName", "userFirstName")), "errors", Map.of())));
                     } else if (path.matches("/v1/elements/" + PARENT_DIRECTORY_UUID2 + "/path")) {
                         return new MockResponse(200, Headers.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE), GENERIC_STRING);
                     } else if (path.matches("/v1/directories/" + PARENT_DIRECTORY_UUID2 + "/elementName/newNameCandidate[?]type=type")) {
                         return new MockResponse(200, Headers.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE), GENERIC_STRING);
-                    } else if (path.matches("/v1/elements/indexation-infos[?]directoryUuid=directoryUuid&userInput=userInput")) {
-                        return new MockResponse(200, Headers.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE), GENERIC_STRING);
+                    } else if (path.matches("/v1/elements/indexation-infos[?]directoryUuid=directoryUuid&userInput=userInput&limit=10")) {
+                        return new MockResponse(200, Headers.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE), SEARCH_RESULT);
                     } else if (path.matches("/v1/elements/" + ELEMENT_UUID)) {
                         return new MockResponse(200, Headers.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE), newElementAttributesAsString);
                     } else if (path.matches("/v1/elements/" + ELEMENT_COMPOSITE_UUID)) {
@@ -379,6 +391,8 @@ class ExploreTest {
                         return new MockResponse(200);
                     } else if (path.matches("/v1/elements/" + PARENT_DIRECTORY_UUID)) {
                         return new MockResponse(200, Headers.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE), directoryAttributesAsString);
+                    } else if (path.matches("/v1/elements/" + PARENT_DIRECTORY_UUID2)) {
+                        return new MockResponse(200, Headers.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE), directory2AttributesAsString);
                     } else if (path.matches("/v1/filters/metadata[?]ids=" + FILTER_UUID)) {
                         return new MockResponse(200, Headers.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE), listOfFilterAttributesAsString.replace("elementUuid", "id"));
                     } else if (path.matches("/v1/cases/metadata[?]ids=" + CASE_UUID)) {
@@ -491,6 +505,8 @@ class ExploreTest {
                     return new MockResponse(404);
                 } else if ("HEAD".equals(request.getMethod()) && path.matches("/v1/directories/" + PARENT_DIRECTORY_UUID2 + "/elements/elementName/types/type")) {
                         return new MockResponse(200);
+                } else if ("HEAD".equals(request.getMethod()) && path.matches("/v1/directories/" + PARENT_DIRECTORY_UUID2 + "/elements/otherName/types/type")) {
+                        return new MockResponse(204);
                     }
 
                 return new MockResponse(418);
@@ -1240,6 +1256,26 @@ class ExploreTest {
         assertEquals(40, alertThresholdMessage.userUsagePercentage());
     }
 
+    @Test
+    void testCaseAlertThresholdSentOnceForAnUpload() throws Exception {
+        // the upload is admitted before its body is read, the controller does not check it again
+        try (InputStream is = new FileInputStream(ResourceUtils.getFile("classpath:" + TEST_FILE))) {
+            MockMultipartFile mockFile = new MockMultipartFile("caseFile", TEST_FILE, MediaType.TEXT_XML_VALUE, is);
+
+            mockMvc.perform(multipart("/v1/explore/cases/{caseName}?description={description}&parentDirectoryUuid={parentDirectoryUuid}",
+                            STUDY1, "description", PARENT_DIRECTORY_UUID).file(mockFile)
+                            .header("userId", USER_WITH_CASE_LIMIT_NOT_EXCEEDED)
+                            .contentType(MediaType.MULTIPART_FORM_DATA)
+                    )
+                    .andExpect(status().isOk());
+        }
+
+        Message<byte[]> message = output.receive(TIMEOUT, USER_MESSAGE_DESTINATION);
+        assertNotNull(message);
+        assertEquals("casesAlertThreshold", message.getHeaders().get(HEADER_USER_MESSAGE));
+        assertNull(output.receive(TIMEOUT, USER_MESSAGE_DESTINATION));
+    }
+
     @Test
     void testUpdateElement() throws Exception {
         ElementAttributes elementAttributes = new ElementAttributes();
@@ -1338,6 +1374,52 @@ class ExploreTest {
         assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/directories/" + PARENT_DIRECTORY_UUID + "/elements?elementTypes&recursive=false")));
     }
 
+    @Test
+    void testGetDirectoryView(final MockWebServer server) throws Exception {
+        MvcResult result = mockMvc.perform(get("/v1/explore/directories/{directoryUuid}/view", PARENT_DIRECTORY_UUID2)
+                        .header("userId", USER1)
+                ).andExpect(status().isOk())
+                .andReturn();
+        JsonNode view = mapper.readTree(result.getResponse().getContentAsString());
+        assertEquals(1, view.get("elements").size());
+        assertEquals(FILTER_UUID.toString(), view.get("elements").get(0).get("elementUuid").asText());
+        assertEquals(1, view.get("metadata").size());
+        assertEquals(FILTER_UUID.toString(), view.get("metadata").get(0).get("specificMetadata").get("id").asText());
+        assertEquals("userFirstName", view.get("usersIdentities").get("data").get(USER1).get("firstName").asText());
+
+        // the directory is listed once, the metadata and identities are got from the listed elements
+        var requests = TestUtils.getRequestsWithBodyDone(3, server);
+        assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/directories/" + PARENT_DIRECTORY_UUID2 + "/elements?elementTypes&recursive=false")));
+        assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/filters/metadata?ids=" + FILTER_UUID)));
+        assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/users/identities?subs=" + USER1)));
+    }
+
+    @Test
+    void testCopyDirectory(final MockWebServer server) throws Exception {
+        // the directory is copied next to itself, the copy is given a free name
+        MvcResult result = mockMvc.perform(post("/v1/explore/directories/{directoryUuid}/copy?targetDirectoryUuid={targetDirectoryUuid}", PARENT_DIRECTORY_UUID2, PARENT_DIRECTORY_UUID2)
+                        .header("userId", USER1)
+                ).andExpect(status().isOk())
+                .andReturn();
+        assertEquals(ELEMENT_UUID, mapper.readValue(result.getResponse().getContentAsString(), UUID.class));
+
+        // the progress is sent when the elements to copy are known, then when they are all copied
+        Message<byte[]> message = output.receive(TIMEOUT, USER_MESSAGE_DESTINATION);
+        assertEquals("directoryCopyProgress", message.getHeaders().get(HEADER_USER_MESSAGE));
+        assertEquals(new DirectoryCopyProgress(PARENT_DIRECTORY_UUID2, ELEMENT_UUID, 0, 1), mapper.readValue(message.getPayload(), DirectoryCopyProgress.class));
+        message = output.receive(TIMEOUT, USER_MESSAGE_DESTINATION);
+        assertEquals(new DirectoryCopyProgress(PARENT_DIRECTORY_UUID2, ELEMENT_UUID, 1, 1), mapper.readValue(message.getPayload(), DirectoryCopyProgress.class));
+
+        var requests = TestUtils.getRequestsWithBodyDone(7, server);
+        assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/elements/authorized?accessType=READ&ids=" + PARENT_DIRECTORY_UUID2 + "&targetDirectoryUuid")));
+        assertTrue(requests.stream().anyMatch(r -> r.getPath().equals("/v1/elements/" + PARENT_DIRECTORY_UUID2)));
+        assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/directories/" + PARENT_DIRECTORY_UUID2 + "/elements?elementTypes&recursive=false")));
+        assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/directories/" + PARENT_DIRECTORY_UUID2 + "/elements?allowNewName=true")
+            && r.getBody().contains("\"elementName\":\"directory2\"")));
+        assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/filters/" + FILTER_UUID + "/duplicate")));
+        assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/elements/" + FILTER_UUID + "/duplicate?newElementUuid=" + FILTER_COPY_UUID + "&targetDirectoryId=" + ELEMENT_UUID)));
+    }
+
     @Test
     void testCreateDirectory(final MockWebServer server) throws Exception {
         String newDirectoryAttributesAsString = mapper.writeValueAsString(new ElementAttributes(ELEMENT_UUID, DIRECTORY1, "DIRECTORY", USER1, 0, null));
@@ -1392,12 +1474,79 @@ class ExploreTest {
     }
 
     @Test
-    void testSearchElement(final MockWebServer server) throws Exception {
-        MvcResult result = mockMvc.perform(get("/v1/explore/directories/elements/indexation-infos?userInput=userInput&directoryUuid=directoryUuid")
+    void testElementsExistAndNameCandidates(final MockWebServer server) throws Exception {
+        List<ElementNameQuery> queries = List.of(
+            new ElementNameQuery(PARENT_DIRECTORY_UUID2, "elementName", "type"),
+            new ElementNameQuery(PARENT_DIRECTORY_UUID2, "otherName", "type"),
+            new ElementNameQuery(PARENT_DIRECTORY_UUID2, "elementName", "type"));
+        MvcResult result = mockMvc.perform(post("/v1/explore/directories/elements/existence")
                         .header("userId", USER1)
+                        .contentType(APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(queries))
                 ).andExpect(status().isOk())
                 .andReturn();
-        assertEquals(GENERIC_STRING, result.getResponse().getContentAsString());
+        assertEquals(List.of(true, false, true), mapper.readValue(result.getResponse().getContentAsString(), new TypeReference<List<Boolean>>() { }));
+        // the same query is resolved once
+        var requests = TestUtils.getRequestsWithBodyDone(2, server);
+        assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/directories/" + PARENT_DIRECTORY_UUID2 + "/elements/otherName/types/type")));
+
+        result = mockMvc.perform(post("/v1/explore/directories/elements/name-candidates")
+                        .header("userId", USER1)
+                        .contentType(APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(List.of(queries.getFirst())))
+                ).andExpect(status().isOk())
+                .andReturn();
+        assertEquals(List.of(GENERIC_STRING), mapper.readValue(result.getResponse().getContentAsString(), new TypeReference<List<String>>() { }));
+        requests = TestUtils.getRequestsWithBodyDone(1, server);
+        assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/directories/" + PARENT_DIRECTORY_UUID2 + "/elementName/newNameCandidate?type=type")));
+    }
+
+    @Test
+    void testDuplicateElements(final MockWebServer server) throws Exception {
+        // a user whose cases quota is not cached yet
+        String userId = "duplicationUser";
+        UUID directoryUuid = UUID.randomUUID();
+        List<ElementDuplication> elements = List.of(
+            new ElementDuplication(CASE_UUID, "CASE", null),
+            new ElementDuplication(FILTER_UUID, "FILTER", null),
+            new ElementDuplication(CONTINGENCY_LIST_UUID, "CONTINGENCY_LIST", ContingencyListType.IDENTIFIERS),
+            new ElementDuplication(directoryUuid, "DIRECTORY", null));
+        MvcResult result = mockMvc.perform(post("/v1/explore/elements/duplicate?targetDirectoryUuid={targetDirectoryUuid}", PARENT_DIRECTORY_UUID)
+                        .header("userId", userId)
+                        .contentType(APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(elements))
+                ).andExpect(status().isOk())
+                .andReturn();
+        List<ElementDuplicationReport> reports = mapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() { });
+        assertEquals(List.of(
+            ElementDuplicationReport.duplicated(elements.get(0), CASE_COPY_UUID),
+            ElementDuplicationReport.duplicated(elements.get(1), FILTER_COPY_UUID),
+            ElementDuplicationReport.duplicated(elements.get(2), CONTINGENCY_LIST_COPY_UUID)), reports.subList(0, 3));
+        // a directory cannot be duplicated, the other elements are duplicated anyway
+        assertNull(reports.get(3).newElementUuid());
+        assertNotNull(reports.get(3).error());
+
+        // the read permission is checked once for all the elements, then the quota, 3 duplications and 3 directory elements
+        var requests = TestUtils.getRequestsWithBodyDone(9, server);
+        assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/users/" + userId + "/quota/max")));
+        assertEquals(1, requests.stream().filter(r -> r.getPath().contains("/v1/elements/authorized?accessType=READ&ids=" + CASE_UUID + "," + FILTER_UUID)).count());
+        assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/elements/authorized?accessType=WRITE&ids=" + PARENT_DIRECTORY_UUID + "&targetDirectoryUuid")));
+        assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/cases/" + CASE_UUID + "/duplicate")));
+        assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/filters/" + FILTER_UUID + "/duplicate")));
+        assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/identifier-contingency-lists/" + CONTINGENCY_LIST_UUID + "/duplicate")));
+        assertEquals(3, requests.stream().filter(r -> r.getPath().matches("/v1/elements/.*/duplicate\\?newElementUuid=.*")).count());
+    }
+
+    @Test
+    void testSearchElement(final MockWebServer server) throws Exception {
+        MvcResult asyncResult = mockMvc.perform(get("/v1/explore/directories/elements/indexation-infos?userInput=userInput&directoryUuid=directoryUuid")
+                        .header("userId", USER1)
+                ).andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals(mapper.readTree(SEARCH_RESULT), mapper.readTree(result.getResponse().getContentAsString()));
 
         var requests = TestUtils.getRequestsWithBodyDone(1, server);
         assertTrue(requests.stream().anyMatch(r -> r.getPath().contains("/v1/elements/indexation-infos")));
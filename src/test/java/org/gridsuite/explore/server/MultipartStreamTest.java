@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import org.gridsuite.explore.server.utils.MultipartStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultipartStreamTest {
+
+    private static final String BOUNDARY = "----boundary1234";
+
+    private static byte[] body(String preamble, byte[] file) {
+        String head = preamble
+            + "--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"description\"\r\n"
+            + "\r\n"
+            + "a description\r\n"
+            + "--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"caseFile\"; filename=\"network.xiidm\"\r\n"
+            + "Content-Type: application/xml\r\n"
+            + "\r\n";
+        String tail = "\r\n--" + BOUNDARY + "--\r\n";
+        byte[] body = new byte[head.length() + file.length + tail.length()];
+        System.arraycopy(head.getBytes(StandardCharsets.UTF_8), 0, body, 0, head.length());
+        System.arraycopy(file, 0, body, head.length(), file.length);
+        System.arraycopy(tail.getBytes(StandardCharsets.UTF_8), 0, body, head.length() + file.length, tail.length());
+        return body;
+    }
+
+    /**
+     * Returns at most a few bytes per read, as a slow network would
+     */
+    private static InputStream trickle(byte[] bytes) {
+        return new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+    }
+
+    @Test
+    void testReadParts() throws Exception {
+        byte[] file = new byte[200_000];
+        new Random(42).nextBytes(file);
+        // make the file content look like the beginning of a delimiter
+        byte[] almostDelimiter = ("\r\n--" + BOUNDARY.substring(0, 10)).getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(almostDelimiter, 0, file, 1000, almostDelimiter.length);
+
+        MultipartStream multipartStream = new MultipartStream(trickle(body("ignored preamble\r\n", file)), BOUNDARY, 1024);
+        MultipartStream.Part description = multipartStream.nextPart();
+        assertNotNull(description);
+        assertEquals("description", description.getName());
+        assertNull(description.getFilename());
+        // not read, skipped by the next part
+
+        MultipartStream.Part caseFile = multipartStream.nextPart();
+        assertNotNull(caseFile);
+        assertEquals("caseFile", caseFile.getName());
+        assertEquals("network.xiidm", caseFile.getFilename());
+        assertEquals(MediaType.APPLICATION_XML, caseFile.getContentType());
+        assertArrayEquals(file, caseFile.content().readAllBytes());
+
+        assertNull(multipartStream.nextPart());
+    }
+
+    @Test
+    void testFindPart() throws Exception {
+        byte[] file = "<network/>".getBytes(StandardCharsets.UTF_8);
+        MultipartStream multipartStream = new MultipartStream(new ByteArrayInputStream(body("", file)), BOUNDARY);
+        MultipartStream.Part caseFile = multipartStream.findPart("caseFile");
+        assertNotNull(caseFile);
+        assertArrayEquals(file, caseFile.content().readAllBytes());
+
+        assertNull(new MultipartStream(new ByteArrayInputStream(body("", file)), BOUNDARY).findPart("other"));
+    }
+
+    @Test
+    void testTruncatedBody() throws Exception {
+        byte[] body = body("", new byte[5000]);
+        byte[] truncated = new byte[body.length - 20];
+        System.arraycopy(body, 0, truncated, 0, truncated.length);
+        MultipartStream.Part caseFile = new MultipartStream(new ByteArrayInputStream(truncated), BOUNDARY).findPart("caseFile");
+        assertNotNull(caseFile);
+        assertThrows(EOFException.class, () -> caseFile.content().readAllBytes());
+    }
+
+    @Test
+    void testGetBoundary() {
+        assertEquals(BOUNDARY, MultipartStream.getBoundary("multipart/form-data; boundary=" + BOUNDARY));
+        assertNull(MultipartStream.getBoundary(MediaType.APPLICATION_JSON_VALUE));
+        assertNull(MultipartStream.getBoundary(null));
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.gridsuite.explore.server.services.NotificationCoalescer;
+import org.gridsuite.explore.server.services.NotificationCoalescer.Key;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Queue<String> sent = new ConcurrentLinkedQueue<>();
+
+    @Test
+    void testFirstAndLatestNotificationPerElementAndTypeAreSent() throws Exception {
+        NotificationCoalescer coalescer = new NotificationCoalescer(meterRegistry, Duration.ofMillis(100), 2, 100);
+        UUID element1 = UUID.randomUUID();
+        UUID element2 = UUID.randomUUID();
+        CountDownLatch windowsClosed = new CountDownLatch(4);
+
+        for (int i = 0; i < 5; i++) {
+            String modifiedBy = "user" + i;
+            coalescer.submit(new Key(element1, "update"), () -> {
+                sent.add("element1 update " + modifiedBy);
+                windowsClosed.countDown();
+            });
+        }
+        coalescer.submit(new Key(element1, "study"), () -> {
+            sent.add("element1 study");
+            windowsClosed.countDown();
+        });
+        coalescer.submit(new Key(element2, "update"), () -> {
+            sent.add("element2 update");
+            windowsClosed.countDown();
+        });
+
+        assertTrue(windowsClosed.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("element1 study", "element1 update user0", "element1 update user4", "element2 update"), sent.stream().sorted().toList());
+        assertEquals(3, meterRegistry.counter("explore.notification.coalescing.coalesced").count());
+        coalescer.close();
+    }
+
+    @Test
+    void testLoneNotificationIsNotDelayed() throws Exception {
+        NotificationCoalescer coalescer = new NotificationCoalescer(meterRegistry, Duration.ofMinutes(1), 2, 100);
+        CountDownLatch notificationSent = new CountDownLatch(1);
+        coalescer.submit(new Key(UUID.randomUUID(), "update"), notificationSent::countDown);
+        assertTrue(notificationSent.await(2, TimeUnit.SECONDS));
+        coalescer.close();
+    }
+
+    @Test
+    void testZeroWindowSendsRightAway() {
+        NotificationCoalescer coalescer = new NotificationCoalescer(meterRegistry, Duration.ZERO, 2, 100);
+        coalescer.submit(new Key(UUID.randomUUID(), "update"), () -> sent.add("update"));
+        coalescer.submit(new Key(UUID.randomUUID(), "update"), () -> {
+            throw new IllegalStateException("broker down");
+        });
+        assertEquals(List.of("update"), List.copyOf(sent));
+        assertEquals(1, meterRegistry.counter("explore.notification.coalescing.failed", "type", "update").count());
+    }
+
+    @Test
+    void testCloseFlushesPendingNotifications() throws Exception {
+        NotificationCoalescer coalescer = new NotificationCoalescer(meterRegistry, Duration.ofMinutes(1), 2, 100);
+        CountDownLatch firstSent = new CountDownLatch(1);
+        UUID element = UUID.randomUUID();
+        coalescer.submit(new Key(element, "update"), () -> {
+            sent.add("first");
+            firstSent.countDown();
+        });
+        assertTrue(firstSent.await(2, TimeUnit.SECONDS));
+        coalescer.submit(new Key(element, "update"), () -> sent.add("latest"));
+        coalescer.close();
+        assertEquals(List.of("first", "latest"), List.copyOf(sent));
+    }
+
+    @Test
+    void testFullQueueSendsOnTheCallerThread() throws Exception {
+        NotificationCoalescer coalescer = new NotificationCoalescer(meterRegistry, Duration.ofMinutes(1), 1, 1);
+        CountDownLatch senderBlocked = new CountDownLatch(1);
+        CountDownLatch senderReleased = new CountDownLatch(1);
+        coalescer.submit(new Key(UUID.randomUUID(), "update"), () -> {
+            senderBlocked.countDown();
+            try {
+                assertTrue(senderReleased.await(2, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(senderBlocked.await(2, TimeUnit.SECONDS));
+        // the single sender is busy, the queue holds one notification, the next one is sent by the caller
+        coalescer.submit(new Key(UUID.randomUUID(), "update"), () -> sent.add("queued"));
+        coalescer.submit(new Key(UUID.randomUUID(), "update"), () -> sent.add("caller " + Thread.currentThread().getName()));
+
+        assertEquals(List.of("caller " + Thread.currentThread().getName()), List.copyOf(sent));
+        assertEquals(1, meterRegistry.counter("explore.notification.coalescing.caller-sent").count());
+        senderReleased.countDown();
+        coalescer.close();
+    }
+}
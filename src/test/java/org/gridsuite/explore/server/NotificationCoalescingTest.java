@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.gridsuite.explore.server.services.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.binder.test.OutputDestination;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.messaging.Message;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * The element update notifications sent to the broker with a coalescing window, which the other tests disable
+ */
+@SpringBootTest(classes = {ExploreApplication.class, TestChannelBinderConfiguration.class},
+    properties = "explore.notification-coalescing.window=500ms")
+class NotificationCoalescingTest {
+
+    private static final String ELEMENT_UPDATE_DESTINATION = "element.update";
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private OutputDestination output;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        output.clear();
+    }
+
+    @Test
+    void testFirstAndLatestElementUpdatesAreSent() {
+        UUID elementUuid = UUID.randomUUID();
+        double coalesced = meterRegistry.counter("explore.notification.coalescing.coalesced").count();
+
+        for (int i = 0; i < 4; i++) {
+            notificationService.emitElementUpdated(elementUuid, "user" + i);
+        }
+
+        Message<byte[]> first = output.receive(1000, ELEMENT_UPDATE_DESTINATION);
+        assertNotNull(first);
+        assertEquals("user0", first.getHeaders().get(NotificationService.HEADER_MODIFIED_BY));
+        // the latest update is sent when the window closes, the others are dropped
+        Message<byte[]> latest = output.receive(2000, ELEMENT_UPDATE_DESTINATION);
+        assertNotNull(latest);
+        assertEquals("user3", latest.getHeaders().get(NotificationService.HEADER_MODIFIED_BY));
+        assertEquals(elementUuid.toString(), String.valueOf(latest.getHeaders().get(NotificationService.HEADER_ELEMENT_UUID)));
+        assertNull(output.receive(1000, ELEMENT_UPDATE_DESTINATION));
+        assertEquals(coalesced + 2, meterRegistry.counter("explore.notification.coalescing.coalesced").count());
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.gridsuite.explore.server.services.NotificationOutbox;
+import org.gridsuite.explore.server.services.NotificationOutbox.OverflowPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NotificationOutboxTest {
+
+    private static final String BINDING = "publishElementUpdate-out-0";
+
+    @TempDir
+    private Path spillDirectory;
+
+    private final StreamBridge streamBridge = mock(StreamBridge.class);
+
+    private NotificationOutbox createOutbox(boolean enabled, OverflowPolicy overflowPolicy, int capacity) {
+        return new NotificationOutbox(streamBridge, new ObjectMapper(), new SimpleMeterRegistry(), enabled, capacity, overflowPolicy,
+            100, Duration.ofMillis(10), spillDirectory);
+    }
+
+    private static Message<String> message(String payload) {
+        return MessageBuilder.withPayload(payload).setHeader("elementUuid", payload).build();
+    }
+
+    @Test
+    void testDisabledOutboxPublishesSynchronously() throws Exception {
+        NotificationOutbox outbox = createOutbox(false, OverflowPolicy.BLOCK, 1);
+        outbox.publish(BINDING, message("m1"));
+        verify(streamBridge).send(eq(BINDING), any(Message.class));
+        outbox.close();
+    }
+
+    @Test
+    void testSpilledMessagesArePublishedOnceTheBrokerCatchesUp() throws Exception {
+        CountDownLatch slowBroker = new CountDownLatch(1);
+        when(streamBridge.send(eq(BINDING), any(Message.class))).thenAnswer(invocation -> slowBroker.await(5, TimeUnit.SECONDS));
+        NotificationOutbox outbox = createOutbox(true, OverflowPolicy.SPILL, 1);
+
+        // the publisher is stuck on the first message, the second one fills the outbox and the others are spilled
+        for (int i = 0; i < 5; i++) {
+            outbox.publish(BINDING, message("m" + i));
+        }
+        slowBroker.countDown();
+
+        ArgumentCaptor<Message<String>> messages = ArgumentCaptor.captor();
+        verify(streamBridge, timeout(2000).times(5)).send(eq(BINDING), messages.capture());
+        List<String> payloads = messages.getAllValues().stream().map(Message::getPayload).toList();
+        assertEquals(List.of("m0", "m1", "m2", "m3", "m4"), payloads);
+        assertEquals("m4", messages.getAllValues().get(4).getHeaders().get("elementUuid"));
+        outbox.close();
+    }
+
+    @Test
+    void testDropOldestKeepsTheLatestMessages() throws Exception {
+        CountDownLatch slowBroker = new CountDownLatch(1);
+        when(streamBridge.send(eq(BINDING), any(Message.class))).thenAnswer(invocation -> slowBroker.await(5, TimeUnit.SECONDS));
+        NotificationOutbox outbox = createOutbox(true, OverflowPolicy.DROP_OLDEST, 2);
+
+        outbox.publish(BINDING, message("m0"));
+        verify(streamBridge, timeout(2000)).send(eq(BINDING), any(Message.class));
+        for (int i = 1; i < 5; i++) {
+            outbox.publish(BINDING, message("m" + i));
+        }
+        slowBroker.countDown();
+
+        ArgumentCaptor<Message<String>> messages = ArgumentCaptor.captor();
+        verify(streamBridge, timeout(2000).times(3)).send(eq(BINDING), messages.capture());
+        List<String> payloads = messages.getAllValues().stream().map(Message::getPayload).toList();
+        assertEquals(List.of("m0", "m3", "m4"), payloads);
+        outbox.close();
+    }
+}
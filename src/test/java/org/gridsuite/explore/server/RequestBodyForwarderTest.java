@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.gridsuite.explore.server.RestTemplateConfig.DownstreamRestTemplateCustomizer;
+import org.gridsuite.explore.server.services.RequestBodyForwarder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The forwarding of request bodies, with the settings of the shared RestTemplate, to a mock downstream server
+ */
+class RequestBodyForwarderTest {
+
+    private static final String FILTERS_PATH = "/v1/filters";
+    private static final String CASES_PATH = "/v1/cases";
+    private static final String TEST_ROLES = "ADMIN|USER";
+
+    // the compression of request bodies is enabled for every size, as far as the shared RestTemplate is concerned
+    private final RequestBodyForwarder requestBodyForwarder = new RequestBodyForwarder(new RestTemplateBuilder(),
+        new DownstreamRestTemplateCustomizer(new RestTemplateConfig().mappingJackson2HttpMessageConverter(), true, 0));
+
+    private WireMockServer wireMockServer;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RestTemplateConfig.RoleHeaderForwardingInterceptor.ROLES_HEADER, TEST_ROLES);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return compressed.toByteArray();
+    }
+
+    @Test
+    void testJsonBodyIsForwardedUnbufferedAndUnchanged() throws IOException {
+        UUID filterUuid = UUID.randomUUID();
+        // not even valid JSON: the body is not decoded
+        String body = "{\"type\": \"EXPERT\", \"rules\": [1, 2, 3]";
+        wireMockServer.stubFor(WireMock.post(WireMock.urlPathEqualTo(FILTERS_PATH))
+            .willReturn(WireMock.ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .withHeader(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .withBody(gzip("\"" + filterUuid + "\""))));
+
+        UUID result = requestBodyForwarder.forwardJson(wireMockServer.baseUrl() + FILTERS_PATH, HttpMethod.POST,
+            new InputStreamResource(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))), UUID.class);
+
+        // the gzip response is decoded by the shared Jackson converter
+        assertEquals(filterUuid, result);
+        // a buffered body would have been sent with its length, and compressed above the minimum size
+        wireMockServer.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo(FILTERS_PATH))
+            .withHeader(HttpHeaders.CONTENT_LENGTH, WireMock.absent())
+            .withHeader(HttpHeaders.CONTENT_ENCODING, WireMock.absent())
+            .withHeader(HttpHeaders.CONTENT_TYPE, WireMock.equalTo(MediaType.APPLICATION_JSON_VALUE))
+            .withHeader(HttpHeaders.ACCEPT_ENCODING, WireMock.equalTo("gzip"))
+            .withHeader(RestTemplateConfig.RoleHeaderForwardingInterceptor.ROLES_HEADER, WireMock.equalTo(TEST_ROLES))
+            .withRequestBody(WireMock.equalTo(body)));
+    }
+
+    @Test
+    void testMultipartFileIsForwardedUnbufferedAndUnchanged() {
+        UUID caseUuid = UUID.randomUUID();
+        byte[] content = new byte[256 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        wireMockServer.stubFor(WireMock.post(WireMock.urlPathEqualTo(CASES_PATH))
+            .willReturn(WireMock.okJson("\"" + caseUuid + "\"")));
+
+        UUID result = requestBodyForwarder.forwardMultipartFile(wireMockServer.baseUrl() + CASES_PATH, "file",
+            "case.xiidm\r\nX-Injected: true", null, new ByteArrayInputStream(content), UUID.class);
+
+        assertEquals(caseUuid, result);
+        wireMockServer.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo(CASES_PATH))
+            .withHeader(HttpHeaders.CONTENT_LENGTH, WireMock.absent())
+            .withHeader(HttpHeaders.CONTENT_ENCODING, WireMock.absent())
+            .withHeader(RestTemplateConfig.RoleHeaderForwardingInterceptor.ROLES_HEADER, WireMock.equalTo(TEST_ROLES))
+            .withRequestBodyPart(WireMock.aMultipart("file")
+                .withHeader(HttpHeaders.CONTENT_TYPE, WireMock.equalTo(MediaType.APPLICATION_OCTET_STREAM_VALUE))
+                .withBody(WireMock.binaryEqualTo(content))
+                .build()));
+        // the line break of the filename did not end the part headers
+        String forwarded = new String(wireMockServer.getAllServeEvents().get(0).getRequest().getBody(), StandardCharsets.ISO_8859_1);
+        assertTrue(forwarded.contains("filename=\"case.xiidmX-Injected: true\""));
+        assertFalse(forwarded.contains("\r\nX-Injected"));
+    }
+}
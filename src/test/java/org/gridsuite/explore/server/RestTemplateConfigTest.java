@@ -12,9 +12,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.AutoConfigureWebClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.client.MockRestServiceServer;
@@ -23,6 +25,14 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 
 /**
@@ -146,4 +156,63 @@ class RestTemplateConfigTest {
         // Verify
         mockServer.verify();
     }
+
+    @Test
+    void testGzipIsAcceptedAndDecoded() throws IOException {
+        String json = "{\"result\":\"success\"}";
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+
+        mockServer.expect(requestTo(TEST_ENDPOINT))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andRespond(MockRestResponseCreators.withSuccess(compressed.toByteArray(), MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        assertEquals(json, restTemplate.getForObject(TEST_ENDPOINT, String.class));
+
+        mockServer.verify();
+    }
+
+    @Test
+    void testSmallRequestBodyIsNotCompressed() {
+        mockServer.expect(requestTo(TEST_ENDPOINT))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(request -> {
+                    if (request.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                        throw new AssertionError("Request body should not be compressed by default");
+                    }
+                })
+                .andExpect(content().string("{}"))
+                .andRespond(MockRestResponseCreators.withSuccess());
+
+        restTemplate.postForLocation(TEST_ENDPOINT, "{}");
+
+        mockServer.verify();
+    }
+
+    @Test
+    void testRoleHeaderIsPropagatedByRemoteCallExecutorTasks() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ROLES_HEADER, TEST_ROLES);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        mockServer.expect(requestTo(TEST_ENDPOINT))
+                .andExpect(header(ROLES_HEADER, TEST_ROLES))
+                .andRespond(MockRestResponseCreators.withSuccess());
+
+        ThreadPoolTaskExecutor executor = TaskExecutionConfig.remoteCallExecutor(1, 1);
+        executor.initialize();
+        try {
+            // the task only keeps the roles header: it still runs once the request is over
+            Future<?> task = executor.submit(() -> restTemplate.getForObject(TEST_ENDPOINT, String.class));
+            RequestContextHolder.resetRequestAttributes();
+            task.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        mockServer.verify();
+    }
 }
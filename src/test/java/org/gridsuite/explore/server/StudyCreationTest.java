@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import org.gridsuite.explore.server.dto.ElementAttributes;
+import org.gridsuite.explore.server.dto.PermissionType;
+import org.gridsuite.explore.server.services.DirectoryService;
+import org.gridsuite.explore.server.services.StudyService;
+import org.gridsuite.explore.server.services.UserAdminService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The study creation from an existing case, whose quota and case name lookups run concurrently
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class StudyCreationTest {
+
+    private static final String USER1 = "user1";
+    private static final String STUDY_NAME = "study";
+    private static final String CASE_NAME = "case";
+    private static final UUID CASE_UUID = UUID.randomUUID();
+    private static final UUID PARENT_DIRECTORY_UUID = UUID.randomUUID();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private DirectoryService directoryService;
+
+    @MockitoBean
+    private StudyService studyService;
+
+    @MockitoBean
+    private UserAdminService userAdminService;
+
+    @Test
+    void testCreateStudyWithTheCaseName() throws Exception {
+        when(userAdminService.getUserMaxAllowedCases(USER1)).thenReturn(2);
+        when(directoryService.getUserCasesCount(USER1)).thenReturn(1);
+        when(directoryService.getElementInfos(CASE_UUID)).thenReturn(new ElementAttributes(CASE_UUID, CASE_NAME, "CASE", USER1, 0L, null));
+
+        createStudy().andExpect(status().isOk());
+
+        verify(studyService).insertStudyWithExistingCaseFile(any(UUID.class), eq(USER1), eq(CASE_UUID), eq("XIIDM"), isNull(), eq(false), eq(CASE_NAME));
+        verify(directoryService).createElement(argThat(element -> STUDY_NAME.equals(element.getElementName()) && "STUDY".equals(element.getType())),
+            eq(PARENT_DIRECTORY_UUID), eq(USER1));
+    }
+
+    @Test
+    void testCreateStudyFromACaseMissingInTheDirectory() throws Exception {
+        when(directoryService.getElementInfos(CASE_UUID)).thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        createStudy().andExpect(status().isOk());
+
+        verify(studyService).insertStudyWithExistingCaseFile(any(UUID.class), eq(USER1), eq(CASE_UUID), eq("XIIDM"), isNull(), eq(false), isNull());
+    }
+
+    @Test
+    void testCasesOfUsersWithoutQuotaAreNotCounted() throws Exception {
+        when(directoryService.getElementInfos(CASE_UUID)).thenReturn(new ElementAttributes(CASE_UUID, CASE_NAME, "CASE", USER1, 0L, null));
+
+        createStudy().andExpect(status().isOk());
+
+        verify(userAdminService).getUserMaxAllowedCases(USER1);
+        verify(directoryService, never()).getUserCasesCount(anyString());
+        verify(studyService).insertStudyWithExistingCaseFile(any(UUID.class), eq(USER1), eq(CASE_UUID), eq("XIIDM"), isNull(), eq(false), eq(CASE_NAME));
+    }
+
+    @Test
+    void testForbiddenParentDirectoryCreatesNothing() throws Exception {
+        doThrow(new HttpClientErrorException(HttpStatus.FORBIDDEN))
+            .when(directoryService).checkPermission(List.of(PARENT_DIRECTORY_UUID), null, USER1, PermissionType.WRITE);
+
+        createStudy().andExpect(status().isForbidden());
+
+        // the permission is checked before any lookup
+        verifyNoInteractions(userAdminService, studyService);
+        verify(directoryService, never()).getElementInfos(any());
+        verify(directoryService, never()).createElement(any(), any(), anyString());
+    }
+
+    @Test
+    void testMaxCasesExceededCreatesNothing() throws Exception {
+        when(userAdminService.getUserMaxAllowedCases(USER1)).thenReturn(2);
+        when(directoryService.getUserCasesCount(USER1)).thenReturn(2);
+        when(directoryService.getElementInfos(CASE_UUID)).thenReturn(new ElementAttributes(CASE_UUID, CASE_NAME, "CASE", USER1, 0L, null));
+
+        createStudy().andExpect(status().isForbidden());
+
+        verifyNoInteractions(studyService);
+        verify(directoryService, never()).createElement(any(), any(), anyString());
+    }
+
+    @Test
+    void testCaseNameLookupFailureCreatesNothing() throws Exception {
+        when(directoryService.getElementInfos(CASE_UUID)).thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+
+        createStudy().andExpect(status().isBadRequest());
+
+        verify(studyService, never()).insertStudyWithExistingCaseFile(any(), anyString(), any(), anyString(), any(), anyBoolean(), any());
+        verify(directoryService, never()).createElement(any(), any(), anyString());
+    }
+
+    private ResultActions createStudy() throws Exception {
+        return mockMvc.perform(post("/v1/explore/studies/{studyName}/cases/{caseUuid}", STUDY_NAME, CASE_UUID)
+            .param("caseFormat", "XIIDM")
+            .param("duplicateCase", "false")
+            .param("description", "desc")
+            .param("parentDirectoryUuid", PARENT_DIRECTORY_UUID.toString())
+            .header("userId", USER1));
+    }
+}
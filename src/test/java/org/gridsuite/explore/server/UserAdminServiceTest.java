@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.gridsuite.explore.server.services.RemoteServicesProperties;
+import org.gridsuite.explore.server.services.UserAdminService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserAdminServiceTest {
+
+    private WireMockServer wireMockServer;
+
+    private UserAdminService userAdminService;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        userAdminService = new UserAdminService(new RestTemplate(), new RemoteServicesProperties(), Duration.ofMinutes(5), Duration.ZERO);
+        userAdminService.setUserAdminServerBaseUri(wireMockServer.baseUrl());
+        stubMaxQuota("user1", "{\"CASES\":3}");
+        wireMockServer.stubFor(WireMock.get("/v1/cases-alert-threshold")
+            .willReturn(WireMock.okJson("40")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    private void stubMaxQuota(String sub, String maxQuota) {
+        wireMockServer.stubFor(WireMock.get("/v1/users/" + sub + "/quota/max")
+            .willReturn(WireMock.ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).withBody(maxQuota)));
+    }
+
+    @Test
+    void testUserMaxQuotaIsCachedUntilEvicted() {
+        assertEquals(3, userAdminService.getUserMaxAllowedCases("user1"));
+        stubMaxQuota("user1", "{\"CASES\":5}");
+        assertEquals(3, userAdminService.getUserMaxAllowedCases("user1"));
+        wireMockServer.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/v1/users/user1/quota/max")));
+
+        userAdminService.evictUserMaxQuota("user1");
+        assertEquals(5, userAdminService.getUserMaxAllowedCases("user1"));
+        wireMockServer.verify(2, WireMock.getRequestedFor(WireMock.urlEqualTo("/v1/users/user1/quota/max")));
+
+        // users without cases quota
+        stubMaxQuota("user2", "{}");
+        assertNull(userAdminService.getUserMaxAllowedCases("user2"));
+        assertNull(userAdminService.getUserMaxAllowedCases("user2"));
+        wireMockServer.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/v1/users/user2/quota/max")));
+    }
+
+    @Test
+    void testFailuresAreNotCached() {
+        wireMockServer.stubFor(WireMock.get("/v1/users/user3/quota/max").willReturn(WireMock.serverError()));
+        assertThrows(HttpServerErrorException.class, () -> userAdminService.getUserMaxAllowedCases("user3"));
+        stubMaxQuota("user3", "{\"CASES\":1}");
+        assertEquals(1, userAdminService.getUserMaxAllowedCases("user3"));
+    }
+
+    @Test
+    void testExpiredThresholdIsFetchedAgain() {
+        assertEquals(40, userAdminService.getCasesAlertThreshold());
+        assertEquals(40, userAdminService.getCasesAlertThreshold());
+        // zero ttl
+        wireMockServer.verify(2, WireMock.getRequestedFor(WireMock.urlEqualTo("/v1/cases-alert-threshold")));
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.gridsuite.explore.server.services.UserCasesCounters;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserCasesCountersTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Map<String, Integer> remoteCounts = new HashMap<>(Map.of("user1", 2, "user2", 5));
+
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private int fetch(String userId) {
+        fetches.incrementAndGet();
+        return remoteCounts.get(userId);
+    }
+
+    @Test
+    void testCountsAreFetchedOnceThenUpdatedLocally() {
+        UserCasesCounters counters = new UserCasesCounters(meterRegistry, true);
+        // unknown users are not counted
+        counters.increment("user1");
+        assertEquals(2, counters.get("user1", this::fetch));
+        counters.increment("user1");
+        counters.increment("user1");
+        counters.decrement("user1");
+        assertEquals(3, counters.get("user1", this::fetch));
+        assertEquals(1, fetches.get());
+
+        assertEquals(5, counters.get("user2", this::fetch));
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void testCasesCountedDuringTheFetchAreKept() {
+        UserCasesCounters counters = new UserCasesCounters(meterRegistry, true);
+        assertEquals(3, counters.get("user1", userId -> {
+            // a case created while the count is being fetched
+            counters.increment(userId);
+            return fetch(userId);
+        }));
+        assertEquals(3, counters.get("user1", this::fetch));
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void testReconciliationRecordsDrift() {
+        UserCasesCounters counters = new UserCasesCounters(meterRegistry, true);
+        counters.get("user1", this::fetch);
+        counters.get("user2", this::fetch);
+        counters.increment("user1");
+        // created by another instance
+        remoteCounts.put("user2", 7);
+
+        counters.reconcile(this::fetch);
+
+        assertEquals(2, counters.get("user1", this::fetch));
+        assertEquals(7, counters.get("user2", this::fetch));
+        DistributionSummary drift = meterRegistry.get("explore.user.cases.count.drift").summary();
+        assertEquals(2, drift.count());
+        assertEquals(3, drift.totalAmount());
+    }
+
+    @Test
+    void testDisabledCountersAlwaysFetch() {
+        UserCasesCounters counters = new UserCasesCounters(meterRegistry, false);
+        counters.get("user1", this::fetch);
+        counters.get("user1", this::fetch);
+        assertEquals(2, fetches.get());
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.explore.server;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.gridsuite.explore.server.services.AuthorizationService;
+import org.gridsuite.explore.server.services.CaseService;
+import org.gridsuite.explore.server.services.DirectoryService;
+import org.gridsuite.explore.server.services.UserAdminService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The cases quota checked against the local cases counters, which are disabled for the other tests
+ */
+@SpringBootTest(properties = "explore.user-cases-counters.enabled=true")
+@AutoConfigureMockMvc
+class UserCasesQuotaTest {
+
+    private static final String USER1 = "quotaUser";
+    private static final UUID PARENT_DIRECTORY_UUID = UUID.randomUUID();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DirectoryService directoryService;
+
+    @MockitoBean
+    private AuthorizationService authorizationService;
+
+    @MockitoBean
+    private UserAdminService userAdminService;
+
+    @MockitoBean
+    private CaseService caseService;
+
+    private WireMockServer wireMockServer;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        directoryService.setDirectoryServerBaseUri(wireMockServer.baseUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void testQuotaIsCheckedAgainstTheLocalCount() throws Exception {
+        when(userAdminService.getUserMaxAllowedCases(USER1)).thenReturn(2);
+        // the directory server does not count the cases created by this test
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/v1/users/" + USER1 + "/cases/count"))
+            .willReturn(WireMock.okJson("1")));
+        wireMockServer.stubFor(WireMock.post(WireMock.urlPathEqualTo("/v1/directories/" + PARENT_DIRECTORY_UUID + "/elements"))
+            .willReturn(WireMock.ok()
+                .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .withBody("{}")));
+
+        persistCase().andExpect(status().isOk());
+        // the case created above is counted locally
+        persistCase().andExpect(status().isForbidden());
+
+        wireMockServer.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/v1/users/" + USER1 + "/cases/count")));
+        wireMockServer.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/v1/directories/" + PARENT_DIRECTORY_UUID + "/elements")));
+    }
+
+    private ResultActions persistCase() throws Exception {
+        return mockMvc.perform(post("/v1/explore/cases/{caseName}/persist", "case")
+            .queryParam("caseUuid", UUID.randomUUID().toString())
+            .queryParam("description", "a description")
+            .queryParam("parentDirectoryUuid", PARENT_DIRECTORY_UUID.toString())
+            .header("userId", USER1));
+    }
+}
@@ -108,6 +108,7 @@ class UserIdentityTest {
         if (wireMockServer != null) {
             wireMockServer.stop();
         }
+        userIdentityService.clearCache();
     }
 
     protected Map<String, StringValuePattern> handleQueryParams(List<String> subs) {
@@ -118,7 +119,7 @@ class UserIdentityTest {
     void testGetSubIdentity() throws Exception {
         UUID stubId = wireMockServer.stubFor(WireMock.get(WireMock.urlMatching(USER_IDENTITY_SERVER_BASE_URL + "/identities\\?subs=" + SUB))
                 .willReturn(WireMock.ok()
-                    .withBody("{sub: " + SUB + ", firstName: \"userFirstName\", lastName: \"userLastName\"}")
+                    .withBody("{\"data\": {\"" + SUB + "\": {\"sub\": \"" + SUB + "\", \"firstName\": \"userFirstName\", \"lastName\": \"userLastName\"}}, \"errors\": {}}")
                     .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))).getId();
 
         MvcResult mvcResult;
@@ -133,10 +134,53 @@ class UserIdentityTest {
         assertTrue(usersInfos.contains("userFirstName"));
         assertTrue(usersInfos.contains("userLastName"));
 
-        verify(directoryService, times(1)).getElementsInfos(List.of(ELEMENT_UUID), null, SUB);
+        // the identity is cached, user-identity-server is not called again
+        mvcResult = mockMvc.perform(get(BASE_URL)
+                    .param("ids", ELEMENT_UUID.toString())
+                    .header("userId", SUB))
+                    .andExpect(status().isOk())
+                    .andReturn();
+        assertEquals(usersInfos, mvcResult.getResponse().getContentAsString());
+
+        verify(directoryService, times(2)).getElementsInfos(List.of(ELEMENT_UUID), null, SUB);
         wireMockUtils.verifyGetRequest(stubId, USER_IDENTITY_SERVER_BASE_URL + "/identities", handleQueryParams(List.of(SUB)), false);
     }
 
+    @Test
+    void testGetSubIdentityKeepsOtherFields() throws Exception {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlMatching(USER_IDENTITY_SERVER_BASE_URL + "/identities\\?subs=" + SUB))
+                .willReturn(WireMock.ok()
+                    .withBody("{\"data\": {\"" + SUB + "\": {\"sub\": \"" + SUB + "\", \"firstName\": \"userFirstName\"}}, \"errors\": {}, \"partial\": false}")
+                    .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        String usersInfos = mockMvc.perform(get(BASE_URL)
+                    .param("ids", ELEMENT_UUID.toString())
+                    .header("userId", SUB))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+        assertTrue(usersInfos.contains("userFirstName"));
+        assertTrue(usersInfos.contains("\"partial\":false"));
+    }
+
+    @Test
+    void testGetUnknownSubIdentityIsNotCached() throws Exception {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlMatching(USER_IDENTITY_SERVER_BASE_URL + "/identities\\?subs=" + UNKNOWN_SUB))
+                .willReturn(WireMock.ok()
+                    .withBody("{\"data\": {}, \"errors\": {\"" + UNKNOWN_SUB + "\": {\"code\": \"NOT_FOUND\"}}}")
+                    .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        for (int i = 0; i < 2; i++) {
+            String usersInfos = mockMvc.perform(get(BASE_URL)
+                        .param("ids", ELEMENT_UNKNOWN_SUB_UUID.toString())
+                        .header("userId", UNKNOWN_SUB))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+            assertTrue(usersInfos.contains("NOT_FOUND"));
+        }
+
+        wireMockServer.verify(2, WireMock.getRequestedFor(WireMock.urlPathEqualTo(USER_IDENTITY_SERVER_BASE_URL + "/identities")));
+    }
+
     @Test
     void testGetSubIdentityNotFoundElement() throws Exception {
         mockMvc.perform(get(BASE_URL)